@@ -0,0 +1,93 @@
+#!/usr/bin/env bash
+# Uji beban GET /api/barang/{id} dan GET /api/barang/search untuk membandingkan mode platform thread
+# (default), mode virtual thread (profil "virtual") dan mode reaktif WebFlux + R2DBC (profil "reactive").
+#
+# Kebutuhan: MySQL sesuai application.properties, wrk (https://github.com/wg/wrk), JDK 21.
+#
+#   ./scripts/loadtest.sh            # semua mode, 5000 koneksi, 60 detik
+#   CONNECTIONS=2000 DURATION=30s ./scripts/loadtest.sh
+#   MODES="platform reactive" ./scripts/loadtest.sh
+#   ADMISSION=true ./scripts/loadtest.sh   # dengan admission control (default mati: request yang ditolak
+#                                          # 503/429 ikut terhitung di Requests/sec wrk)
+set -euo pipefail
+
+CONNECTIONS=${CONNECTIONS:-5000}
+THREADS=${THREADS:-8}
+DURATION=${DURATION:-60s}
+PORT=${PORT:-8080}
+JAR=${JAR:-target/demo-api-0.0.1-SNAPSHOT.jar}
+RESULTS=${RESULTS:-target/loadtest}
+MODES=${MODES:-platform virtual reactive}
+ADMISSION=${ADMISSION:-false}
+
+cd "$(dirname "$0")/.."
+mkdir -p "$RESULTS"
+[ -f "$JAR" ] || sh ./mvnw -q -DskipTests package
+
+# siapkan data uji jika tabel masih kosong
+seed() {
+    local body="["
+    for i in $(seq 1 500); do
+        local nama
+        nama=$(echo "$i" | tr '0-9' 'abcdefghij')
+        body+="{\"nama\":\"Barang $nama\",\"jumlah\":100,\"nomorSeri\":\"LOAD$i\"},"
+    done
+    body="${body%,}]"
+    local status
+    status=$(curl -s -o /dev/null -w '%{http_code}' -H 'Content-Type: application/json' -d "$body" \
+        "http://localhost:$PORT/api/barang/batch")
+    # mode reaktif tidak punya /batch -> kirim satu per satu (duplikat ditolak dengan 400)
+    if [ "$status" != 201 ] && [ "$status" != 200 ]; then
+        for i in $(seq 1 500); do
+            local nama
+            nama=$(echo "$i" | tr '0-9' 'abcdefghij')
+            curl -s -o /dev/null -H 'Content-Type: application/json' \
+                -d "{\"nama\":\"Barang $nama\",\"jumlah\":100,\"nomorSeri\":\"LOAD$i\"}" \
+                "http://localhost:$PORT/api/barang"
+        done
+    fi
+}
+
+run_mode() {
+    local mode=$1 profile=$2
+    echo "== mode $mode"
+    java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profile" \
+        --spring.jpa.show-sql=false --barang.admission.enabled="$ADMISSION" \
+        > "$RESULTS/app-$mode.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    until curl -s "http://localhost:$PORT/actuator/health" > /dev/null; do sleep 1; done
+    seed
+
+    # ulimit harus cukup untuk jumlah koneksi
+    ulimit -n $((CONNECTIONS * 2)) 2>/dev/null || true
+    local search_percent=20
+    [ "$mode" = reactive ] && search_percent=0
+    SEARCH_PERCENT=$search_percent wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency \
+        -s scripts/random-id.lua "http://localhost:$PORT" | tee "$RESULTS/wrk-$mode.txt"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+profile_of() {
+    case $1 in
+        platform) echo default ;;
+        *) echo "$1" ;;
+    esac
+}
+
+for mode in $MODES; do
+    run_mode "$mode" "$(profile_of "$mode")"
+done
+
+echo
+echo "== ringkasan (Requests/sec, latensi p99 dan respons bukan 2xx/3xx yang ikut terhitung di Requests/sec)"
+for mode in $MODES; do
+    non2xx=$(grep 'Non-2xx or 3xx responses' "$RESULTS/wrk-$mode.txt" | awk '{print $NF}' || true)
+    printf '%-9s %s | %s | non-2xx: %s\n' "$mode" \
+        "$(grep 'Requests/sec' "$RESULTS/wrk-$mode.txt")" \
+        "$(grep ' 99%' "$RESULTS/wrk-$mode.txt")" \
+        "${non2xx:-0}"
+done
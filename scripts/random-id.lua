@@ -0,0 +1,11 @@
+-- wrk: campuran 80% GET /api/barang/{id} dan 20% GET /api/barang/search dengan id acak 1..500
+-- SEARCH_PERCENT=0 -> hanya GET /api/barang/{id} (mode reaktif tidak punya /search)
+math.randomseed(os.time())
+local searchPercent = tonumber(os.getenv("SEARCH_PERCENT") or "20")
+
+request = function()
+    if math.random(100) > searchPercent then
+        return wrk.format("GET", "/api/barang/" .. math.random(1, 500))
+    end
+    return wrk.format("GET", "/api/barang/search?q=barang&limit=20")
+end
@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+# Mengukur waktu start sampai request pertama berhasil (time-to-first-request) untuk beberapa mode:
+#
+#   default   jar biasa, tanpa profil
+#   prod      profil prod (lazy init, tanpa validasi skema/metadata JDBC)
+#   aot       prod + Spring AOT (-Dspring.aot.enabled=true)
+#   aot-cds   prod + AOT + arsip Class Data Sharing
+#
+# Kebutuhan: MySQL sesuai application.properties, curl, JDK 21 (JDK yang sama dengan saat build, syarat CDS).
+# Jar dan arsip CDS dibuat dengan mvn clean -Pprod package (target/cds).
+#
+#   ./scripts/startup-benchmark.sh             # 5 kali per mode, median dicetak di akhir
+#   RUNS=10 MODES="prod aot-cds" ./scripts/startup-benchmark.sh
+set -euo pipefail
+
+RUNS=${RUNS:-5}
+MODES=${MODES:-"default prod aot aot-cds"}
+PORT=${PORT:-8080}
+URL=${URL:-"http://localhost:$PORT/api/barang?size=1"}
+CDS_DIR=${CDS_DIR:-target/cds}
+JAR=demo-api-0.0.1-SNAPSHOT.jar
+RESULTS=${RESULTS:-target/startup-benchmark}
+
+cd "$(dirname "$0")/.."
+[ -f "$CDS_DIR/demo-api.jsa" ] || sh ./mvnw -q clean -Pprod -DskipTests package
+mkdir -p "$RESULTS"
+
+now_ms() {
+    date +%s%3N
+}
+
+# satu kali start: mencetak milidetik sejak proses java dibuat sampai GET $URL menjawab 200
+run_once() {
+    local mode=$1 log=$2
+    local args=()
+    case "$mode" in
+        default) args=(-jar "$JAR") ;;
+        prod) args=(-jar "$JAR" --spring.profiles.active=prod) ;;
+        aot) args=(-Dspring.aot.enabled=true -jar "$JAR" --spring.profiles.active=prod) ;;
+        aot-cds) args=(-XX:SharedArchiveFile=demo-api.jsa -Dspring.aot.enabled=true -jar "$JAR"
+            --spring.profiles.active=prod) ;;
+        *) echo "mode tidak dikenal: $mode" >&2; exit 1 ;;
+    esac
+
+    local start
+    start=$(now_ms)
+    (cd "$CDS_DIR" && exec java "${args[@]}" --server.port="$PORT") > "$log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$URL")" = "200" ]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "aplikasi berhenti sebelum siap, lihat $log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    echo $(($(now_ms) - start))
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+for mode in $MODES; do
+    : > "$RESULTS/$mode.txt"
+    for i in $(seq 1 "$RUNS"); do
+        ms=$(run_once "$mode" "$RESULTS/app-$mode-$i.log")
+        echo "$mode #$i: ${ms} ms"
+        echo "$ms" >> "$RESULTS/$mode.txt"
+    done
+done
+
+echo
+echo "== ringkasan time-to-first-request (median dari $RUNS kali)"
+for mode in $MODES; do
+    printf '%-8s %6s ms\n' "$mode" "$(median < "$RESULTS/$mode.txt")"
+done
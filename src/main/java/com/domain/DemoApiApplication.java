@@ -2,8 +2,13 @@ package com.domain;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+// ConnectionFactory R2DBC hanya dibuat oleh ReactiveConfig (profil "reactive"). Auto-configuration R2DBC
+// dimatikan agar mode servlet tidak membutuhkan URL R2DBC dan R2dbcTransactionManager tidak menggantikan
+// transaction manager JPA
+@SpringBootApplication(exclude = { R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class })
 public class DemoApiApplication {
 
 	public static void main(String[] args) {
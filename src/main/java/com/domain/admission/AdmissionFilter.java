@@ -0,0 +1,79 @@
+package com.domain.admission;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// menjalankan request /api/barang dan /api/gudang lewat AdmissionLimiter. Ditolak -> 429/503 dengan
+// Retry-After dan pesan teks biasa, sebelum controller, service atau pool koneksi tersentuh.
+// Aliran SSE (/api/barang/events) tidak dibatasi karena koneksinya memang terbuka lama
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final AdmissionLimiter limiter;
+
+    private final long retryAfterSeconds;
+
+    public AdmissionFilter(AdmissionLimiter limiter, long retryAfterSeconds) {
+        this.limiter = limiter;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestClass requestClass = classify(request.getMethod(), request.getRequestURI());
+        if (requestClass == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            limiter.acquire(requestClass);
+        } catch (ResponseStatusException e) {
+            response.setStatus(e.getStatusCode().value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write(e.getReason());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(requestClass, System.nanoTime() - start, requestClass != RequestClass.BULK);
+        }
+    }
+
+    // kelas endpoint dari method dan path; null -> tidak dibatasi
+    static RequestClass classify(String method, String uri) {
+        String path = uri.endsWith("/") ? uri.substring(0, uri.length() - 1) : uri;
+        boolean get = "GET".equals(method) || "HEAD".equals(method);
+        if (path.equals("/api/gudang") || path.startsWith("/api/gudang/")) {
+            return get ? RequestClass.READ : RequestClass.WRITE;
+        }
+        if (!path.equals("/api/barang") && !path.startsWith("/api/barang/")) {
+            return null;
+        }
+        String rest = path.substring("/api/barang".length());
+        if (rest.equals("/events")) {
+            return null;
+        }
+        // search dibatasi limit halaman (barang.search.max-limit) dan dilayani index di memori -> READ
+        if (rest.isEmpty() && get || rest.equals("/export") || rest.equals("/batch") || rest.equals("/import")) {
+            return RequestClass.BULK;
+        }
+        return get ? RequestClass.READ : RequestClass.WRITE;
+    }
+}
@@ -0,0 +1,257 @@
+package com.domain.admission;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// admission control untuk /api/barang: membatasi request yang boleh berjalan bersamaan agar saat MySQL
+// melambat request tidak menumpuk di thread Tomcat dan pool Hikari.
+//
+// Request berjalan jika total inFlight < limit adaptif (AimdLimit) dan inFlight kelasnya < batas kelas
+// (per-endpoint). Jika tidak, request menunggu di antrean terbatas (maxQueue) paling lama maxWait.
+// Antrean per kelas (FIFO), dilayani urut prioritas RequestClass: READ sebelum WRITE sebelum BULK. Jika
+// antrean penuh, request berprioritas lebih tinggi menggantikan request terbaru dari kelas yang lebih rendah.
+//
+// Request yang ditolak langsung gagal (tanpa menyentuh database):
+//   503 -> server penuh (inFlight >= limit)
+//   429 -> server masih punya kapasitas tetapi kelas endpoint ini sudah mencapai batasnya
+//
+// Metrik:
+//   barang.admission.limit                      -> limit adaptif saat ini
+//   barang.admission.class.limit{class}         -> batas konkurensi per kelas
+//   barang.admission.in_flight{class}           -> request yang sedang berjalan
+//   barang.admission.queue{class}               -> kedalaman antrean
+//   barang.admission.rejected{class, reason}    -> request yang ditolak (queue_full, timeout, evicted)
+//   barang.admission.queue.wait{class}          -> lama menunggu di antrean sampai diizinkan
+public class AdmissionLimiter {
+
+    private static final RequestClass[] CLASSES = RequestClass.values();
+
+    private final AimdLimit limit;
+
+    private final Map<RequestClass, Integer> classLimits;
+
+    private final int maxQueue;
+
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final int[] inFlight = new int[CLASSES.length];
+
+    private int totalInFlight;
+
+    private final Map<RequestClass, Deque<Waiter>> queues = new EnumMap<>(RequestClass.class);
+
+    private int totalQueued;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<RequestClass, Timer> waitTimers = new EnumMap<>(RequestClass.class);
+
+    private final class Waiter {
+
+        final RequestClass requestClass;
+
+        final Condition condition = lock.newCondition();
+
+        boolean granted;
+
+        boolean evicted;
+
+        Waiter(RequestClass requestClass) {
+            this.requestClass = requestClass;
+        }
+    }
+
+    public AdmissionLimiter(AimdLimit limit, Map<RequestClass, Integer> classLimits, int maxQueue,
+            Duration maxWait, MeterRegistry meterRegistry) {
+        this.limit = limit;
+        this.classLimits = new EnumMap<>(RequestClass.class);
+        this.classLimits.putAll(classLimits);
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("barang.admission.limit", this, AdmissionLimiter::limit)
+                .description("Limit konkurensi adaptif (AIMD) untuk /api/barang")
+                .register(meterRegistry);
+        for (RequestClass requestClass : CLASSES) {
+            queues.put(requestClass, new ArrayDeque<>());
+            Gauge.builder("barang.admission.class.limit", this, self -> self.classLimit(requestClass))
+                    .tag("class", requestClass.tag()).register(meterRegistry);
+            Gauge.builder("barang.admission.in_flight", this, self -> self.inFlight(requestClass))
+                    .tag("class", requestClass.tag()).register(meterRegistry);
+            Gauge.builder("barang.admission.queue", this, self -> self.queued(requestClass))
+                    .tag("class", requestClass.tag()).register(meterRegistry);
+            waitTimers.put(requestClass, Timer.builder("barang.admission.queue.wait")
+                    .tag("class", requestClass.tag()).register(meterRegistry));
+        }
+    }
+
+    // menunggu izin; ResponseStatusException (429/503) jika ditolak. Setiap izin wajib dilepas dengan release
+    public void acquire(RequestClass requestClass) throws InterruptedException {
+        long start = System.nanoTime();
+        Waiter waiter;
+        lock.lock();
+        try {
+            if (canRun(requestClass) && !hasWaitersUpTo(requestClass)) {
+                start(requestClass);
+                return;
+            }
+            if (totalQueued >= maxQueue && !evictLowerThan(requestClass)) {
+                throw reject(requestClass, "queue_full");
+            }
+            waiter = new Waiter(requestClass);
+            queues.get(requestClass).addLast(waiter);
+            totalQueued++;
+
+            long remaining = maxWaitNanos;
+            try {
+                while (!waiter.granted && !waiter.evicted && remaining > 0) {
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (!waiter.granted) {
+                    dequeue(waiter);
+                    throw e;
+                }
+                // izin sudah diberikan: dipakai, status interrupt dikembalikan untuk pemanggil
+                Thread.currentThread().interrupt();
+            }
+            if (waiter.evicted) {
+                throw reject(requestClass, "evicted");
+            }
+            if (!waiter.granted) {
+                dequeue(waiter);
+                throw reject(requestClass, "timeout");
+            }
+        } finally {
+            lock.unlock();
+        }
+        waitTimers.get(requestClass).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    // latencyNanos = lama request berjalan setelah diizinkan; sample = false untuk request yang memang lama
+    // (BULK: export/import) agar tidak menurunkan limit
+    public void release(RequestClass requestClass, long latencyNanos, boolean sample) {
+        lock.lock();
+        try {
+            if (sample) {
+                limit.onSample(latencyNanos, totalInFlight, System.nanoTime());
+            }
+            inFlight[requestClass.ordinal()]--;
+            totalInFlight--;
+            grantWaiters();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return limit.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int classLimit(RequestClass requestClass) {
+        return classLimits.getOrDefault(requestClass, Integer.MAX_VALUE);
+    }
+
+    public int inFlight(RequestClass requestClass) {
+        lock.lock();
+        try {
+            return inFlight[requestClass.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queued(RequestClass requestClass) {
+        lock.lock();
+        try {
+            return queues.get(requestClass).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean canRun(RequestClass requestClass) {
+        return totalInFlight < limit.get() && inFlight[requestClass.ordinal()] < classLimit(requestClass);
+    }
+
+    // request baru tidak boleh mendahului antrean dengan prioritas yang sama atau lebih tinggi
+    private boolean hasWaitersUpTo(RequestClass requestClass) {
+        for (int i = 0; i <= requestClass.ordinal(); i++) {
+            if (!queues.get(CLASSES[i]).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void start(RequestClass requestClass) {
+        inFlight[requestClass.ordinal()]++;
+        totalInFlight++;
+    }
+
+    // izin yang dilepas diberikan ke antrean urut prioritas; kelas yang sudah mencapai batasnya dilewati
+    private void grantWaiters() {
+        for (RequestClass requestClass : CLASSES) {
+            Deque<Waiter> queue = queues.get(requestClass);
+            while (!queue.isEmpty() && canRun(requestClass)) {
+                Waiter waiter = queue.pollFirst();
+                totalQueued--;
+                waiter.granted = true;
+                start(requestClass);
+                waiter.condition.signal();
+            }
+        }
+    }
+
+    // antrean penuh: request terbaru dari kelas terendah di bawah requestClass dikeluarkan
+    private boolean evictLowerThan(RequestClass requestClass) {
+        for (int i = CLASSES.length - 1; i > requestClass.ordinal(); i--) {
+            Waiter victim = queues.get(CLASSES[i]).pollLast();
+            if (victim != null) {
+                totalQueued--;
+                victim.evicted = true;
+                victim.condition.signal();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void dequeue(Waiter waiter) {
+        if (queues.get(waiter.requestClass).remove(waiter)) {
+            totalQueued--;
+        }
+    }
+
+    private ResponseStatusException reject(RequestClass requestClass, String reason) {
+        Counter.builder("barang.admission.rejected").tag("class", requestClass.tag()).tag("reason", reason)
+                .description("Request yang ditolak admission control").register(meterRegistry).increment();
+        if (totalInFlight < limit.get()) {
+            return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Terlalu banyak request untuk endpoint ini, coba lagi nanti.");
+        }
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server sedang sibuk, coba lagi nanti.");
+    }
+}
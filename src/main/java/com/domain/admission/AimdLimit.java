@@ -0,0 +1,55 @@
+package com.domain.admission;
+
+import java.time.Duration;
+
+// batas konkurensi adaptif AIMD (additive increase, multiplicative decrease), seperti kontrol kongesti TCP:
+//   latensi <= threshold -> limit naik 1/limit per request (sekitar +1 setiap satu "putaran" request),
+//                           hanya jika limit memang terpakai (inFlight >= limit / 2)
+//   latensi >  threshold -> limit dikali backoffRatio, paling sering sekali per threshold agar sekumpulan
+//                           request lambat yang selesai bersamaan tidak menurunkan limit berkali-kali
+// Saat MySQL melambat, limit turun sehingga lebih sedikit request yang memegang thread dan koneksi Hikari;
+// saat pulih, limit naik kembali perlahan sampai max.
+//
+// Tidak thread-safe: dipanggil di bawah lock AdmissionLimiter
+public class AimdLimit {
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long thresholdNanos;
+
+    private final double backoffRatio;
+
+    private double limit;
+
+    private long lastDecreaseNanos;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, Duration threshold, double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Konfigurasi limit AIMD tidak valid.");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.thresholdNanos = threshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.lastDecreaseNanos = System.nanoTime() - thresholdNanos;
+    }
+
+    public int get() {
+        return (int) limit;
+    }
+
+    // inFlight = request yang masih berjalan saat sampel ini selesai (termasuk request ini)
+    public void onSample(long latencyNanos, int inFlight, long nowNanos) {
+        if (latencyNanos > thresholdNanos) {
+            if (nowNanos - lastDecreaseNanos >= thresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = nowNanos;
+            }
+        } else if (inFlight * 2 >= get()) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.domain.admission;
+
+// kelas endpoint untuk admission control, urut prioritas (yang pertama dilayani lebih dulu dari antrean)
+public enum RequestClass {
+    // findOne, nomor seri, stok, mutasi, search, stok menipis
+    READ,
+    // create, update, adjust, delete, transfer
+    WRITE,
+    // daftar/halaman barang, export, batch, import
+    BULK;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,112 @@
+package com.domain.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.domain.events.BarangChangedEvent;
+import com.domain.models.entity.Barang;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// cache read-through di dalam proses untuk findOne dan pencarian berdasarkan nomor seri.
+//
+// byId       : id -> Barang
+// idBySerial : nomorSeri -> id (nilai barang tetap diambil dari byId)
+//
+// Invalidasi cukup berdasarkan id: entri nomor seri yang sudah basi (nomor seri diubah atau barang
+// dihapus) terdeteksi saat dibaca karena nomor seri barang di byId tidak lagi cocok.
+// Barang yang dimuat lewat nomor seri hanya dimasukkan ke byId jika tidak ada invalidasi selama dimuat, agar
+// hasil baca lama tidak mengisi ulang entri yang baru saja di-evict.
+// Metrik hit/miss/eviction tersedia di /actuator/metrics/cache.gets dan cache.evictions.
+@Component
+public class BarangCache {
+
+    private final boolean enabled;
+
+    private final Cache<Long, Barang> byId;
+
+    private final Cache<String, Long> idBySerial;
+
+    // bertambah setiap evict
+    private final AtomicLong evictions = new AtomicLong();
+
+    public BarangCache(@Value("${barang.cache.enabled:true}") boolean enabled,
+            @Value("${barang.cache.maximum-size:10000}") long maximumSize,
+            @Value("${barang.cache.ttl:5m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idBySerial = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, byId, "barang.id");
+            CaffeineCacheMetrics.monitor(meterRegistry, idBySerial, "barang.nomorSeri");
+        }
+    }
+
+    public Optional<Barang> getById(long id, Function<Long, Optional<Barang>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        // barang yang tidak ditemukan tidak disimpan (loader mengembalikan null)
+        return Optional.ofNullable(byId.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public Optional<Barang> getByNomorSeri(String nomorSeri, Function<Long, Optional<Barang>> idLoader,
+            Function<String, Optional<Barang>> serialLoader) {
+        if (!enabled) {
+            return serialLoader.apply(nomorSeri);
+        }
+
+        Long id = idBySerial.getIfPresent(nomorSeri);
+        if (id != null) {
+            Optional<Barang> barang = getById(id, idLoader);
+            if (barang.isPresent() && nomorSeri.equals(barang.get().getNomorSeri())) {
+                return barang;
+            }
+            idBySerial.invalidate(nomorSeri);
+        }
+
+        long evictionsBefore = evictions.get();
+        Optional<Barang> barang = serialLoader.apply(nomorSeri);
+        barang.ifPresent(found -> {
+            // evict yang terjadi setelah pengecekan ini tetap menghapus entri (counter dinaikkan sebelum invalidate)
+            byId.asMap().computeIfAbsent(found.getId(), key -> evictions.get() == evictionsBefore ? found : null);
+            idBySerial.put(nomorSeri, found.getId());
+        });
+        return barang;
+    }
+
+    // isi cache saat ini tanpa memuat dari database
+    public Optional<Barang> peek(long id) {
+        return enabled ? Optional.ofNullable(byId.getIfPresent(id)) : Optional.empty();
+    }
+
+    public void evict(long id) {
+        evictions.incrementAndGet();
+        byId.invalidate(id);
+    }
+
+    // dipanggil setelah commit, sehingga pembaca tidak bisa mengisi ulang cache dengan data lama
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBarangChanged(BarangChangedEvent event) {
+        evict(event.getId());
+    }
+}
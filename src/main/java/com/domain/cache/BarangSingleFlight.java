@@ -0,0 +1,82 @@
+package com.domain.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.domain.datasource.ReadYourWrites;
+import com.domain.events.BarangChangedEvent;
+import com.domain.models.entity.Barang;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// single-flight untuk query baca BarangService yang sering dipanggil bersamaan (barang populer dipindai di
+// banyak terminal sekaligus): findById, findByNomorSeri dan findByNamaContains yang sama hanya dijalankan
+// sekali, hasilnya dibagi ke semua request yang menunggu. Dipasang di bawah BarangCache sehingga juga
+// membantu saat cache dimatikan atau miss bersamaan.
+//
+// Tidak digabung (loader dijalankan langsung) jika pemanggil berada di transaksi read-write atau request
+// sudah menulis (ReadYourWrites): hasilnya bisa berisi perubahan yang belum terlihat oleh request lain.
+@Component
+public class BarangSingleFlight {
+
+    private final boolean enabled;
+
+    private final SingleFlight<Long, Optional<Barang>> byId;
+
+    private final SingleFlight<String, Optional<Barang>> byNomorSeri;
+
+    private final SingleFlight<String, List<Barang>> byNama;
+
+    public BarangSingleFlight(@Value("${barang.singleflight.enabled:true}") boolean enabled,
+            @Value("${barang.singleflight.timeout:2s}") Duration timeout,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.byId = new SingleFlight<>("id", timeout, meterRegistry);
+        this.byNomorSeri = new SingleFlight<>("nomorSeri", timeout, meterRegistry);
+        this.byNama = new SingleFlight<>("nama", timeout, meterRegistry);
+    }
+
+    public Optional<Barang> getById(long id, Function<Long, Optional<Barang>> loader) {
+        if (!canCoalesce()) {
+            return loader.apply(id);
+        }
+        return byId.load(id, () -> loader.apply(id));
+    }
+
+    public Optional<Barang> getByNomorSeri(String nomorSeri, Function<String, Optional<Barang>> loader) {
+        if (!canCoalesce()) {
+            return loader.apply(nomorSeri);
+        }
+        return byNomorSeri.load(nomorSeri, () -> loader.apply(nomorSeri));
+    }
+
+    // daftar yang dibagi ke beberapa request dibuat tidak bisa diubah
+    public List<Barang> getByNama(String nama, Function<String, List<Barang>> loader) {
+        if (!canCoalesce()) {
+            return loader.apply(nama);
+        }
+        return byNama.load(nama, () -> List.copyOf(loader.apply(nama)));
+    }
+
+    private boolean canCoalesce() {
+        return enabled && !ReadYourWrites.hasWritten()
+                && (!TransactionSynchronizationManager.isActualTransactionActive()
+                        || TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    }
+
+    // setelah commit: request baru tidak bergabung dengan query yang dimulai sebelum perubahan.
+    // Nomor seri dan nama lama tidak diketahui dari event, jadi semua key keduanya dilepas
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBarangChanged(BarangChangedEvent event) {
+        byId.forget(event.getId());
+        byNomorSeri.forgetAll();
+        byNama.forgetAll();
+    }
+}
@@ -0,0 +1,110 @@
+package com.domain.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// menggabungkan load yang bersamaan untuk key yang sama (single-flight): pemanggil pertama (leader) menjalankan
+// loader di thread-nya sendiri, pemanggil lain yang datang selama query masih berjalan (follower) menunggu
+// dan menerima hasil yang sama, termasuk exception-nya. Tidak ada yang disimpan setelah query selesai,
+// jadi ini bukan cache: pemanggil berikutnya menjalankan query baru.
+//
+// Follower menunggu paling lama timeout lalu gagal dengan QueryTimeoutException; leader sendiri tidak
+// dibatasi (mengikuti timeout JDBC/pool).
+//
+// Metrik (tag flight=<nama>):
+//   barang.singleflight.calls{role=leader|follower} -> rasio penggabungan = follower / (leader + follower)
+//   barang.singleflight.timeouts                    -> follower yang berhenti menunggu
+//   barang.singleflight.in_flight                   -> key yang sedang di-load
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final String name;
+
+    private final Duration timeout;
+
+    private final Counter leaders;
+
+    private final Counter followers;
+
+    private final Counter timeouts;
+
+    public SingleFlight(String name, Duration timeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.timeout = timeout;
+        this.leaders = Counter.builder("barang.singleflight.calls").tag("flight", name).tag("role", "leader")
+                .register(meterRegistry);
+        this.followers = Counter.builder("barang.singleflight.calls").tag("flight", name).tag("role", "follower")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("barang.singleflight.timeouts").tag("flight", name)
+                .register(meterRegistry);
+        Gauge.builder("barang.singleflight.in_flight", inFlight, Map::size).tag("flight", name)
+                .register(meterRegistry);
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            followers.increment();
+            return await(running);
+        }
+
+        leaders.increment();
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+            throw e;
+        }
+        // dilepas sebelum diselesaikan: pemanggil yang datang setelah ini menjalankan query baru
+        inFlight.remove(key, call);
+        call.complete(value);
+        return value;
+    }
+
+    // pemanggil berikutnya tidak lagi bergabung dengan query yang sedang berjalan untuk key ini
+    // (hasilnya mungkin sudah basi), follower yang sudah menunggu tetap menerima hasilnya
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    private V await(CompletableFuture<V> running) {
+        try {
+            return running.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new QueryTimeoutException("Menunggu query " + name + " yang sama melebihi " + timeout + ".", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Menunggu query " + name + " dibatalkan.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
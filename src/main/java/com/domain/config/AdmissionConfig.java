@@ -0,0 +1,53 @@
+package com.domain.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.domain.admission.AdmissionFilter;
+import com.domain.admission.AdmissionLimiter;
+import com.domain.admission.AimdLimit;
+import com.domain.admission.RequestClass;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// admission control dan load shedding untuk endpoint barang/gudang (mode servlet), lihat AdmissionLimiter.
+// Matikan dengan barang.admission.enabled=false
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(name = "barang.admission.enabled", matchIfMissing = true)
+public class AdmissionConfig {
+
+    @Bean
+    public AdmissionLimiter admissionLimiter(MeterRegistry meterRegistry,
+            @Value("${barang.admission.initial-limit:20}") int initialLimit,
+            @Value("${barang.admission.min-limit:4}") int minLimit,
+            @Value("${barang.admission.max-limit:200}") int maxLimit,
+            @Value("${barang.admission.latency-threshold:250ms}") Duration latencyThreshold,
+            @Value("${barang.admission.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${barang.admission.write.max-concurrency:50}") int writeLimit,
+            @Value("${barang.admission.bulk.max-concurrency:4}") int bulkLimit,
+            @Value("${barang.admission.max-queue:100}") int maxQueue,
+            @Value("${barang.admission.max-wait:500ms}") Duration maxWait) {
+        AimdLimit limit = new AimdLimit(initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio);
+        // READ hanya dibatasi limit adaptif
+        return new AdmissionLimiter(limit, Map.of(RequestClass.WRITE, writeLimit, RequestClass.BULK, bulkLimit),
+                maxQueue, maxWait, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(AdmissionLimiter limiter,
+            @Value("${barang.admission.retry-after:1s}") Duration retryAfter) {
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionFilter(limiter, Math.max(1, retryAfter.toSeconds())));
+        registration.addUrlPatterns("/api/barang", "/api/barang/*", "/api/gudang", "/api/gudang/*");
+        return registration;
+    }
+}
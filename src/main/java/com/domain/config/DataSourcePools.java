@@ -0,0 +1,22 @@
+package com.domain.config;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// pool Hikari tambahan (replika, shard) dengan driver dan kredensial dari spring.datasource.* serta setelan
+// pool dari spring.datasource.hikari.*, hanya URL yang berbeda
+final class DataSourcePools {
+
+    private DataSourcePools() {}
+
+    static HikariDataSource create(DataSourceProperties properties, Binder binder, String url, String name) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(url).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
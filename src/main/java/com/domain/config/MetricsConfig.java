@@ -0,0 +1,30 @@
+package com.domain.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// mengaktifkan @Timed pada bean (BarangService, BarangBatchRepo).
+// metrik lain sudah otomatis dari actuator:
+//   http.server.requests              -> setiap endpoint BarangController
+//   spring.data.repository.invocations -> setiap query BarangRepo
+//   hikaricp.connections.*            -> saturasi pool koneksi
+//   jvm.memory.*, jvm.gc.*            -> heap dan GC
+// ditambah barang.sql.slow untuk query lambat (lihat SlowQueryLogSampler)
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean(initMethod = "register", destroyMethod = "unregister")
+    public SlowQueryLogSampler slowQueryLogSampler(MeterRegistry registry,
+            @Value("${barang.sql.slow-log.sample-rate:1.0}") double sampleRate) {
+        return new SlowQueryLogSampler(sampleRate, registry);
+    }
+}
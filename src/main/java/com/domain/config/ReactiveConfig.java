@@ -0,0 +1,55 @@
+package com.domain.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.domain.models.repos.ReactiveBarangRepo;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+// stack reaktif (WebFlux + R2DBC), aktif jika aplikasi berjalan sebagai reactive web application
+// (profil "reactive" -> spring.main.web-application-type=reactive).
+//
+// ReactiveBarangController/ReactiveBarangService/ReactiveBarangRepo melayani /api/barang tanpa menahan satu
+// thread per request. DataSource JDBC (Hibernate) tetap ada untuk komponen lain (import, snapshot, index
+// pencarian, sharding) sehingga pool-nya bisa dibuat kecil.
+//
+// Pool R2DBC sengaja tidak didaftarkan sebagai bean ConnectionFactory: DataSourceAutoConfiguration Spring Boot
+// tidak membuat DataSource JDBC jika ada bean ConnectionFactory. Pool dimiliki dan ditutup oleh
+// ReactiveBarangRepo (seperti DataSource shard di ShardedBarangRepo).
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReactiveBarangRepo reactiveBarangRepo(@Value("${barang.r2dbc.url}") String url,
+            @Value("${barang.r2dbc.username:${spring.datasource.username:}}") String username,
+            @Value("${barang.r2dbc.password:${spring.datasource.password:}}") String password,
+            @Value("${barang.r2dbc.pool.initial-size:10}") int initialSize,
+            @Value("${barang.r2dbc.pool.max-size:50}") int maxSize,
+            @Value("${barang.r2dbc.pool.max-acquire-time:2s}") Duration maxAcquireTime) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        // acquire dibatasi waktu, sama seperti connection-timeout Hikari pada profil virtual
+        return new ReactiveBarangRepo(new ConnectionPool(
+                ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                        .name("barang-r2dbc")
+                        .initialSize(initialSize)
+                        .maxSize(maxSize)
+                        .maxAcquireTime(maxAcquireTime)
+                        .build()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.domain.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.domain.datasource.ReadYourWritesFilter;
+import com.domain.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// pemisahan baca/tulis, aktif jika barang.datasource.replica-urls diisi.
+//
+// LazyConnectionDataSourceProxy baru mengambil koneksi fisik pada statement pertama, setelah transaction
+// manager menandai koneksi read-only. Transaksi @Transactional(readOnly = true) memakai
+// ReplicaRoutingDataSource (replika), selain itu primary dari spring.datasource.*.
+// Pool replika memakai setelan spring.datasource.hikari.* dan kredensial yang sama dengan primary.
+@Configuration
+@ConditionalOnProperty("barang.datasource.replica-urls")
+public class ReadReplicaConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties, Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${barang.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${barang.datasource.replica-retry:10s}") Duration retry,
+            @Value("${barang.datasource.replica-connection-timeout:1s}") Duration connectionTimeout) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = DataSourcePools.create(properties, binder, properties.determineUrl(),
+                "barang-primary");
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = DataSourcePools.create(properties, binder, url.trim(),
+                    "barang-replica-" + replicas.size());
+            replica.setConnectionTimeout(Math.min(replica.getConnectionTimeout(), connectionTimeout.toMillis()));
+            replicas.add(replica);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, retry.toMillis());
+        Gauge.builder("barang.datasource.replicas.healthy", routing, ReplicaRoutingDataSource::healthyReplicas)
+                .description("Jumlah replika baca yang sedang dianggap sehat")
+                .register(meterRegistry);
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routing) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing.writeDataSource());
+        dataSource.setReadOnlyDataSource(routing);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter();
+    }
+}
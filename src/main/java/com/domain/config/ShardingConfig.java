@@ -0,0 +1,115 @@
+package com.domain.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.domain.dto.BarangStreamEvent;
+import com.domain.dto.BatchItemResult;
+import com.domain.dto.LowStockItem;
+import com.domain.dto.SearchHit;
+import com.domain.dto.StockAdjustment;
+import com.domain.dto.StockLevel;
+import com.domain.dto.StockLocations;
+import com.domain.models.entity.Barang;
+import com.domain.models.entity.StokMutasi;
+import com.domain.models.repos.ShardedBarangRepo;
+import com.domain.sharding.ShardRebalancer;
+import com.domain.sharding.ShardRouter;
+import com.domain.sharding.SnowflakeIdGenerator;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+// sharding tbl_barang berdasarkan nomorSeri, aktif jika barang.sharding.enabled=true.
+//
+// barang.sharding.urls berisi URL JDBC setiap shard dipisah koma; urutan menentukan indeks shard, jadi shard
+// baru selalu ditambahkan di akhir lalu jalankan rebalance (--barang.sharding.rebalance=true).
+// DataSource utama (spring.datasource.*) tetap dipakai Hibernate untuk fitur yang belum sadar shard.
+// Id Snowflake (sekitar 4e17) melewati batas integer presisi JavaScript (2^53), sehingga di mode ini id barang
+// dikirim sebagai string JSON ("id": "412345678901234567"); body request boleh memakai string atau angka.
+@Configuration
+@ConditionalOnProperty("barang.sharding.enabled")
+public class ShardingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardingConfig.class);
+
+    @Bean
+    public ShardRouter shardRouter(@Value("${barang.sharding.urls}") List<String> urls,
+            @Value("${barang.sharding.virtual-nodes:128}") int virtualNodes) {
+        return new ShardRouter(urls.size(), virtualNodes);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardedBarangRepo shardedBarangRepo(ShardRouter router, DataSourceProperties properties,
+            Environment environment,
+            @Value("${barang.sharding.urls}") List<String> urls,
+            @Value("${barang.sharding.node-id:0}") long nodeId,
+            @Value("${barang.sharding.init-schema:true}") boolean initSchema) {
+        Binder binder = Binder.get(environment);
+        List<DataSource> dataSources = new ArrayList<>();
+        for (String url : urls) {
+            dataSources.add(DataSourcePools.create(properties, binder, url.trim(),
+                    "barang-shard-" + dataSources.size()));
+        }
+
+        ShardedBarangRepo repo = new ShardedBarangRepo(dataSources, router, new SnowflakeIdGenerator(nodeId));
+        if (initSchema) {
+            repo.createSchema();
+        }
+        return repo;
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardedBarangRepo shardedBarangRepo, ShardRouter router,
+            @Value("${barang.sharding.rebalance-chunk-size:1000}") int chunkSize) {
+        return new ShardRebalancer(shardedBarangRepo.getShards(), router, chunkSize);
+    }
+
+    // id barang -> string JSON di semua respons (JSON, CBOR, Smile, NDJSON, SSE) yang memuatnya
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer shardedIdAsString() {
+        return builder -> {
+            for (Class<?> type : List.of(Barang.class, SearchHit.class, LowStockItem.class, StockAdjustment.class,
+                    BatchItemResult.class, BarangStreamEvent.class, StockLocations.class, StockLevel.class,
+                    StokMutasi.class)) {
+                builder.mixIn(type, BarangIdAsString.class);
+            }
+        };
+    }
+
+    // getter yang tidak ada di kelas tujuan diabaikan
+    abstract static class BarangIdAsString {
+
+        @JsonSerialize(using = ToStringSerializer.class)
+        abstract long getId();
+
+        @JsonSerialize(using = ToStringSerializer.class)
+        abstract long getBarangId();
+    }
+
+    // mode CLI: rebalance lalu aplikasi berhenti
+    @Bean
+    @ConditionalOnProperty("barang.sharding.rebalance")
+    public ApplicationRunner shardRebalanceRunner(ShardRebalancer rebalancer, ApplicationContext context) {
+        return args -> {
+            long moved = rebalancer.rebalance();
+            log.info("Rebalance selesai ({} baris), aplikasi dihentikan", moved);
+            System.exit(SpringApplication.exit(context, () -> 0));
+        };
+    }
+}
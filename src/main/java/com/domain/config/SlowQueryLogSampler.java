@@ -0,0 +1,65 @@
+package com.domain.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// sampling untuk log query lambat Hibernate (logger org.hibernate.SQL_SLOW, ambang hibernate.log_slow_query).
+// Setiap query lambat dihitung di metrik barang.sql.slow{logged}, tetapi hanya sebagian (sampleRate, 0..1) yang
+// ditulis ke log, sehingga saat database melambat log tidak ikut membanjiri disk dan menahan thread request.
+public class SlowQueryLogSampler extends TurboFilter {
+
+    static final String LOGGER_NAME = "org.hibernate.SQL_SLOW";
+
+    private final double sampleRate;
+
+    private final Counter logged;
+
+    private final Counter skipped;
+
+    public SlowQueryLogSampler(double sampleRate, MeterRegistry meterRegistry) {
+        this.sampleRate = sampleRate;
+        this.logged = Counter.builder("barang.sql.slow").tag("logged", "true")
+                .description("Query lebih lambat dari hibernate.log_slow_query").register(meterRegistry);
+        this.skipped = Counter.builder("barang.sql.slow").tag("logged", "false")
+                .description("Query lebih lambat dari hibernate.log_slow_query").register(meterRegistry);
+        setName(getClass().getSimpleName());
+    }
+
+    // dipasang ke logback; sampler dari context Spring sebelumnya (mis. test) diganti
+    public void register() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.getTurboFilterList().removeIf(filter -> getName().equals(filter.getName()));
+        loggerContext.addTurboFilter(this);
+        start();
+    }
+
+    public void unregister() {
+        stop();
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getTurboFilterList().remove(this);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        // format null -> hanya cek isInfoEnabled, bukan baris log
+        if (format == null || !LOGGER_NAME.equals(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        if (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            logged.increment();
+            return FilterReply.NEUTRAL;
+        }
+        skipped.increment();
+        return FilterReply.DENY;
+    }
+}
@@ -0,0 +1,32 @@
+package com.domain.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+// format biner untuk klien dengan jaringan terbatas, dipilih lewat header Accept (dan Content-Type untuk body):
+//   application/cbor             -> CBOR (RFC 8949), library tersedia di hampir semua platform
+//   application/x-jackson-smile  -> Smile, nama field yang berulang (nama, jumlah, nomorSeri) ditulis sekali
+//                                   lalu dirujuk ulang, sehingga daftar Barang paling kecil
+// Tanpa Accept tersebut respons tetap JSON. Mapper dibuat dari builder Spring Boot agar pengaturan
+// spring.jackson.* sama dengan jalur JSON.
+@Configuration
+public class WireFormatConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -1,35 +1,106 @@
 package com.domain.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.domain.config.WireFormatConfig;
+import com.domain.dto.BarangPage;
+import com.domain.dto.LowStockItem;
+import com.domain.dto.StockAdjustment;
+import com.domain.dto.StockTransfer;
+import com.domain.events.BarangEventStream;
+import com.domain.ledger.StockLedger;
 import com.domain.models.entity.Barang;
+import com.domain.reorder.ReorderEngine;
+import com.domain.services.BarangImportService;
 import com.domain.services.BarangService;
+import com.domain.services.GudangService;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 
 // anotasi
 @RestController
 // memberi nama endpoint/api
 @RequestMapping("/api/barang") // localhost:8080
+// mode servlet (default); profil "reactive" memakai ReactiveBarangController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 
 public class BarangController {
 
+    private static final MediaType SMILE = MediaType.parseMediaType(WireFormatConfig.APPLICATION_SMILE_VALUE);
+
     // controller>service>repo
 
     @Autowired
     private BarangService barangService;
 
+    @Autowired
+    private BarangImportService barangImportService;
+
+    @Autowired
+    private BarangEventStream eventStream;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private ReorderEngine reorderEngine;
+
+    @Autowired
+    private GudangService gudangService;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Value("${barang.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${barang.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${barang.batch.max-size:50000}")
+    private int maxBatchSize;
+
+    @Value("${barang.search.max-limit:100}")
+    private int maxSearchLimit;
+
+    @Value("${barang.ledger.max-limit:1000}")
+    private int maxLedgerLimit;
+
     // CREATE DATA
     @PostMapping
     public ResponseEntity<?> create(@Valid @RequestBody Barang barang) {
@@ -41,6 +112,37 @@ public class BarangController {
         }
     }
 
+    // CREATE/UPDATE DATA (BATCH)
+    // item tanpa id -> dibuat, item dengan id -> diupdate; hasil dikembalikan per item
+    @PostMapping("/batch")
+    public ResponseEntity<?> createBatch(@RequestBody List<Barang> barangs) {
+        if (barangs.size() > maxBatchSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body("Jumlah item dalam satu batch maksimal " + maxBatchSize + ".");
+        }
+        try {
+            return ResponseEntity.ok(barangService.saveBatch(barangs));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        }
+    }
+
+    // IMPORT (stok awal) -> body CSV (text/csv, kolom nama,jumlah,nomorSeri dengan header opsional) atau
+    // NDJSON (application/x-ndjson), dibaca streaming dan di-commit per commitSize baris.
+    // Baris yang ditolak dilaporkan bersama nomor barisnya
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<?> importBarang(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestParam(required = false) Integer commitSize, InputStream body) throws IOException {
+        BarangImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? BarangImportService.Format.NDJSON
+                : BarangImportService.Format.CSV;
+        try {
+            return ResponseEntity.ok(barangImportService.importBarang(body, format, commitSize));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        }
+    }
+
     // @PutMapping
     // public ResponseEntity<?> update(@Valid @RequestBody Barang barang) {
     // Optional<Barang> existingBarang = barangService.findOne(barang.getId());
@@ -58,11 +160,13 @@ public class BarangController {
     // }
 
     // UPDATE DATA
+    // If-Match: "v<versi>" -> 412 jika barang sudah diubah oleh request lain
     @PutMapping("/{id}")
-    public ResponseEntity<?> update(@PathVariable Long id, @Valid @RequestBody Barang barang) {
+    public ResponseEntity<?> update(@PathVariable Long id, @Valid @RequestBody Barang barang,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Barang updatedBarang = barangService.update(id, barang);
-            return ResponseEntity.ok(updatedBarang);
+            Barang updatedBarang = barangService.update(id, barang, parseVersi(ifMatch));
+            return ResponseEntity.ok().eTag(etag(updatedBarang.getVersi())).body(updatedBarang);
         } catch (ResponseStatusException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
         } catch (Exception e) {
@@ -70,36 +174,266 @@ public class BarangController {
         }
     }
 
+    // ADJUST STOK -> body { "delta": n }, n positif menambah stok dan negatif mengurangi
+    // 202 Accepted jika mode write-behind aktif (delta belum ditulis ke database)
+    @PostMapping("/{id}/adjust")
+    public ResponseEntity<?> adjust(@PathVariable Long id, @RequestBody StockAdjustment adjustment) {
+        if (adjustment.getDelta() == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Delta tidak boleh kosong.");
+        }
+        try {
+            StockAdjustment result = barangService.adjustJumlah(id, adjustment.getDelta());
+            if (result.getJumlah() == null) {
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(result);
+            }
+            return ResponseEntity.ok(result);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        }
+    }
+
+    // STOK PER GUDANG -> total, stok yang belum ditempatkan dan stok di setiap gudang
+    @GetMapping("/{id}/gudang")
+    public ResponseEntity<?> stockByLocation(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(gudangService.findStock(id));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        }
+    }
+
+    // STOK MASUK/KELUAR DI GUDANG -> body { "delta": n }, total barang ikut berubah
+    @PostMapping("/{id}/gudang/{gudangId}/adjust")
+    public ResponseEntity<?> adjustAtLocation(@PathVariable Long id, @PathVariable Long gudangId,
+            @RequestBody StockAdjustment adjustment) {
+        if (adjustment.getDelta() == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Delta tidak boleh kosong.");
+        }
+        try {
+            return ResponseEntity.ok(gudangService.adjust(id, gudangId, adjustment.getDelta()));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        }
+    }
+
+    // TRANSFER ANTAR GUDANG -> body { "dari": 1, "ke": 2, "jumlah": 5 }, dari/ke kosong = stok yang belum
+    // ditempatkan; respons berisi stok per gudang setelah transfer
+    @PostMapping("/{id}/transfer")
+    public ResponseEntity<?> transfer(@PathVariable Long id, @RequestBody StockTransfer transfer) {
+        try {
+            return ResponseEntity.ok(gudangService.transfer(id, transfer));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        }
+    }
+
+    // STOK PADA WAKTU TERTENTU -> ?pada=2026-10-01T08:00:00 (default sekarang), dihitung dari ledger mutasi
+    // (snapshot terakhir + mutasi setelahnya), juga untuk barang yang sudah dihapus
+    @GetMapping("/{id}/stok")
+    public ResponseEntity<?> stockAt(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime pada) {
+        try {
+            return ResponseEntity.ok(stockLedger.stockAt(id, pada != null ? pada : LocalDateTime.now()));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        }
+    }
+
+    // MUTASI STOK -> ?sejak=2026-10-01T08:00:00&limit=100, urut seq
+    @GetMapping("/{id}/mutasi")
+    public ResponseEntity<?> movements(@PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime sejak,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            int pageSize = Math.max(1, Math.min(limit, maxLedgerLimit));
+            return ResponseEntity.ok(stockLedger.movementsSince(id, sejak, pageSize));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        }
+    }
+
     // FIND ALL
+    // tanpa parameter -> seluruh data (perilaku lama)
+    // dengan ?size= dan/atau ?cursor= -> pagination keyset, cursor berikutnya ada di nextCursor
+    // ETag daftar lengkap berasal dari ringkasan tabel (count, total versi, id terbesar), sehingga
+    // If-None-Match -> 304 tanpa membaca dan menserialisasi seluruh data.
+    // ETag halaman (mode cursor) dihitung dari id dan versi baris pada halaman tersebut
     @GetMapping
-    public Iterable<Barang> findAll() {
-        return barangService.findAll();
+    public ResponseEntity<?> findAll(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (cursor == null && size == null) {
+            String listEtag = "\"" + barangService.findListVersion() + "\"";
+            if (ifNoneMatch != null && matches(ifNoneMatch, listEtag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(listEtag).build();
+            }
+            return ResponseEntity.ok().eTag(listEtag).body(barangService.findAll());
+        }
+        try {
+            int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+            BarangPage page = barangService.findPage(cursor, pageSize);
+            String pageEtag = pageEtag(page);
+            if (ifNoneMatch != null && matches(ifNoneMatch, pageEtag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(pageEtag).build();
+            }
+            return ResponseEntity.ok().eTag(pageEtag).body(page);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        }
+    }
+
+    // EXPORT (NDJSON) -> streaming seluruh data dengan memori konstan.
+    // Accept: application/cbor atau application/x-jackson-smile -> array biner yang juga ditulis bertahap
+    @GetMapping(value = "/export", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            WireFormatConfig.APPLICATION_SMILE_VALUE })
+    public void export(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse response) throws IOException {
+        MediaType format = binaryFormat(accept);
+        if (format == null) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            barangService.exportNdjson(response.getOutputStream());
+            return;
+        }
+        response.setContentType(format.toString());
+        barangService.exportBinary(response.getOutputStream(), MediaType.APPLICATION_CBOR.equals(format)
+                ? cborConverter.getObjectMapper() : smileConverter.getObjectMapper());
+    }
+
+    // format biner hanya dipakai jika disebut eksplisit di Accept (bukan lewat */*), selain itu NDJSON
+    private static MediaType binaryFormat(String accept) {
+        if (accept == null) {
+            return null;
+        }
+        for (MediaType type : MediaType.parseMediaTypes(accept)) {
+            if (type.getQualityValue() > 0 && (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(type)
+                    || SMILE.equalsTypeAndSubtype(type))) {
+                return new MediaType(type.getType(), type.getSubtype());
+            }
+        }
+        return null;
     }
 
     // FIND BY ID
+    // If-None-Match -> 304 tanpa memuat entitas jika versi tidak berubah
     @GetMapping("/{id}")
-    public ResponseEntity<?> findOne(@PathVariable Long id) {
+    public ResponseEntity<?> findOne(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            if (ifNoneMatch != null) {
+                Optional<Long> versi = barangService.findVersi(id);
+                if (versi.isPresent() && matches(ifNoneMatch, etag(versi.get()))) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag(versi.get())).build();
+                }
+            }
             Barang barang = barangService.findOne(id)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                             "Barang dengan ID " + id + " tidak ditemukan."));
-            return ResponseEntity.ok(barang);
+            return ResponseEntity.ok().eTag(etag(barang.getVersi())).body(barang);
         } catch (ResponseStatusException e) {
             // Mengembalikan respons dengan status NOT_FOUND dan pesan kesalahan dalam body
             return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
         }
     }
 
+    // STOK MENIPIS -> barang dengan jumlah <= batasStok, urut id; halaman berikutnya dengan ?afterId=<id terakhir>.
+    // Dibaca dari daftar di memori (ReorderEngine), bukan scan tabel
+    @GetMapping("/stok-menipis")
+    public List<LowStockItem> lowStock(@RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(required = false) Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        return reorderEngine.findBelow(afterId, pageSize);
+    }
+
+    // SEARCH -> awalan/potongan nama atau nomor seri, hasil berperingkat dengan offset dan limit
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam String q, @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Kata kunci tidak boleh kosong.");
+        }
+        int pageSize = Math.max(1, Math.min(limit, maxSearchLimit));
+        return ResponseEntity.ok(barangService.search(q, Math.max(0, offset), pageSize));
+    }
+
+    // EVENTS (SSE) -> created/updated/adjusted/deleted setelah commit.
+    // lanjutkan dari id event terakhir (epoch-seq) dengan ?since= atau header Last-Event-ID; event "reset"
+    // berarti client harus mengambil snapshot GET /api/barang lagi
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestParam(required = false) String since,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return eventStream.subscribe(since != null ? since : lastEventId);
+    }
+
+    // FIND BY NOMOR SERI
+    @GetMapping("/seri/{nomorSeri}")
+    public ResponseEntity<?> findByNomorSeri(@PathVariable String nomorSeri) {
+        try {
+            return ResponseEntity.ok(barangService.findByNomorSeri(nomorSeri).get());
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        }
+    }
+
     // DELETE BY ID
+    // If-Match: "v<versi>" -> 412 jika barang sudah diubah oleh request lain
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> removeOne(@PathVariable Long id) {
-        Optional<Barang> existingBarang = barangService.findOne(id);
-
-        if (existingBarang.isPresent()) {
-            barangService.removeOne(id);
+    public ResponseEntity<Void> removeOne(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            barangService.removeOne(id, parseVersi(ifMatch));
             return ResponseEntity.ok().build();
-        } else {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).build();
+        }
+    }
+
+    // hasil @Valid yang gagal -> 400 dengan pesan pertama, sama seperti pesan dari BarangService
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<String> handleInvalid(MethodArgumentNotValidException e) {
+        String message = e.getBindingResult().getAllErrors().isEmpty() ? "Barang tidak valid."
+                : e.getBindingResult().getAllErrors().get(0).getDefaultMessage();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(message);
+    }
+
+    private static String pageEtag(BarangPage page) {
+        long hash = 17;
+        for (Barang barang : page.getItems()) {
+            hash = 31 * (31 * hash + barang.getId()) + barang.getVersi();
+        }
+        String next = page.getNextCursor() == null ? "" : "n";
+        return "\"p" + Long.toHexString(hash) + "-" + page.getItems().size() + next + "\"";
+    }
+
+    static String etag(long versi) {
+        return "\"v" + versi + "\"";
+    }
+
+    // If-None-Match bisa berisi beberapa ETag dipisah koma, atau *
+    static boolean matches(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // If-Match "v<versi>" -> versi; null jika header tidak ada atau *
+    static Long parseVersi(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        try {
+            return Long.parseLong(value.replace("\"", "").substring(1));
+        } catch (RuntimeException e) {
+            // ETag yang tidak dikenal tidak akan pernah cocok
+            return -1L;
         }
     }
 }
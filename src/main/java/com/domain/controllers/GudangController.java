@@ -0,0 +1,45 @@
+package com.domain.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.domain.models.entity.Gudang;
+import com.domain.services.GudangService;
+
+// daftar gudang; stok barang per gudang ada di /api/barang/{id}/gudang (BarangController).
+// Hanya di mode servlet, seperti batch dan import
+@RestController
+@RequestMapping("/api/gudang")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class GudangController {
+
+    @Autowired
+    private GudangService gudangService;
+
+    // CREATE -> body { "kode": "JKT", "nama": "Gudang Jakarta" }
+    @PostMapping
+    public ResponseEntity<?> create(@RequestBody Gudang gudang) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(gudangService.create(gudang));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        }
+    }
+
+    // FIND ALL -> termasuk total stok per gudang (kolom yang diperbarui di setiap mutasi)
+    @GetMapping
+    public List<Gudang> findAll() {
+        return gudangService.findAll();
+    }
+}
@@ -0,0 +1,134 @@
+package com.domain.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.domain.dto.LowStockItem;
+import com.domain.dto.StockAdjustment;
+import com.domain.models.entity.Barang;
+import com.domain.reorder.ReorderEngine;
+import com.domain.services.ReactiveBarangService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// endpoint /api/barang versi WebFlux (profil "reactive"), kontrak sama dengan BarangController:
+// status, pesan error (teks biasa), ETag "v<versi>", If-None-Match dan If-Match.
+// Daftar dan export dikirim sebagai Flux yang ditulis bertahap sesuai kecepatan client (backpressure
+// sampai ke cursor R2DBC). Batch, import, search dan SSE hanya tersedia di mode servlet.
+@RestController
+@RequestMapping("/api/barang")
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveBarangController {
+
+    @Autowired
+    private ReactiveBarangService barangService;
+
+    @Autowired
+    private ReorderEngine reorderEngine;
+
+    @Value("${barang.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${barang.page.max-size:500}")
+    private int maxPageSize;
+
+    // CREATE DATA (validasi oleh service, pesan sama dengan @Valid di BarangController)
+    @PostMapping
+    public Mono<ResponseEntity<Barang>> create(@RequestBody Barang barang) {
+        return barangService.save(barang)
+                .map(saved -> ResponseEntity.status(HttpStatus.CREATED).body(saved));
+    }
+
+    // UPDATE DATA
+    // If-Match: "v<versi>" -> 412 jika barang sudah diubah oleh request lain
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Barang>> update(@PathVariable long id, @RequestBody Barang barang,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return barangService.update(id, barang, BarangController.parseVersi(ifMatch))
+                .map(updated -> ResponseEntity.ok().eTag(BarangController.etag(updated.getVersi())).body(updated));
+    }
+
+    // ADJUST STOK -> body { "delta": n }
+    @PostMapping("/{id}/adjust")
+    public Mono<StockAdjustment> adjust(@PathVariable long id, @RequestBody StockAdjustment adjustment) {
+        if (adjustment.getDelta() == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Delta tidak boleh kosong."));
+        }
+        return barangService.adjustJumlah(id, adjustment.getDelta());
+    }
+
+    // FIND ALL -> array JSON yang ditulis per elemen, bukan dikumpulkan dulu di memori
+    @GetMapping
+    public Flux<Barang> findAll() {
+        return barangService.findAll();
+    }
+
+    // EXPORT (NDJSON) -> satu objek per baris
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Barang> export() {
+        return barangService.findAll();
+    }
+
+    // STOK MENIPIS -> daftar di memori (ReorderEngine), sama dengan BarangController
+    @GetMapping("/stok-menipis")
+    public List<LowStockItem> lowStock(@RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(required = false) Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        return reorderEngine.findBelow(afterId, pageSize);
+    }
+
+    // FIND BY ID
+    // If-None-Match -> 304 jika versi tidak berubah
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Barang>> findOne(@PathVariable long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return barangService.findOne(id).map(barang -> {
+            String etag = BarangController.etag(barang.getVersi());
+            if (ifNoneMatch != null && BarangController.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<Barang>build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(barang);
+        });
+    }
+
+    // FIND BY NOMOR SERI
+    @GetMapping("/seri/{nomorSeri}")
+    public Mono<Barang> findByNomorSeri(@PathVariable String nomorSeri) {
+        return barangService.findByNomorSeri(nomorSeri);
+    }
+
+    // DELETE BY ID
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> removeOne(@PathVariable long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return barangService.removeOne(id, BarangController.parseVersi(ifMatch))
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok().<Void>build()));
+    }
+
+    // error dari service -> status dan pesan sebagai teks biasa, seperti BarangController
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<String> handleStatus(ResponseStatusException e) {
+        return ResponseEntity.status(e.getStatusCode()).contentType(MediaType.TEXT_PLAIN).body(e.getReason());
+    }
+}
@@ -1,5 +0,0 @@
-package com.domain.controllers;
-
-public @interface Valid {
-
-}
@@ -0,0 +1,23 @@
+package com.domain.datasource;
+
+// penanda per request (thread): setelah request menulis ke primary, pembacaan berikutnya di request yang
+// sama juga diarahkan ke primary karena replika mungkin belum menerima perubahan tersebut.
+// Direset oleh ReadYourWritesFilter di akhir setiap request
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> WRITTEN = new ThreadLocal<>();
+
+    private ReadYourWrites() {}
+
+    public static void markWritten() {
+        WRITTEN.set(Boolean.TRUE);
+    }
+
+    public static boolean hasWritten() {
+        return WRITTEN.get() != null;
+    }
+
+    public static void clear() {
+        WRITTEN.remove();
+    }
+}
@@ -0,0 +1,115 @@
+package com.domain.datasource;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// DataSource untuk transaksi read-only (dipasang sebagai readOnlyDataSource LazyConnectionDataSourceProxy).
+//
+// - koneksi diambil bergiliran (round-robin) dari replika yang sehat
+// - replika yang gagal memberi koneksi ditandai down dan dilewati selama retryMillis, lalu dicoba lagi
+// - jika request ini sudah menulis (ReadYourWrites) atau tidak ada replika yang sehat -> primary
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+
+    private final List<DataSource> replicas;
+
+    private final long retryMillis;
+
+    // waktu (System.currentTimeMillis) sampai replika dianggap down; 0 -> sehat
+    private final AtomicLongArray downUntil;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, long retryMillis) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.retryMillis = retryMillis;
+        this.downUntil = new AtomicLongArray(replicas.size());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadYourWrites.hasWritten()) {
+            return primary.getConnection();
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            long now = System.currentTimeMillis();
+            if (downUntil.get(index) > now) {
+                continue;
+            }
+            try {
+                Connection connection = replicas.get(index).getConnection();
+                downUntil.set(index, 0);
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                downUntil.set(index, now + retryMillis);
+                log.warn("Replika {} tidak dapat dihubungi, dilewati selama {} ms: {}", index, retryMillis,
+                        e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Koneksi replika memakai kredensial dari konfigurasi.");
+    }
+
+    // DataSource untuk transaksi read-write: selalu primary, dan menandai request sebagai sudah menulis
+    public DataSource writeDataSource() {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                ReadYourWrites.markWritten();
+                return super.getConnection();
+            }
+        };
+    }
+
+    public int healthyReplicas() {
+        long now = System.currentTimeMillis();
+        int healthy = 0;
+        for (int i = 0; i < downUntil.length(); i++) {
+            if (downUntil.get(i) <= now) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    @Override
+    public void close() {
+        for (DataSource dataSource : replicas) {
+            closeQuietly(dataSource);
+        }
+        closeQuietly(primary);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Gagal menutup DataSource", e);
+            }
+        }
+    }
+}
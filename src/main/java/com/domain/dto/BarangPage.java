@@ -0,0 +1,59 @@
+package com.domain.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.domain.models.entity.Barang;
+
+// satu halaman hasil pagination keyset (berdasarkan id)
+// nextCursor = null -> tidak ada halaman berikutnya
+public class BarangPage {
+
+    private List<Barang> items;
+
+    private String nextCursor;
+
+    public BarangPage() {}
+
+    public BarangPage(List<Barang> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // cursor berisi id terakhir pada halaman, di-encode agar tidak dianggap sebagai id oleh client
+    public static String encodeCursor(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor tidak valid.");
+        }
+    }
+
+    public List<Barang> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Barang> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,107 @@
+package com.domain.dto;
+
+import com.domain.models.entity.Barang;
+
+// satu event pada GET /api/barang/events (SSE), seq naik terus selama aplikasi berjalan dan dimulai lagi dari 0
+// setiap kali aplikasi start dengan epoch baru. Id event SSE = epoch-seq
+public class BarangStreamEvent {
+
+    private String epoch;
+
+    private long seq;
+
+    private String type;
+
+    private long id;
+
+    private Barang barang;
+
+    private Integer jumlah;
+
+    private Integer delta;
+
+    private long timestamp;
+
+    public BarangStreamEvent() {}
+
+    public BarangStreamEvent(String epoch, long seq, String type, long id, Barang barang, Integer jumlah, Integer delta,
+            long timestamp) {
+        this.epoch = epoch;
+        this.seq = seq;
+        this.type = type;
+        this.id = id;
+        this.barang = barang;
+        this.jumlah = jumlah;
+        this.delta = delta;
+        this.timestamp = timestamp;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(String epoch) {
+        this.epoch = epoch;
+    }
+
+    // id event SSE, dipakai client untuk ?since= atau Last-Event-ID
+    public String eventId() {
+        return epoch + "-" + seq;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public Barang getBarang() {
+        return barang;
+    }
+
+    public void setBarang(Barang barang) {
+        this.barang = barang;
+    }
+
+    public Integer getJumlah() {
+        return jumlah;
+    }
+
+    public void setJumlah(Integer jumlah) {
+        this.jumlah = jumlah;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,55 @@
+package com.domain.dto;
+
+// hasil per item dari POST /api/barang/batch
+// index -> posisi item pada payload, status -> kode HTTP untuk item tersebut
+public class BatchItemResult {
+
+    private int index;
+
+    private int status;
+
+    private Long id;
+
+    private String message;
+
+    public BatchItemResult() {}
+
+    public BatchItemResult(int index, int status, Long id, String message) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,56 @@
+package com.domain.dto;
+
+import java.util.List;
+
+// ringkasan hasil POST /api/barang/batch
+public class BatchResponse {
+
+    private int created;
+
+    private int updated;
+
+    private int failed;
+
+    private List<BatchItemResult> results;
+
+    public BatchResponse() {}
+
+    public BatchResponse(int created, int updated, int failed, List<BatchItemResult> results) {
+        this.created = created;
+        this.updated = updated;
+        this.failed = failed;
+        this.results = results;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,33 @@
+package com.domain.dto;
+
+// baris yang ditolak oleh POST /api/barang/import
+// line -> nomor baris pada file (dimulai dari 1, termasuk header CSV)
+public class ImportRejectedRow {
+
+    private long line;
+
+    private String message;
+
+    public ImportRejectedRow() {}
+
+    public ImportRejectedRow(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,70 @@
+package com.domain.dto;
+
+import java.util.List;
+
+// ringkasan hasil POST /api/barang/import
+// rejectedRows hanya memuat sejumlah baris pertama yang ditolak (barang.import.max-reported-rejections),
+// jumlah totalnya ada di rejected
+public class ImportResponse {
+
+    private long processed;
+
+    private long imported;
+
+    private long rejected;
+
+    private long durationMillis;
+
+    private List<ImportRejectedRow> rejectedRows;
+
+    public ImportResponse() {}
+
+    public ImportResponse(long processed, long imported, long rejected, long durationMillis,
+            List<ImportRejectedRow> rejectedRows) {
+        this.processed = processed;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.durationMillis = durationMillis;
+        this.rejectedRows = rejectedRows;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public List<ImportRejectedRow> getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public void setRejectedRows(List<ImportRejectedRow> rejectedRows) {
+        this.rejectedRows = rejectedRows;
+    }
+}
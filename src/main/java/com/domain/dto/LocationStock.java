@@ -0,0 +1,43 @@
+package com.domain.dto;
+
+// stok satu barang di satu gudang, bagian dari StockLocations
+public class LocationStock {
+
+    private long gudangId;
+
+    private String kode;
+
+    private int jumlah;
+
+    public LocationStock() {}
+
+    public LocationStock(long gudangId, String kode, int jumlah) {
+        this.gudangId = gudangId;
+        this.kode = kode;
+        this.jumlah = jumlah;
+    }
+
+    public long getGudangId() {
+        return gudangId;
+    }
+
+    public void setGudangId(long gudangId) {
+        this.gudangId = gudangId;
+    }
+
+    public String getKode() {
+        return kode;
+    }
+
+    public void setKode(String kode) {
+        this.kode = kode;
+    }
+
+    public int getJumlah() {
+        return jumlah;
+    }
+
+    public void setJumlah(int jumlah) {
+        this.jumlah = jumlah;
+    }
+}
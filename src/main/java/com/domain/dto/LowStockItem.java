@@ -0,0 +1,89 @@
+package com.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// barang dengan titik reorder, dipakai GET /api/barang/stok-menipis dan ReorderAlert
+public class LowStockItem {
+
+    private long id;
+
+    private String nama;
+
+    private String nomorSeri;
+
+    private int jumlah;
+
+    private int batasStok;
+
+    // versi barang asal kondisi ini, agar event yang tiba terlambat tidak menimpanya
+    @JsonIgnore
+    private long versi;
+
+    public LowStockItem() {}
+
+    public LowStockItem(long id, String nama, String nomorSeri, int jumlah, int batasStok) {
+        this(id, nama, nomorSeri, jumlah, batasStok, 0);
+    }
+
+    public LowStockItem(long id, String nama, String nomorSeri, int jumlah, int batasStok, long versi) {
+        this.id = id;
+        this.nama = nama;
+        this.nomorSeri = nomorSeri;
+        this.jumlah = jumlah;
+        this.batasStok = batasStok;
+        this.versi = versi;
+    }
+
+    // jumlah <= batasStok -> perlu reorder
+    public boolean isMenipis() {
+        return jumlah <= batasStok;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getNama() {
+        return nama;
+    }
+
+    public void setNama(String nama) {
+        this.nama = nama;
+    }
+
+    public String getNomorSeri() {
+        return nomorSeri;
+    }
+
+    public void setNomorSeri(String nomorSeri) {
+        this.nomorSeri = nomorSeri;
+    }
+
+    public int getJumlah() {
+        return jumlah;
+    }
+
+    public void setJumlah(int jumlah) {
+        this.jumlah = jumlah;
+    }
+
+    public int getBatasStok() {
+        return batasStok;
+    }
+
+    public void setBatasStok(int batasStok) {
+        this.batasStok = batasStok;
+    }
+
+    public long getVersi() {
+        return versi;
+    }
+
+    public void setVersi(long versi) {
+        this.versi = versi;
+    }
+}
@@ -0,0 +1,43 @@
+package com.domain.dto;
+
+// satu hasil pencarian dari index nama/nomor seri (tanpa jumlah, ambil detail lewat GET /api/barang/{id})
+public class SearchHit {
+
+    private long id;
+
+    private String nama;
+
+    private String nomorSeri;
+
+    public SearchHit() {}
+
+    public SearchHit(long id, String nama, String nomorSeri) {
+        this.id = id;
+        this.nama = nama;
+        this.nomorSeri = nomorSeri;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getNama() {
+        return nama;
+    }
+
+    public void setNama(String nama) {
+        this.nama = nama;
+    }
+
+    public String getNomorSeri() {
+        return nomorSeri;
+    }
+
+    public void setNomorSeri(String nomorSeri) {
+        this.nomorSeri = nomorSeri;
+    }
+}
@@ -0,0 +1,45 @@
+package com.domain.dto;
+
+// body dan respons POST /api/barang/{id}/adjust
+// request  -> { "delta": -3 }
+// response -> { "id": 1, "delta": -3, "jumlah": 7 }
+public class StockAdjustment {
+
+    private Long id;
+
+    private Integer delta;
+
+    private Integer jumlah;
+
+    public StockAdjustment() {}
+
+    public StockAdjustment(Long id, Integer delta, Integer jumlah) {
+        this.id = id;
+        this.delta = delta;
+        this.jumlah = jumlah;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+
+    public Integer getJumlah() {
+        return jumlah;
+    }
+
+    public void setJumlah(Integer jumlah) {
+        this.jumlah = jumlah;
+    }
+}
@@ -0,0 +1,46 @@
+package com.domain.dto;
+
+import java.time.LocalDateTime;
+
+// respons GET /api/barang/{id}/stok?pada=...
+// { "barangId": 1, "pada": "2026-10-01T08:00:00", "jumlah": 7 }
+public class StockLevel {
+
+    private long barangId;
+
+    private LocalDateTime pada;
+
+    private long jumlah;
+
+    public StockLevel() {}
+
+    public StockLevel(long barangId, LocalDateTime pada, long jumlah) {
+        this.barangId = barangId;
+        this.pada = pada;
+        this.jumlah = jumlah;
+    }
+
+    public long getBarangId() {
+        return barangId;
+    }
+
+    public void setBarangId(long barangId) {
+        this.barangId = barangId;
+    }
+
+    public LocalDateTime getPada() {
+        return pada;
+    }
+
+    public void setPada(LocalDateTime pada) {
+        this.pada = pada;
+    }
+
+    public long getJumlah() {
+        return jumlah;
+    }
+
+    public void setJumlah(long jumlah) {
+        this.jumlah = jumlah;
+    }
+}
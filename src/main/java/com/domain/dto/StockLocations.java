@@ -0,0 +1,58 @@
+package com.domain.dto;
+
+import java.util.List;
+
+// respons GET /api/barang/{id}/gudang dan POST /api/barang/{id}/transfer.
+// jumlah = total stok barang, belumDitempatkan = jumlah - stok di semua gudang (keduanya dari kolom tbl_barang)
+// { "barangId": 1, "jumlah": 10, "belumDitempatkan": 3, "gudang": [ { "gudangId": 1, "kode": "JKT", "jumlah": 7 } ] }
+public class StockLocations {
+
+    private long barangId;
+
+    private int jumlah;
+
+    private int belumDitempatkan;
+
+    private List<LocationStock> gudang;
+
+    public StockLocations() {}
+
+    public StockLocations(long barangId, int jumlah, int belumDitempatkan, List<LocationStock> gudang) {
+        this.barangId = barangId;
+        this.jumlah = jumlah;
+        this.belumDitempatkan = belumDitempatkan;
+        this.gudang = gudang;
+    }
+
+    public long getBarangId() {
+        return barangId;
+    }
+
+    public void setBarangId(long barangId) {
+        this.barangId = barangId;
+    }
+
+    public int getJumlah() {
+        return jumlah;
+    }
+
+    public void setJumlah(int jumlah) {
+        this.jumlah = jumlah;
+    }
+
+    public int getBelumDitempatkan() {
+        return belumDitempatkan;
+    }
+
+    public void setBelumDitempatkan(int belumDitempatkan) {
+        this.belumDitempatkan = belumDitempatkan;
+    }
+
+    public List<LocationStock> getGudang() {
+        return gudang;
+    }
+
+    public void setGudang(List<LocationStock> gudang) {
+        this.gudang = gudang;
+    }
+}
@@ -0,0 +1,45 @@
+package com.domain.dto;
+
+// body POST /api/barang/{id}/transfer -> memindahkan stok antar gudang, total stok barang tidak berubah.
+// dari/ke kosong (null) = stok barang yang belum ditempatkan di gudang mana pun
+// { "dari": 1, "ke": 2, "jumlah": 5 }
+public class StockTransfer {
+
+    private Long dari;
+
+    private Long ke;
+
+    private Integer jumlah;
+
+    public StockTransfer() {}
+
+    public StockTransfer(Long dari, Long ke, Integer jumlah) {
+        this.dari = dari;
+        this.ke = ke;
+        this.jumlah = jumlah;
+    }
+
+    public Long getDari() {
+        return dari;
+    }
+
+    public void setDari(Long dari) {
+        this.dari = dari;
+    }
+
+    public Long getKe() {
+        return ke;
+    }
+
+    public void setKe(Long ke) {
+        this.ke = ke;
+    }
+
+    public Integer getJumlah() {
+        return jumlah;
+    }
+
+    public void setJumlah(Integer jumlah) {
+        this.jumlah = jumlah;
+    }
+}
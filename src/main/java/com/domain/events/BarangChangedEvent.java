@@ -0,0 +1,84 @@
+package com.domain.events;
+
+import com.domain.models.entity.Barang;
+
+// event yang dipublikasikan BarangService setiap kali data barang berubah.
+// listener yang memakai @TransactionalEventListener baru menerima event setelah transaksi commit, dan event
+// dari transaksi yang bersamaan bisa tiba tidak berurutan; listener yang menyimpan salinan barang memakai versi
+// untuk mengabaikan event yang lebih lama dari salinannya
+public class BarangChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, ADJUSTED, DELETED
+    }
+
+    private final Type type;
+
+    private final long id;
+
+    // kondisi barang setelah perubahan (null untuk ADJUSTED dan DELETED)
+    private final Barang barang;
+
+    // jumlah setelah perubahan dan selisihnya (hanya untuk ADJUSTED)
+    private final Integer jumlah;
+
+    private final Integer delta;
+
+    // versi barang yang di-commit oleh perubahan ini (-1 untuk DELETED)
+    private final long versi;
+
+    public BarangChangedEvent(Type type, long id, Barang barang) {
+        this(type, id, barang, barang != null ? barang.getJumlah() : null, null,
+                barang != null ? barang.getVersi() : -1);
+    }
+
+    public BarangChangedEvent(Type type, long id, Barang barang, Integer jumlah, Integer delta, long versi) {
+        this.type = type;
+        this.id = id;
+        this.barang = barang;
+        this.jumlah = jumlah;
+        this.delta = delta;
+        this.versi = versi;
+    }
+
+    public static BarangChangedEvent created(Barang barang) {
+        return new BarangChangedEvent(Type.CREATED, barang.getId(), barang);
+    }
+
+    public static BarangChangedEvent updated(Barang barang) {
+        return new BarangChangedEvent(Type.UPDATED, barang.getId(), barang);
+    }
+
+    // jumlah dan versi harus dibaca bersama setelah UPDATE (baris masih terkunci)
+    public static BarangChangedEvent adjusted(long id, int jumlah, int delta, long versi) {
+        return new BarangChangedEvent(Type.ADJUSTED, id, null, jumlah, delta, versi);
+    }
+
+    public static BarangChangedEvent deleted(long id) {
+        return new BarangChangedEvent(Type.DELETED, id, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Barang getBarang() {
+        return barang;
+    }
+
+    public Integer getJumlah() {
+        return jumlah;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public long getVersi() {
+        return versi;
+    }
+}
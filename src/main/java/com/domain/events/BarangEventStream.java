@@ -0,0 +1,245 @@
+package com.domain.events;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.domain.dto.BarangStreamEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// aliran perubahan data barang untuk dashboard (server-sent events).
+//
+// Setiap BarangChangedEvent yang sudah commit diberi nomor urut (seq) dan disimpan di ring buffer
+// (barang.events.buffer-size) agar client bisa melanjutkan dari id event terakhir (?since= atau Last-Event-ID).
+// Buffer dan seq hanya ada di memori proses ini, sehingga id event berisi epoch acak per proses (epoch-seq):
+// id dari proses lain atau dari sebelum restart tidak pernah dianggap sebagai posisi di buffer ini.
+// Jika epoch berbeda atau seq tersebut sudah tidak ada di buffer, client menerima event "reset" dan harus
+// mengambil snapshot GET /api/barang lagi.
+//
+// Setiap client punya antrean terbatas (barang.events.client-queue-size) yang dikirim oleh thread terpisah,
+// sehingga client yang lambat tidak menahan transaksi. Client yang antreannya penuh diputus dengan "reset".
+@Component
+public class BarangEventStream {
+
+    @Value("${barang.events.buffer-size:10000}")
+    private int bufferSize;
+
+    @Value("${barang.events.client-queue-size:1000}")
+    private int clientQueueSize;
+
+    @Value("${barang.events.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${barang.events.heartbeat:15s}")
+    private Duration heartbeat;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ArrayDeque<BarangStreamEvent> buffer = new ArrayDeque<>();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private long lastSeq;
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE);
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private ScheduledExecutorService heartbeats;
+
+    private Counter droppedClients;
+
+    @PostConstruct
+    void start() {
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "barang-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeat.toMillis(), heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS);
+
+        Gauge.builder("barang.events.subscribers", subscribers, Set::size).register(meterRegistry);
+        droppedClients = Counter.builder("barang.events.dropped_clients")
+                .description("Client SSE yang diputus karena antreannya penuh")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBarangChanged(BarangChangedEvent event) {
+        publish(event);
+    }
+
+    synchronized BarangStreamEvent publish(BarangChangedEvent event) {
+        BarangStreamEvent streamEvent = new BarangStreamEvent(epoch, ++lastSeq, event.getType().name(),
+                event.getId(), event.getBarang(), event.getJumlah(), event.getDelta(), System.currentTimeMillis());
+        buffer.addLast(streamEvent);
+        if (buffer.size() > bufferSize) {
+            buffer.removeFirst();
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(streamEvent);
+        }
+        return streamEvent;
+    }
+
+    // mendaftarkan client baru; event sejak "since" diputar ulang dari buffer lalu dilanjutkan event baru.
+    // keduanya dilakukan di bawah lock yang sama dengan publish sehingga tidak ada event yang terlewat/ganda
+    public synchronized SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, clientQueueSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        if (lastEventId != null) {
+            long since = seqOf(lastEventId);
+            BarangStreamEvent oldest = buffer.peekFirst();
+            boolean missing = since < 0 || since > lastSeq || (oldest != null && since < oldest.getSeq() - 1)
+                    || (oldest == null && since < lastSeq);
+            if (missing) {
+                subscriber.reset(lastSeq);
+                return emitter;
+            }
+            for (BarangStreamEvent event : buffer) {
+                if (event.getSeq() > since && !subscriber.offer(event)) {
+                    return emitter;
+                }
+            }
+        }
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    String getEpoch() {
+        return epoch;
+    }
+
+    // seq dari id event "epoch-seq"; -1 jika id berasal dari epoch lain atau tidak dikenali
+    private long seqOf(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !epoch.equals(eventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void sendHeartbeats() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean closed;
+
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        boolean offer(BarangStreamEvent event) {
+            SseEmitter.SseEventBuilder sse = SseEmitter.event()
+                    .id(event.eventId())
+                    .name(event.getType())
+                    .data(event, MediaType.APPLICATION_JSON);
+            if (!queue.offer(sse)) {
+                // client terlalu lambat: kosongkan antrean, kirim reset lalu tutup
+                droppedClients.increment();
+                queue.clear();
+                reset(event.getSeq());
+                return false;
+            }
+            drain();
+            return true;
+        }
+
+        void heartbeat() {
+            if (queue.isEmpty()) {
+                queue.offer(SseEmitter.event().comment("heartbeat"));
+                drain();
+            }
+        }
+
+        void reset(long seq) {
+            subscribers.remove(this);
+            closed = true;
+            String eventId = epoch + "-" + seq;
+            queue.offer(SseEmitter.event().id(eventId).name("reset").data(eventId));
+            drain();
+        }
+
+        private void drain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            senders.execute(() -> {
+                try {
+                    SseEmitter.SseEventBuilder next;
+                    while ((next = queue.poll()) != null) {
+                        emitter.send(next);
+                    }
+                    if (closed && completed.compareAndSet(false, true)) {
+                        emitter.complete();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(this);
+                    queue.clear();
+                    if (completed.compareAndSet(false, true)) {
+                        emitter.completeWithError(e);
+                    }
+                } finally {
+                    draining.set(false);
+                    if (!queue.isEmpty() && !completed.get()) {
+                        drain();
+                    }
+                }
+            });
+        }
+    }
+}
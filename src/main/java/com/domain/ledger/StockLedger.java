@@ -0,0 +1,169 @@
+package com.domain.ledger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.domain.dto.StockLevel;
+import com.domain.models.entity.Barang;
+import com.domain.models.entity.StokMutasi;
+import com.domain.models.entity.StokSnapshot;
+import com.domain.models.repos.StockLedgerRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// ledger mutasi stok: setiap perubahan jumlah barang dicatat sebagai satu baris append-only (barang, delta,
+// alasan, waktu, seq) di transaksi yang sama dengan perubahan tbl_barang (propagation MANDATORY), sehingga
+// mutasi tidak pernah hilang atau tercatat untuk perubahan yang di-rollback. Jalur massal (batch, import,
+// write-behind) menulis mutasinya dengan satu JDBC batch.
+//
+// Setiap snapshot-interval dibuat snapshot saldo untuk barang yang punya mutasi baru. "Stok barang X pada
+// waktu T" = snapshot terakhir X yang seluruhnya sebelum T + jumlah delta mutasi setelah snapshot tersebut,
+// dan "mutasi sejak T" hanya membaca mutasi setelah snapshot yang sama, bukan seluruh riwayat.
+//
+// Mutasi yang lebih muda dari snapshot-lag belum dimasukkan ke snapshot: seq dibagikan saat INSERT, bukan
+// saat commit, sehingga transaksi yang masih berjalan bisa memiliki seq lebih kecil dari mutasi yang sudah
+// commit. Lag harus lebih lama dari transaksi tulis terpanjang.
+//
+// Ledger ada di DataSource utama. Dengan sharding, mutasi ditulis di transaksi DataSource utama setelah
+// perubahan di shard (tidak atomik dengan shard)
+@Component
+public class StockLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedger.class);
+
+    @Value("${barang.ledger.snapshot-interval:15m}")
+    private Duration snapshotInterval;
+
+    @Value("${barang.ledger.snapshot-lag:1m}")
+    private Duration snapshotLag;
+
+    @Autowired
+    private StockLedgerRepo ledgerRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ScheduledExecutorService scheduler;
+
+    private Counter snapshotRows;
+
+    @PostConstruct
+    void start() {
+        snapshotRows = Counter.builder("barang.ledger.snapshot.rows")
+                .description("Baris snapshot saldo stok yang dibuat").register(meterRegistry);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-ledger-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = snapshotInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // delta 0 tidak dicatat
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(long barangId, int delta, StokMutasi.Alasan alasan) {
+        if (delta != 0) {
+            ledgerRepo.append(new StokMutasi(barangId, delta, alasan));
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<StokMutasi> mutasi) {
+        List<StokMutasi> nonZero = mutasi.stream().filter(m -> m.getDelta() != 0).toList();
+        if (!nonZero.isEmpty()) {
+            ledgerRepo.appendAll(nonZero);
+        }
+    }
+
+    // harus dipanggil SEBELUM barang dihapus (membaca jumlah terakhir dari tbl_barang)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(long barangId) {
+        ledgerRepo.appendDeletion(barangId);
+    }
+
+    // harus dipanggil SEBELUM jumlah barang diganti (delta dihitung dari jumlah lama di tbl_barang)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReplacements(List<Barang> barangs) {
+        if (!barangs.isEmpty()) {
+            ledgerRepo.appendReplacements(barangs);
+        }
+    }
+
+    // STOK PADA WAKTU pada: satu snapshot + ekor mutasi setelahnya
+    @Transactional(readOnly = true)
+    public StockLevel stockAt(long barangId, LocalDateTime pada) {
+        Optional<StokSnapshot> snapshot = ledgerRepo.findSnapshot(barangId, pada);
+        if (snapshot.isEmpty() && !ledgerRepo.existsByBarangId(barangId)) {
+            throw notFound(barangId);
+        }
+        long afterSeq = snapshot.map(StokSnapshot::getSeq).orElse(0L);
+        long jumlah = snapshot.map(StokSnapshot::getJumlah).orElse(0) + ledgerRepo.sumDelta(barangId, afterSeq, pada);
+        return new StockLevel(barangId, pada, jumlah);
+    }
+
+    // MUTASI SEJAK sejak (urut seq): dimulai setelah snapshot terakhir sebelum sejak
+    @Transactional(readOnly = true)
+    public List<StokMutasi> movementsSince(long barangId, LocalDateTime sejak, int limit) {
+        long afterSeq = ledgerRepo.findSnapshot(barangId, sejak).map(StokSnapshot::getSeq).orElse(0L);
+        List<StokMutasi> mutasi = ledgerRepo.findMutasi(barangId, afterSeq, sejak, limit);
+        if (mutasi.isEmpty() && afterSeq == 0 && !ledgerRepo.existsByBarangId(barangId)) {
+            throw notFound(barangId);
+        }
+        return mutasi;
+    }
+
+    // membuat snapshot untuk mutasi yang lebih tua dari snapshot-lag; mengembalikan jumlah baris snapshot baru.
+    // Jika beberapa instance menjalankannya bersamaan, yang kalah gagal karena primary key seq dan
+    // dicoba lagi pada interval berikutnya
+    public int createSnapshots() {
+        long start = System.nanoTime();
+        int rows = transactionTemplate.execute(status -> ledgerRepo.createSnapshots(snapshotLag));
+        if (rows > 0) {
+            snapshotRows.increment(rows);
+            log.info("Snapshot stok dibuat untuk {} barang dalam {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        }
+        return rows;
+    }
+
+    private void snapshotQuietly() {
+        try {
+            createSnapshots();
+        } catch (RuntimeException e) {
+            log.error("Pembuatan snapshot stok gagal, akan dicoba lagi", e);
+        }
+    }
+
+    private static ResponseStatusException notFound(long barangId) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND,
+                "Riwayat stok barang dengan ID " + barangId + " tidak ditemukan.");
+    }
+}
@@ -1,41 +1,79 @@
 package com.domain.models.entity;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Check;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.domain.validation.ValidBarang;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
-import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.NotEmpty;
-import jakarta.validation.constraints.NotNull;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name = "tbl_barang")
+// aturan validasi (nama, jumlah, nomor seri) ada di BarangValidator
+@ValidBarang
+// unique constraint -> MySQL membuat index unik untuk nama dan nomor_seri, sehingga keunikan dijaga
+// oleh database (tanpa SELECT tambahan dan aman untuk request yang bersamaan)
+@Table(name = "tbl_barang", uniqueConstraints = {
+        @UniqueConstraint(name = Barang.UK_NAMA, columnNames = "nama"),
+        @UniqueConstraint(name = Barang.UK_NOMOR_SERI, columnNames = "nomor_seri") },
+        indexes = @Index(name = "idx_barang_updated_at", columnList = "updated_at"))
+// stok total tidak boleh lebih kecil dari stok yang sudah ditempatkan di gudang, untuk semua jalur tulis
+// (JPA, JDBC batch, import, write-behind, R2DBC)
+@Check(name = Barang.CK_JUMLAH_GUDANG, constraints = "jumlah >= jumlah_gudang")
 public class Barang implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    public static final String UK_NAMA = "uk_barang_nama";
+
+    public static final String UK_NOMOR_SERI = "uk_barang_nomor_seri";
+
+    public static final String CK_JUMLAH_GUDANG = "ck_barang_jumlah_gudang";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
 
-    @NotNull(message = "Nama tidak boleh null.")
-    @NotEmpty(message = "Nama tidak boleh kosong.")
     @Column(name = "nama")
     private String nama;
 
-    @NotNull(message = "Jumlah tidak boleh null.")
-    @Min(value = 1, message = "Jumlah harus lebih besar dari 0.")
     @Column(name = "jumlah")
     private Integer jumlah;
 
-    @NotNull(message = "Nomor seri tidak boleh null.")
-    @NotEmpty(message = "Nomor seri tidak boleh kosong.")
     @Column(name = "nomor_seri")
     private String nomorSeri;
 
+    // titik reorder (opsional): barang masuk daftar stok menipis jika jumlah <= batasStok (lihat ReorderEngine)
+    @Column(name = "batas_stok")
+    private Integer batasStok;
+
+    // bagian dari jumlah yang sudah ditempatkan di gudang (jumlah stok barang ini di semua gudang), hanya
+    // diubah oleh GudangRepo. Tidak ditulis oleh JPA dan tidak dikirim di JSON (lihat /api/barang/{id}/gudang)
+    @JsonIgnore
+    @Column(name = "jumlah_gudang", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer default 0")
+    private int jumlahGudang;
+
+    // naik setiap kali baris berubah (juga oleh UPDATE JDBC/JPQL), dipakai sebagai ETag dan optimistic lock
+    @Version
+    @Column(name = "versi", nullable = false)
+    private long versi;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     // Konstruktor default yang diperlukan oleh JPA
     public Barang() {}
 
@@ -78,4 +116,36 @@ public class Barang implements Serializable {
     public void setNomorSeri(String nomorSeri) {
         this.nomorSeri = nomorSeri;
     }
+
+    public Integer getBatasStok() {
+        return batasStok;
+    }
+
+    public void setBatasStok(Integer batasStok) {
+        this.batasStok = batasStok;
+    }
+
+    public int getJumlahGudang() {
+        return jumlahGudang;
+    }
+
+    public void setJumlahGudang(int jumlahGudang) {
+        this.jumlahGudang = jumlahGudang;
+    }
+
+    public long getVersi() {
+        return versi;
+    }
+
+    public void setVersi(long versi) {
+        this.versi = versi;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
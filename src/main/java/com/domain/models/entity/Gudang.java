@@ -0,0 +1,72 @@
+package com.domain.models.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// lokasi penyimpanan stok. total = jumlah stok semua barang di gudang ini, diperbarui oleh GudangRepo di
+// transaksi yang sama dengan setiap mutasi (tidak pernah dihitung ulang dengan SUM)
+@Entity
+@Table(name = "tbl_gudang", uniqueConstraints = @UniqueConstraint(name = Gudang.UK_KODE, columnNames = "kode"))
+public class Gudang {
+
+    public static final String UK_KODE = "uk_gudang_kode";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "kode", nullable = false, length = 32)
+    private String kode;
+
+    @Column(name = "nama", nullable = false)
+    private String nama;
+
+    @Column(name = "total", nullable = false)
+    private long total;
+
+    public Gudang() {}
+
+    public Gudang(long id, String kode, String nama, long total) {
+        this.id = id;
+        this.kode = kode;
+        this.nama = nama;
+        this.total = total;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getKode() {
+        return kode;
+    }
+
+    public void setKode(String kode) {
+        this.kode = kode;
+    }
+
+    public String getNama() {
+        return nama;
+    }
+
+    public void setNama(String nama) {
+        this.nama = nama;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,67 @@
+package com.domain.models.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// stok satu barang di satu gudang. Ditulis dan dibaca lewat GudangRepo (JDBC); entity ini mendefinisikan
+// tabelnya untuk validasi skema. Unique (barang_id, gudang_id) juga dipakai oleh upsert saat stok masuk
+@Entity
+@Table(name = "tbl_stok_gudang",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stok_gudang_barang_gudang",
+                columnNames = { "barang_id", "gudang_id" }),
+        indexes = @Index(name = "idx_stok_gudang_gudang", columnList = "gudang_id"))
+public class StokGudang {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "barang_id", nullable = false)
+    private long barangId;
+
+    @Column(name = "gudang_id", nullable = false)
+    private long gudangId;
+
+    @Column(name = "jumlah", nullable = false)
+    private int jumlah;
+
+    public StokGudang() {}
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public long getBarangId() {
+        return barangId;
+    }
+
+    public void setBarangId(long barangId) {
+        this.barangId = barangId;
+    }
+
+    public long getGudangId() {
+        return gudangId;
+    }
+
+    public void setGudangId(long gudangId) {
+        this.gudangId = gudangId;
+    }
+
+    public int getJumlah() {
+        return jumlah;
+    }
+
+    public void setJumlah(int jumlah) {
+        this.jumlah = jumlah;
+    }
+}
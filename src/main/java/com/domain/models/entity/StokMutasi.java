@@ -0,0 +1,99 @@
+package com.domain.models.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// satu baris ledger mutasi stok (append-only, tidak pernah diubah atau dihapus).
+// Ditulis dan dibaca lewat StockLedgerRepo (JDBC); entity ini mendefinisikan tabelnya untuk validasi skema
+@Entity
+@Table(name = "tbl_stok_mutasi", indexes = @Index(name = "idx_stok_mutasi_barang_seq", columnList = "barang_id, seq"))
+public class StokMutasi {
+
+    public enum Alasan {
+        // saldo barang yang sudah ada saat ledger dibuat (migrasi V2)
+        INITIAL,
+        CREATED,
+        UPDATED,
+        ADJUSTED,
+        DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq")
+    private long seq;
+
+    @Column(name = "barang_id", nullable = false)
+    private long barangId;
+
+    @Column(name = "delta", nullable = false)
+    private int delta;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "alasan", nullable = false, length = 16)
+    private Alasan alasan;
+
+    @Column(name = "waktu", nullable = false)
+    private LocalDateTime waktu;
+
+    public StokMutasi() {}
+
+    public StokMutasi(long barangId, int delta, Alasan alasan) {
+        this.barangId = barangId;
+        this.delta = delta;
+        this.alasan = alasan;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public long getBarangId() {
+        return barangId;
+    }
+
+    public void setBarangId(long barangId) {
+        this.barangId = barangId;
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+
+    public void setDelta(int delta) {
+        this.delta = delta;
+    }
+
+    public Alasan getAlasan() {
+        return alasan;
+    }
+
+    public void setAlasan(Alasan alasan) {
+        this.alasan = alasan;
+    }
+
+    public LocalDateTime getWaktu() {
+        return waktu;
+    }
+
+    public void setWaktu(LocalDateTime waktu) {
+        this.waktu = waktu;
+    }
+}
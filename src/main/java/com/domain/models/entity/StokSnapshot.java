@@ -0,0 +1,66 @@
+package com.domain.models.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// saldo stok satu barang setelah semua mutasinya sampai seq (termasuk) diterapkan.
+// seq = seq mutasi terakhir barang tersebut, sehingga unik di seluruh tabel.
+// waktu = waktu mutasi paling akhir yang tercakup: semua mutasi dengan seq <= snapshot terjadi pada atau
+// sebelum waktu ini. Ditulis StockLedgerRepo.createSnapshots (JDBC)
+@Entity
+@Table(name = "tbl_stok_snapshot",
+        indexes = @Index(name = "idx_stok_snapshot_barang_seq", columnList = "barang_id, seq"))
+public class StokSnapshot {
+
+    @Id
+    @Column(name = "seq")
+    private long seq;
+
+    @Column(name = "barang_id", nullable = false)
+    private long barangId;
+
+    @Column(name = "jumlah", nullable = false)
+    private int jumlah;
+
+    @Column(name = "waktu", nullable = false)
+    private LocalDateTime waktu;
+
+    public StokSnapshot() {}
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public long getBarangId() {
+        return barangId;
+    }
+
+    public void setBarangId(long barangId) {
+        this.barangId = barangId;
+    }
+
+    public int getJumlah() {
+        return jumlah;
+    }
+
+    public void setJumlah(int jumlah) {
+        this.jumlah = jumlah;
+    }
+
+    public LocalDateTime getWaktu() {
+        return waktu;
+    }
+
+    public void setWaktu(LocalDateTime waktu) {
+        this.waktu = waktu;
+    }
+}
@@ -0,0 +1,178 @@
+package com.domain.models.repos;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.domain.models.entity.Barang;
+
+import io.micrometer.core.annotation.Timed;
+
+// operasi tulis massal ke tbl_barang lewat JDBC batch.
+// Hibernate tidak bisa mem-batch INSERT untuk id IDENTITY, jadi jalur bulk memakai JdbcTemplate langsung
+// (dengan rewriteBatchedStatements=true MySQL menggabungkannya menjadi INSERT multi-baris)
+@Repository
+// waktu setiap operasi JDBC batch -> barang.repo.batch{class, method}
+@Timed(value = "barang.repo.batch", histogram = true)
+public class BarangBatchRepo {
+
+    // versi dan updated_at diisi sendiri karena jalur ini tidak melewati Hibernate
+    private static final String INSERT_SQL = "insert into tbl_barang (nama, jumlah, nomor_seri, batas_stok, versi, "
+            + "updated_at) values (?, ?, ?, ?, 0, current_timestamp)";
+
+    private static final String UPDATE_SQL = "update tbl_barang set nama = ?, jumlah = ?, nomor_seri = ?, "
+            + "batas_stok = ?, versi = versi + 1, updated_at = current_timestamp where id = ?";
+
+    private static final String ADJUST_SQL = "update tbl_barang set jumlah = jumlah + ?, versi = versi + 1, "
+            + "updated_at = current_timestamp where id = ? and jumlah + ? >= jumlah_gudang";
+
+    // jumlah baris per executeBatch
+    public static final int CHUNK_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    // insert semua barang dan mengisi id hasil generate ke masing-masing objek
+    public void insertAll(List<Barang> barangs) {
+        for (int from = 0; from < barangs.size(); from += CHUNK_SIZE) {
+            List<Barang> chunk = barangs.subList(from, Math.min(from + CHUNK_SIZE, barangs.size()));
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                    setter(chunk, false), keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < chunk.size(); i++) {
+                chunk.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            }
+        }
+    }
+
+    public void updateAll(List<Barang> barangs) {
+        for (int from = 0; from < barangs.size(); from += CHUNK_SIZE) {
+            List<Barang> chunk = barangs.subList(from, Math.min(from + CHUNK_SIZE, barangs.size()));
+            jdbcTemplate.batchUpdate(UPDATE_SQL, setter(chunk, true));
+        }
+    }
+
+    // menerapkan selisih stok (id -> delta) dalam satu batch UPDATE bersyarat.
+    // mengembalikan id yang tidak ter-update (barang tidak ada, atau stok akan menjadi negatif atau lebih kecil
+    // dari stok yang sudah ditempatkan di gudang)
+    public List<Long> adjustAll(Map<Long, Long> deltas) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+        List<Long> rejected = new ArrayList<>();
+        for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+            List<Map.Entry<Long, Long>> chunk = entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size()));
+            int[] counts = jdbcTemplate.batchUpdate(ADJUST_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setLong(1, chunk.get(i).getValue());
+                    ps.setLong(2, chunk.get(i).getKey());
+                    ps.setLong(3, chunk.get(i).getValue());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            });
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    rejected.add(chunk.get(i).getKey());
+                }
+            }
+        }
+        return rejected;
+    }
+
+    // jumlah stok dan versi terkini untuk sekumpulan id (id -> {jumlah, versi})
+    public Map<Long, long[]> findJumlahDanVersiByIds(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        Map<Long, long[]> stok = new HashMap<>();
+        for (int from = 0; from < all.size(); from += CHUNK_SIZE) {
+            MapSqlParameterSource params = new MapSqlParameterSource("ids",
+                    all.subList(from, Math.min(from + CHUNK_SIZE, all.size())));
+            namedJdbcTemplate.query("select id, jumlah, versi from tbl_barang where id in (:ids)", params,
+                    rs -> {
+                        stok.put(rs.getLong("id"), new long[] { rs.getInt("jumlah"), rs.getLong("versi") });
+                    });
+        }
+        return stok;
+    }
+
+    // menjalankan write di savepoint JDBC pada koneksi transaksi yang sedang berjalan (JpaTransactionManager dengan
+    // Hibernate tidak mendukung PROPAGATION_NESTED): jika write gagal, hanya perubahannya yang dibatalkan dan
+    // transaksi masih bisa dilanjutkan
+    public void inSavepoint(Runnable write) {
+        Savepoint savepoint = jdbcTemplate.execute((ConnectionCallback<Savepoint>) Connection::setSavepoint);
+        try {
+            write.run();
+        } catch (RuntimeException e) {
+            jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+                con.rollback(savepoint);
+                return null;
+            });
+            throw e;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            con.releaseSavepoint(savepoint);
+            return null;
+        });
+    }
+
+    // id mana saja yang sudah ada di tabel (satu query IN per chunk)
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<Long> existing = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += CHUNK_SIZE) {
+            MapSqlParameterSource params = new MapSqlParameterSource("ids",
+                    all.subList(from, Math.min(from + CHUNK_SIZE, all.size())));
+            existing.addAll(namedJdbcTemplate.queryForList("select id from tbl_barang where id in (:ids)", params,
+                    Long.class));
+        }
+        return existing.stream().collect(Collectors.toSet());
+    }
+
+    private BatchPreparedStatementSetter setter(List<Barang> chunk, boolean withId) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Barang barang = chunk.get(i);
+                ps.setString(1, barang.getNama());
+                ps.setInt(2, barang.getJumlah());
+                ps.setString(3, barang.getNomorSeri());
+                ps.setObject(4, barang.getBatasStok(), Types.INTEGER);
+                if (withId) {
+                    ps.setLong(5, barang.getId());
+                }
+            }
+
+            @Override
+            public int getBatchSize() {
+                return chunk.size();
+            }
+        };
+    }
+}
@@ -1,22 +1,93 @@
 package com.domain.models.repos;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-import org.springframework.data.repository.CrudRepository;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.domain.models.entity.Barang;
 
+import jakarta.persistence.QueryHint;
+
 
 // antarmuka (interface) untuk entitas Barang
-// antarmuka ini memperluas CrudRepository, yang merupakan antarmuka dari Spring Data 
-// menyediakan operasi dasar CRUD (Create, Read, Update, Delete) untuk entita
-public interface BarangRepo extends CrudRepository<Barang, Long> {
+// antarmuka ini memperluas JpaRepository (turunan CrudRepository), yang merupakan antarmuka dari Spring Data 
+// menyediakan operasi dasar CRUD (Create, Read, Update, Delete) untuk entita, ditambah saveAndFlush
+public interface BarangRepo extends JpaRepository<Barang, Long> {
 
     Optional<Barang> findByNama(String nama);
 
     Optional<Barang> findByNomorSeri(String nomorSeri);
 
+    // cek keunikan secara set-based untuk batch
+    List<Barang> findByNamaIn(Collection<String> nama);
+
+    List<Barang> findByNomorSeriIn(Collection<String> nomorSeri);
+
+    // barang dengan titik reorder, untuk mengisi ReorderEngine saat start
+    List<Barang> findByBatasStokNotNull();
+
     // mencari barang berdasarkan nama mengandung txt tertentu
     List<Barang> findByNamaContains(String nama);
+
+    // fallback pencarian selama index pencarian belum siap
+    List<Barang> findByNamaContainsOrderByNamaAsc(String nama, Limit limit);
+
+    // hapus langsung tanpa SELECT terlebih dahulu, mengembalikan jumlah baris yang terhapus
+    @Modifying
+    @Query("delete from Barang b where b.id = :id")
+    int removeById(Long id);
+
+    // hapus hanya jika versi masih sama (If-Match)
+    @Modifying
+    @Query("delete from Barang b where b.id = :id and b.versi = :versi")
+    int removeByIdAndVersi(Long id, long versi);
+
+    // mengunci baris barang (SELECT ... FOR UPDATE) sebelum baris stok gudang, sesuai urutan kunci GudangService
+    @Query(value = "select id from tbl_barang where id = :id for update", nativeQuery = true)
+    Optional<Long> lockById(long id);
+
+    // proyeksi versi saja untuk conditional GET (tanpa memuat entitas)
+    @Query("select b.versi from Barang b where b.id = :id")
+    Optional<Long> findVersiById(long id);
+
+    // ringkasan murah untuk ETag daftar barang: {jumlah baris, total versi, id terbesar}
+    @Query("select count(b), coalesce(sum(b.versi), 0), coalesce(max(b.id), 0) from Barang b")
+    List<Object[]> findListVersion();
+
+    // ubah stok secara atomik di database (tanpa read-modify-write), stok tidak boleh menjadi negatif dan tidak
+    // boleh mengambil stok yang sudah ditempatkan di gudang (jumlahGudang >= 0).
+    // mengembalikan 0 jika barang tidak ada atau stok tidak mencukupi
+    @Modifying
+    @Query("update Barang b set b.jumlah = b.jumlah + :delta, b.versi = b.versi + 1, b.updatedAt = local datetime "
+            + "where b.id = :id and b.jumlah + :delta >= b.jumlahGudang")
+    int adjustJumlah(long id, int delta);
+
+    @Query("select b.jumlah from Barang b where b.id = :id")
+    Optional<Integer> findJumlahById(long id);
+
+    // {jumlah, versi} setelah adjust, untuk BarangChangedEvent; kosong jika barang tidak ada
+    @Query("select b.jumlah, b.versi from Barang b where b.id = :id")
+    List<Object[]> findJumlahDanVersiById(long id);
+
+    // baris yang berubah sejak waktu tertentu (updated_at diisi setiap insert, update dan adjust), untuk resync
+    // BarangSnapshot
+    List<Barang> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+    // pagination keyset: WHERE id > :id ORDER BY id LIMIT :limit (memakai primary key, tanpa OFFSET)
+    List<Barang> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    // membaca seluruh tabel baris demi baris lewat cursor JDBC (harus dipanggil di dalam transaksi
+    // dan Stream wajib ditutup)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select b from Barang b order by b.id")
+    Stream<Barang> streamAll();
 }
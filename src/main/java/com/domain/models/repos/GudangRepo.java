@@ -0,0 +1,137 @@
+package com.domain.models.repos;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.domain.dto.LocationStock;
+import com.domain.models.entity.Gudang;
+import com.domain.models.entity.StokGudang;
+
+import io.micrometer.core.annotation.Timed;
+
+// akses gudang dan stok per gudang lewat JDBC. Setiap method tulis mengubah satu tingkat agregat:
+// tbl_barang (jumlah, jumlah_gudang), tbl_stok_gudang (per barang per gudang) atau tbl_gudang (total).
+// Urutan pemanggilan (dan urutan kunci baris) diatur GudangService
+@Repository
+@Timed(value = "barang.repo.gudang", histogram = true)
+public class GudangRepo {
+
+    private static final String GUDANG_COLUMNS = "id, kode, nama, total";
+
+    // stok masuk: baris dibuat saat barang pertama kali ada di gudang ini
+    private static final String UPSERT_STOK_SQL = "insert into tbl_stok_gudang (barang_id, gudang_id, jumlah) "
+            + "values (?, ?, ?) on duplicate key update jumlah = jumlah + ?";
+
+    // stok keluar: tidak boleh negatif, 0 baris -> stok di gudang tidak mencukupi
+    private static final String KURANGI_STOK_SQL = "update tbl_stok_gudang set jumlah = jumlah + ? "
+            + "where barang_id = ? and gudang_id = ? and jumlah + ? >= 0";
+
+    private static final String TOTAL_SQL = "update tbl_gudang set total = total + ? where id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // mengisi id hasil generate, total selalu 0
+    public Gudang insert(Gudang gudang) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("insert into tbl_gudang (kode, nama, total) values (?, ?, 0)",
+                    Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, gudang.getKode());
+            ps.setString(2, gudang.getNama());
+            return ps;
+        }, keyHolder);
+        gudang.setId(keyHolder.getKey().longValue());
+        gudang.setTotal(0);
+        return gudang;
+    }
+
+    public List<Gudang> findAll() {
+        return jdbcTemplate.query("select " + GUDANG_COLUMNS + " from tbl_gudang order by id",
+                (rs, rowNum) -> new Gudang(rs.getLong("id"), rs.getString("kode"), rs.getString("nama"),
+                        rs.getLong("total")));
+    }
+
+    public boolean existsById(long id) {
+        return !jdbcTemplate.queryForList("select id from tbl_gudang where id = ?", Long.class, id).isEmpty();
+    }
+
+    // stok barang di setiap gudang (baris dengan jumlah 0 dilewati), urut id gudang
+    public List<LocationStock> findStok(long barangId) {
+        return jdbcTemplate.query("select s.gudang_id, g.kode, s.jumlah from tbl_stok_gudang s "
+                + "join tbl_gudang g on g.id = s.gudang_id where s.barang_id = ? and s.jumlah > 0 order by s.gudang_id",
+                (rs, rowNum) -> new LocationStock(rs.getLong("gudang_id"), rs.getString("kode"), rs.getInt("jumlah")),
+                barangId);
+    }
+
+    // {jumlah, jumlah_gudang, versi} barang; kosong jika barang tidak ada
+    public Optional<long[]> findJumlah(long barangId) {
+        return jdbcTemplate.query("select jumlah, jumlah_gudang, versi from tbl_barang where id = ?",
+                (rs, rowNum) -> new long[] { rs.getInt("jumlah"), rs.getInt("jumlah_gudang"), rs.getLong("versi") },
+                barangId).stream().findFirst();
+    }
+
+    // stok masuk/keluar langsung di gudang: total barang dan bagian yang sudah ditempatkan berubah bersama.
+    // 0 baris -> barang tidak ada
+    public int adjustBarang(long barangId, int delta) {
+        return jdbcTemplate.update("update tbl_barang set jumlah = jumlah + ?, jumlah_gudang = jumlah_gudang + ?, "
+                + "versi = versi + 1, updated_at = current_timestamp where id = ?", delta, delta, barangId);
+    }
+
+    // menempatkan (delta > 0) atau melepas (delta < 0) stok yang belum ditempatkan; total barang tidak berubah.
+    // 0 baris -> barang tidak ada atau stok yang belum ditempatkan tidak mencukupi
+    public int placeBarang(long barangId, int delta) {
+        return jdbcTemplate.update("update tbl_barang set jumlah_gudang = jumlah_gudang + ? "
+                + "where id = ? and jumlah >= jumlah_gudang + ?", delta, barangId, delta);
+    }
+
+    // false jika stok di gudang tidak mencukupi (hanya mungkin untuk delta negatif)
+    public boolean adjustStok(long barangId, long gudangId, int delta) {
+        if (delta > 0) {
+            jdbcTemplate.update(UPSERT_STOK_SQL, barangId, gudangId, delta, delta);
+            return true;
+        }
+        return jdbcTemplate.update(KURANGI_STOK_SQL, delta, barangId, gudangId, delta) > 0;
+    }
+
+    public void adjustTotal(long gudangId, long delta) {
+        jdbcTemplate.update(TOTAL_SQL, delta, gudangId);
+    }
+
+    // dipanggil sebelum barang dihapus: baris stok barang dikunci dan dihapus (urut gudang), lalu total setiap
+    // gudang dikurangi dengan urutan id yang sama
+    public void releaseBarang(long barangId) {
+        List<StokGudang> rows = jdbcTemplate.query("select gudang_id, jumlah from tbl_stok_gudang "
+                + "where barang_id = ? order by gudang_id for update", (rs, rowNum) -> {
+                    StokGudang stok = new StokGudang();
+                    stok.setGudangId(rs.getLong("gudang_id"));
+                    stok.setJumlah(rs.getInt("jumlah"));
+                    return stok;
+                }, barangId);
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("delete from tbl_stok_gudang where barang_id = ?", barangId);
+        jdbcTemplate.batchUpdate(TOTAL_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, -rows.get(i).getJumlah());
+                ps.setLong(2, rows.get(i).getGudangId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+}
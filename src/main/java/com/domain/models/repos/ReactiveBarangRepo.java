@@ -0,0 +1,212 @@
+package com.domain.models.repos;
+
+import java.io.Closeable;
+import java.time.LocalDateTime;
+
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.domain.models.entity.Barang;
+import com.domain.models.entity.StokMutasi;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// akses tbl_barang lewat R2DBC untuk stack reaktif (lihat ReactiveConfig). Query sama dengan BarangRepo dan
+// BarangBatchRepo: versi naik di setiap perubahan dan update/delete bisa dijaga dengan versi (If-Match).
+// Parameter bernama (:id) diterjemahkan DatabaseClient ke bind marker milik driver (MySQL ?, H2 $1).
+// Setiap perubahan jumlah juga menulis mutasi ledger stok (lihat StockLedger) di transaksi R2DBC yang sama;
+// transaksi di-rollback jika barang tidak ter-update/terhapus. Menghapus barang juga melepas stoknya di gudang
+// (seperti GudangRepo.releaseBarang) dengan urutan kunci yang sama dengan BarangService: barang, stok, gudang.
+public class ReactiveBarangRepo implements Closeable {
+
+    private static final String COLUMNS = "id, nama, jumlah, nomor_seri, versi, updated_at, batas_stok, jumlah_gudang";
+
+    // baris dikirim database bertahap sesuai permintaan subscriber (backpressure)
+    private static final int FETCH_SIZE = 500;
+
+    private final ConnectionPool pool;
+
+    private final DatabaseClient client;
+
+    // transaction manager lokal (bukan bean) agar tidak menggantikan JpaTransactionManager aplikasi
+    private final TransactionalOperator transactional;
+
+    public ReactiveBarangRepo(ConnectionPool pool) {
+        this.pool = pool;
+        this.client = DatabaseClient.create(pool);
+        this.transactional = TransactionalOperator.create(new R2dbcTransactionManager(pool));
+    }
+
+    public Mono<Barang> findById(long id) {
+        return client.sql("select " + COLUMNS + " from tbl_barang where id = :id")
+                .bind("id", id)
+                .map(ReactiveBarangRepo::mapRow)
+                .one();
+    }
+
+    public Mono<Barang> findByNomorSeri(String nomorSeri) {
+        return client.sql("select " + COLUMNS + " from tbl_barang where nomor_seri = :nomorSeri")
+                .bind("nomorSeri", nomorSeri)
+                .map(ReactiveBarangRepo::mapRow)
+                .one();
+    }
+
+    // seluruh data urut id, dibaca per FETCH_SIZE baris
+    public Flux<Barang> findAll() {
+        return client.sql("select " + COLUMNS + " from tbl_barang order by id")
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(ReactiveBarangRepo::mapRow)
+                .all();
+    }
+
+    public Mono<Long> findVersiById(long id) {
+        return client.sql("select versi from tbl_barang where id = :id")
+                .bind("id", id)
+                .map(row -> row.get("versi", Long.class))
+                .one();
+    }
+
+    // mengisi id (AUTO_INCREMENT) dan versi 0
+    public Mono<Barang> insert(Barang barang) {
+        DatabaseClient.GenericExecuteSpec spec = client.sql("insert into tbl_barang (nama, jumlah, nomor_seri, "
+                + "batas_stok, versi, updated_at) "
+                + "values (:nama, :jumlah, :nomorSeri, :batasStok, 0, current_timestamp)")
+                .bind("nama", barang.getNama())
+                .bind("jumlah", barang.getJumlah())
+                .bind("nomorSeri", barang.getNomorSeri());
+        return bindBatasStok(spec, barang.getBatasStok())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .flatMap(id -> appendMutasi(id, barang.getJumlah(), StokMutasi.Alasan.CREATED).thenReturn(id))
+                .as(transactional::transactional)
+                .map(id -> {
+                    barang.setId(id);
+                    barang.setVersi(0);
+                    return barang;
+                });
+    }
+
+    // expectedVersi null -> tanpa cek versi; 0 baris -> barang tidak ada atau sudah diubah request lain
+    public Mono<Long> update(long id, Barang barang, Long expectedVersi) {
+        DatabaseClient.GenericExecuteSpec spec = client.sql("update tbl_barang set nama = :nama, jumlah = :jumlah, "
+                + "nomor_seri = :nomorSeri, batas_stok = :batasStok, versi = versi + 1, updated_at = current_timestamp "
+                + "where id = :id" + (expectedVersi == null ? "" : " and versi = :versi"))
+                .bind("nama", barang.getNama())
+                .bind("jumlah", barang.getJumlah())
+                .bind("nomorSeri", barang.getNomorSeri())
+                .bind("id", id);
+        spec = bindBatasStok(spec, barang.getBatasStok());
+        if (expectedVersi != null) {
+            spec = spec.bind("versi", expectedVersi);
+        }
+        return rollbackIfNone(appendSelisih(id, barang.getJumlah(), StokMutasi.Alasan.UPDATED)
+                .then(spec.fetch().rowsUpdated()));
+    }
+
+    // sama seperti BarangRepo.adjustJumlah: stok tidak boleh menjadi negatif atau mengambil stok di gudang
+    public Mono<Long> adjustJumlah(long id, int delta) {
+        return client.sql("update tbl_barang set jumlah = jumlah + :delta, versi = versi + 1, "
+                + "updated_at = current_timestamp where id = :id and jumlah + :delta >= jumlah_gudang")
+                .bind("delta", delta)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> updated == 0 ? Mono.just(updated)
+                        : appendMutasi(id, delta, StokMutasi.Alasan.ADJUSTED).thenReturn(updated))
+                .as(transactional::transactional);
+    }
+
+    public Mono<Long> removeById(long id, Long expectedVersi) {
+        DatabaseClient.GenericExecuteSpec spec = client.sql("delete from tbl_barang where id = :id"
+                + (expectedVersi == null ? "" : " and versi = :versi"))
+                .bind("id", id);
+        if (expectedVersi != null) {
+            spec = spec.bind("versi", expectedVersi);
+        }
+        return rollbackIfNone(lockById(id)
+                .then(appendSelisih(id, 0, StokMutasi.Alasan.DELETED))
+                .then(releaseGudang(id))
+                .then(spec.fetch().rowsUpdated()));
+    }
+
+    private Mono<Void> lockById(long id) {
+        return client.sql("select id from tbl_barang where id = :id for update")
+                .bind("id", id)
+                .then();
+    }
+
+    // baris stok barang dikunci dan dihapus (urut gudang), lalu total setiap gudang dikurangi dengan urutan yang sama
+    private Mono<Void> releaseGudang(long barangId) {
+        return client.sql("select gudang_id, jumlah from tbl_stok_gudang where barang_id = :barangId "
+                + "order by gudang_id for update")
+                .bind("barangId", barangId)
+                .map(row -> new long[] { row.get("gudang_id", Long.class), row.get("jumlah", Integer.class) })
+                .all()
+                .collectList()
+                .flatMap(rows -> rows.isEmpty() ? Mono.<Void>empty()
+                        : client.sql("delete from tbl_stok_gudang where barang_id = :barangId")
+                                .bind("barangId", barangId)
+                                .then()
+                                .thenMany(Flux.fromIterable(rows).concatMap(row -> client
+                                        .sql("update tbl_gudang set total = total + :delta where id = :id")
+                                        .bind("delta", -row[1])
+                                        .bind("id", row[0])
+                                        .then()))
+                                .then());
+    }
+
+    // batas_stok boleh null: null di-bind dengan tipe kolomnya
+    private static DatabaseClient.GenericExecuteSpec bindBatasStok(DatabaseClient.GenericExecuteSpec spec,
+            Integer batasStok) {
+        return batasStok == null ? spec.bindNull("batasStok", Integer.class) : spec.bind("batasStok", batasStok);
+    }
+
+    private Mono<Void> appendMutasi(long barangId, int delta, StokMutasi.Alasan alasan) {
+        return client.sql("insert into tbl_stok_mutasi (barang_id, delta, alasan, waktu) "
+                + "values (:barangId, :delta, :alasan, current_timestamp(6))")
+                .bind("barangId", barangId)
+                .bind("delta", delta)
+                .bind("alasan", alasan.name())
+                .then();
+    }
+
+    // mutasi jumlahBaru - jumlah saat ini, ditulis sebelum UPDATE/DELETE (sama dengan StockLedgerRepo)
+    private Mono<Void> appendSelisih(long barangId, int jumlahBaru, StokMutasi.Alasan alasan) {
+        return client.sql("insert into tbl_stok_mutasi (barang_id, delta, alasan, waktu) "
+                + "select id, :jumlah - coalesce(jumlah, 0), :alasan, current_timestamp(6) from tbl_barang "
+                + "where id = :id and coalesce(jumlah, 0) <> :jumlah")
+                .bind("jumlah", jumlahBaru)
+                .bind("alasan", alasan.name())
+                .bind("id", barangId)
+                .then();
+    }
+
+    // menjalankan perubahan dalam satu transaksi; 0 baris -> mutasi yang sudah ditulis ikut dibatalkan
+    private Mono<Long> rollbackIfNone(Mono<Long> change) {
+        return transactional.execute(status -> change.doOnNext(rows -> {
+            if (rows == 0) {
+                status.setRollbackOnly();
+            }
+        })).singleOrEmpty();
+    }
+
+    private static Barang mapRow(Readable row) {
+        Barang barang = new Barang(row.get("id", Long.class), row.get("nama", String.class),
+                row.get("jumlah", Integer.class), row.get("nomor_seri", String.class));
+        barang.setVersi(row.get("versi", Long.class));
+        barang.setBatasStok(row.get("batas_stok", Integer.class));
+        barang.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        barang.setJumlahGudang(row.get("jumlah_gudang", Integer.class));
+        return barang;
+    }
+
+    @Override
+    public void close() {
+        pool.dispose();
+    }
+}
@@ -0,0 +1,399 @@
+package com.domain.models.repos;
+
+import java.io.Closeable;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.domain.models.entity.Barang;
+import com.domain.sharding.ShardRouter;
+import com.domain.sharding.SnowflakeIdGenerator;
+
+import io.micrometer.core.annotation.Timed;
+
+// penyimpanan tbl_barang yang dibagi ke beberapa database (barang.sharding.enabled=true, lihat ShardingConfig).
+//
+// - shard pemilik sebuah barang ditentukan oleh ShardRouter dari nomorSeri, sehingga findByNomorSeri dan
+//   unique constraint nomor_seri cukup di satu shard
+// - id berasal dari SnowflakeIdGenerator (bukan IDENTITY) agar tidak bertabrakan antar shard
+// - operasi berdasarkan id atau nama (findById, findAll, findByNamaContains, keunikan nama) dan daftar
+//   (findPage, streamAll, findListVersion) dijalankan paralel di semua shard (virtual thread) lalu hasilnya
+//   digabung urut id
+// - perubahan berdasarkan id (adjustJumlah, removeById) hanya dikirim ke satu shard yang memegang barang,
+//   sehingga baris yang sedang dipindahkan update tidak pernah berubah di dua shard sekaligus
+//
+// Keunikan nama antar shard dicek sebelum insert/update, tidak dijaga constraint global, sehingga dua
+// request bersamaan dengan nama yang sama di shard berbeda masih bisa lolos.
+@Timed(value = "barang.repo.sharded", histogram = true)
+public class ShardedBarangRepo implements Closeable {
+
+    public static final String COLUMNS = "id, nama, jumlah, nomor_seri, versi, updated_at, batas_stok";
+
+    public static final String INSERT_SQL = "insert into tbl_barang (" + COLUMNS + ") "
+            + "values (?, ?, ?, ?, ?, current_timestamp, ?)";
+
+    private static final String UPDATE_SQL = "update tbl_barang set nama = ?, jumlah = ?, nomor_seri = ?, "
+            + "batas_stok = ?, versi = versi + 1, updated_at = current_timestamp where id = ? and versi = ?";
+
+    private static final String ADJUST_SQL = "update tbl_barang set jumlah = jumlah + ?, versi = versi + 1, "
+            + "updated_at = current_timestamp where id = ? and jumlah + ? >= 0";
+
+    // skema shard (ddl-auto Hibernate hanya berjalan di DataSource utama). Shard yang dibuat sebelum kolom
+    // batas_stok ada perlu diubah manual seperti migrasi V3 (alter table tbl_barang add column batas_stok int)
+    static final String SCHEMA_SQL = "create table if not exists tbl_barang (id bigint not null primary key, "
+            + "nama varchar(255), jumlah int, nomor_seri varchar(255), versi bigint not null default 0, "
+            + "updated_at timestamp, batas_stok int, constraint " + Barang.UK_NAMA + " unique (nama), "
+            + "constraint " + Barang.UK_NOMOR_SERI + " unique (nomor_seri), "
+            + "index idx_barang_updated_at (updated_at))";
+
+    private static final int STREAM_CHUNK_SIZE = 500;
+
+    // barang bisa pindah shard di antara mencari dan mengubahnya; setelah sekian kali dianggap tidak ada
+    private static final int MAX_LOCATE_ATTEMPTS = 3;
+
+    private record Location(int shard, String nomorSeri, long versi) {
+    }
+
+    public static final RowMapper<Barang> ROW_MAPPER = ShardedBarangRepo::mapRow;
+
+    private final List<DataSource> dataSources;
+
+    private final List<JdbcTemplate> shards;
+
+    private final ShardRouter router;
+
+    private final SnowflakeIdGenerator idGenerator;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardedBarangRepo(List<DataSource> dataSources, ShardRouter router, SnowflakeIdGenerator idGenerator) {
+        if (dataSources.size() != router.shardCount()) {
+            throw new IllegalArgumentException("Jumlah DataSource harus sama dengan jumlah shard di router.");
+        }
+        this.dataSources = List.copyOf(dataSources);
+        this.shards = dataSources.stream().map(JdbcTemplate::new).toList();
+        this.router = router;
+        this.idGenerator = idGenerator;
+    }
+
+    public List<JdbcTemplate> getShards() {
+        return shards;
+    }
+
+    public void createSchema() {
+        fanOut(shard -> {
+            shard.execute(SCHEMA_SQL);
+            return null;
+        });
+    }
+
+    // mengisi id (Snowflake) dan versi 0 lalu insert ke shard pemilik nomorSeri
+    public Barang insert(Barang barang) {
+        barang.setId(idGenerator.nextId());
+        barang.setVersi(0);
+        ownerOf(barang.getNomorSeri()).update(INSERT_SQL, barang.getId(), barang.getNama(), barang.getJumlah(),
+                barang.getNomorSeri(), barang.getVersi(), barang.getBatasStok());
+        return barang;
+    }
+
+    // update dengan optimistic lock: barang.getVersi() adalah versi yang dibaca sebelumnya.
+    // Jika nomor seri berubah ke shard lain, baris dipindahkan: insert di shard baru dulu, lalu hapus di shard
+    // lama dengan cek versi. Insert gagal (nomor seri/nama sudah ada, shard tujuan mati) -> baris lama tetap ada;
+    // hapus tidak mengenai baris (versi berubah) -> salinan di shard baru dihapus lagi berdasarkan id saja.
+    // false -> barang sudah diubah atau dihapus oleh request lain
+    public boolean update(Barang barang, String nomorSeriLama) {
+        JdbcTemplate lama = ownerOf(nomorSeriLama);
+        JdbcTemplate baru = ownerOf(barang.getNomorSeri());
+        long versiLama = barang.getVersi();
+
+        if (lama == baru) {
+            if (baru.update(UPDATE_SQL, barang.getNama(), barang.getJumlah(), barang.getNomorSeri(),
+                    barang.getBatasStok(), barang.getId(), versiLama) == 0) {
+                return false;
+            }
+        } else {
+            baru.update(INSERT_SQL, barang.getId(), barang.getNama(), barang.getJumlah(), barang.getNomorSeri(),
+                    versiLama + 1, barang.getBatasStok());
+            if (lama.update("delete from tbl_barang where id = ? and versi = ?", barang.getId(), versiLama) == 0) {
+                if (baru.update("delete from tbl_barang where id = ?", barang.getId()) == 0) {
+                    throw new IncorrectUpdateSemanticsDataAccessException("Salinan barang " + barang.getId()
+                            + " di shard tujuan sudah tidak ada saat pemindahan dibatalkan.");
+                }
+                return false;
+            }
+        }
+        barang.setVersi(versiLama + 1);
+        return true;
+    }
+
+    public Optional<Barang> findById(long id) {
+        return first(fanOut(shard -> shard.query("select " + COLUMNS + " from tbl_barang where id = ?",
+                ROW_MAPPER, id)));
+    }
+
+    public Optional<Barang> findByNomorSeri(String nomorSeri) {
+        return first(List.of(ownerOf(nomorSeri).query(
+                "select " + COLUMNS + " from tbl_barang where nomor_seri = ?", ROW_MAPPER, nomorSeri)));
+    }
+
+    public Optional<Long> findIdByNama(String nama) {
+        return first(fanOut(shard -> shard.queryForList("select id from tbl_barang where nama = ?", Long.class,
+                nama)));
+    }
+
+    public List<Barang> findAll() {
+        return merge(fanOut(shard -> shard.query("select " + COLUMNS + " from tbl_barang", ROW_MAPPER)));
+    }
+
+    // keyset per shard (id > afterId, limit baris pertama di setiap shard) lalu digabung: limit baris pertama
+    // gabungan pasti ada di antara hasil tersebut
+    public List<Barang> findPage(long afterId, int limit) {
+        List<Barang> rows = merge(fanOut(shard -> shard.query("select " + COLUMNS + " from tbl_barang "
+                + "where id > ? order by id limit ?", ROW_MAPPER, afterId, limit)));
+        return rows.size() > limit ? rows.subList(0, limit) : rows;
+    }
+
+    // semua barang urut id, dibaca per STREAM_CHUNK_SIZE baris dengan findPage sehingga memori tetap kecil
+    // (export, warm-up index pencarian dan snapshot)
+    public Stream<Barang> streamAll() {
+        Iterator<Barang> iterator = new Iterator<>() {
+
+            private Iterator<Barang> chunk = Collections.emptyIterator();
+
+            private long lastId = Long.MIN_VALUE;
+
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                if (!chunk.hasNext() && !done) {
+                    List<Barang> rows = findPage(lastId, STREAM_CHUNK_SIZE);
+                    done = rows.size() < STREAM_CHUNK_SIZE;
+                    if (!rows.isEmpty()) {
+                        lastId = rows.get(rows.size() - 1).getId();
+                    }
+                    chunk = rows.iterator();
+                }
+                return chunk.hasNext();
+            }
+
+            @Override
+            public Barang next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return chunk.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // seperti BarangRepo.findByUpdatedAtGreaterThanEqual, dari semua shard
+    public List<Barang> findUpdatedSince(LocalDateTime since) {
+        return merge(fanOut(shard -> shard.query("select " + COLUMNS + " from tbl_barang where updated_at >= ?",
+                ROW_MAPPER, since)));
+    }
+
+    // ringkasan untuk ETag daftar barang seperti BarangRepo.findListVersion, dijumlahkan dari semua shard:
+    // {jumlah baris, total versi, id terbesar}
+    public long[] findListVersion() {
+        long[] version = new long[3];
+        for (long[] row : fanOut(shard -> shard.queryForObject("select count(*), coalesce(sum(versi), 0), "
+                + "coalesce(max(id), 0) from tbl_barang",
+                (rs, rowNum) -> new long[] { rs.getLong(1), rs.getLong(2), rs.getLong(3) }))) {
+            version[0] += row[0];
+            version[1] += row[1];
+            version[2] = Math.max(version[2], row[2]);
+        }
+        return version;
+    }
+
+    public List<Barang> findByNamaContains(String nama) {
+        return merge(fanOut(shard -> shard.query("select " + COLUMNS + " from tbl_barang where nama like ?",
+                ROW_MAPPER, "%" + escapeLike(nama) + "%")));
+    }
+
+    public Optional<Integer> findJumlahById(long id) {
+        return first(fanOut(shard -> shard.queryForList("select jumlah from tbl_barang where id = ?",
+                Integer.class, id)));
+    }
+
+    // {jumlah, versi}; kosong jika barang tidak ada
+    public Optional<long[]> findJumlahDanVersiById(long id) {
+        return first(fanOut(shard -> shard.query("select jumlah, versi from tbl_barang where id = ?",
+                (rs, rowNum) -> new long[] { rs.getInt("jumlah"), rs.getLong("versi") }, id)));
+    }
+
+    // expectedVersi null -> hapus tanpa cek versi
+    public int removeById(long id, Long expectedVersi) {
+        return onHolder(id, shard -> expectedVersi == null
+                ? shard.update("delete from tbl_barang where id = ?", id)
+                : shard.update("delete from tbl_barang where id = ? and versi = ?", id, expectedVersi));
+    }
+
+    public int adjustJumlah(long id, int delta) {
+        return onHolder(id, shard -> shard.update(ADJUST_SQL, delta, id, delta));
+    }
+
+    // menjalankan perubahan di shard yang memegang barang. 0 baris padahal barang masih ada di shard itu ->
+    // ditolak (stok/versi); barang sudah tidak ada di sana (baru dipindahkan) -> dicari lagi
+    private int onHolder(long id, Function<JdbcTemplate, Integer> change) {
+        for (int attempt = 0; attempt < MAX_LOCATE_ATTEMPTS; attempt++) {
+            Optional<JdbcTemplate> holder = locate(id);
+            if (holder.isEmpty()) {
+                return 0;
+            }
+            int rows = change.apply(holder.get());
+            if (rows > 0 || holder.get().queryForObject("select count(*) from tbl_barang where id = ?",
+                    Long.class, id) > 0) {
+                return rows;
+            }
+        }
+        return 0;
+    }
+
+    // selama update memindahkan barang, baris lama ada di shard lama dan salinannya (versi + 1) di shard baru,
+    // keduanya di shard pemilik nomor serinya masing-masing. Baris dengan versi terkecil (baris lama) dipilih:
+    // perubahan di sana menggagalkan hapus berversi di update, sehingga pemindahan dibatalkan dan perubahan ini
+    // tetap berlaku. Baris di shard yang bukan pemiliknya (rebalance belum selesai) hanya dipakai jika tidak ada
+    // yang lain.
+    private Optional<JdbcTemplate> locate(long id) {
+        List<List<Location>> rows = fanOut(shard -> shard.query("select nomor_seri, versi from tbl_barang where id = ?",
+                (rs, rowNum) -> new Location(-1, rs.getString("nomor_seri"), rs.getLong("versi")), id));
+        Location best = null;
+        for (int i = 0; i < rows.size(); i++) {
+            for (Location row : rows.get(i)) {
+                Location location = new Location(i, row.nomorSeri(), row.versi());
+                if (best == null || isBetter(location, best)) {
+                    best = location;
+                }
+            }
+        }
+        return Optional.ofNullable(best).map(location -> shards.get(location.shard()));
+    }
+
+    private boolean isBetter(Location location, Location best) {
+        boolean owned = router.shardFor(location.nomorSeri()) == location.shard();
+        boolean bestOwned = router.shardFor(best.nomorSeri()) == best.shard();
+        return owned != bestOwned ? owned : location.versi() < best.versi();
+    }
+
+    int shardOf(String nomorSeri) {
+        return router.shardFor(nomorSeri);
+    }
+
+    private JdbcTemplate ownerOf(String nomorSeri) {
+        return shards.get(router.shardFor(nomorSeri));
+    }
+
+    // menjalankan query di semua shard secara paralel; hasil sesuai urutan shard
+    private <T> List<T> fanOut(Function<JdbcTemplate, T> query) {
+        List<Future<T>> futures = new ArrayList<>(shards.size());
+        for (JdbcTemplate shard : shards) {
+            futures.add(executor.submit(() -> query.apply(shard)));
+        }
+        List<T> results = new ArrayList<>(shards.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Query shard dibatalkan.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new DataAccessResourceFailureException("Query shard gagal.", e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+        return results;
+    }
+
+    private static <T> Optional<T> first(List<? extends List<T>> results) {
+        for (List<T> rows : results) {
+            if (!rows.isEmpty()) {
+                return Optional.of(rows.get(0));
+            }
+        }
+        return Optional.empty();
+    }
+
+    // gabungan hasil semua shard urut id; baris yang sedang dipindahkan ShardRebalancer bisa sesaat ada di
+    // dua shard, sehingga id yang sama hanya diambil sekali
+    private static List<Barang> merge(List<List<Barang>> results) {
+        List<Barang> merged = new ArrayList<>();
+        results.forEach(merged::addAll);
+        merged.sort(Comparator.comparingLong(Barang::getId));
+
+        List<Barang> unique = new ArrayList<>(merged.size());
+        for (Barang barang : merged) {
+            if (unique.isEmpty() || unique.get(unique.size() - 1).getId() != barang.getId()) {
+                unique.add(barang);
+            }
+        }
+        return unique;
+    }
+
+    private static int sum(List<Integer> counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static Barang mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Barang barang = new Barang(rs.getLong("id"), rs.getString("nama"), rs.getInt("jumlah"),
+                rs.getString("nomor_seri"));
+        barang.setVersi(rs.getLong("versi"));
+        barang.setBatasStok(rs.getObject("batas_stok", Integer.class));
+        if (rs.getTimestamp("updated_at") != null) {
+            barang.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+        }
+        return barang;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    // pool sudah ditutup
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.domain.models.repos;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.domain.models.entity.Barang;
+import com.domain.models.entity.StokMutasi;
+import com.domain.models.entity.StokSnapshot;
+
+import io.micrometer.core.annotation.Timed;
+
+// akses ledger mutasi stok (tbl_stok_mutasi) dan snapshot saldo (tbl_stok_snapshot) lewat JDBC.
+// Ledger hanya di-INSERT; tidak ada UPDATE atau DELETE terhadap tabel mutasi
+@Repository
+@Timed(value = "barang.repo.ledger", histogram = true)
+public class StockLedgerRepo {
+
+    // waktu dari jam database (mikrodetik) agar urutan waktu konsisten antar instance aplikasi
+    private static final String INSERT_SQL = "insert into tbl_stok_mutasi (barang_id, delta, alasan, waktu) "
+            + "values (?, ?, ?, current_timestamp(6))";
+
+    // selisih jumlah baru terhadap jumlah di tbl_barang, ditulis SEBELUM UPDATE/DELETE barang di transaksi
+    // yang sama. INSERT ... SELECT mengunci baris barang sampai commit, sehingga adjust yang bersamaan
+    // menunggu dan delta tetap tepat. Tidak ada baris jika barang tidak ada atau jumlah tidak berubah
+    private static final String INSERT_SELISIH_SQL = "insert into tbl_stok_mutasi (barang_id, delta, alasan, waktu) "
+            + "select id, ? - coalesce(jumlah, 0), ?, current_timestamp(6) from tbl_barang "
+            + "where id = ? and coalesce(jumlah, 0) <> ?";
+
+    private static final String MUTASI_COLUMNS = "seq, barang_id, delta, alasan, waktu";
+
+    // satu baris snapshot baru per barang yang punya mutasi di rentang (fromSeq, toSeq]:
+    // saldo = saldo snapshot terakhir + jumlah delta, waktu = waktu paling akhir dari semua mutasi yang tercakup
+    private static final String SNAPSHOT_SQL = "insert into tbl_stok_snapshot (seq, barang_id, jumlah, waktu) "
+            + "select max(m.seq), m.barang_id, coalesce(max(s.jumlah), 0) + sum(m.delta), "
+            + "greatest(max(m.waktu), coalesce(max(s.waktu), max(m.waktu))) "
+            + "from tbl_stok_mutasi m "
+            + "left join tbl_stok_snapshot s on s.barang_id = m.barang_id "
+            + "and s.seq = (select max(s2.seq) from tbl_stok_snapshot s2 where s2.barang_id = m.barang_id) "
+            + "where m.seq > ? and m.seq <= ? "
+            + "group by m.barang_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void append(StokMutasi mutasi) {
+        jdbcTemplate.update(INSERT_SQL, mutasi.getBarangId(), mutasi.getDelta(), mutasi.getAlasan().name());
+    }
+
+    // JDBC batch per BarangBatchRepo.CHUNK_SIZE baris (INSERT multi-baris dengan rewriteBatchedStatements)
+    public void appendAll(List<StokMutasi> mutasi) {
+        for (int from = 0; from < mutasi.size(); from += BarangBatchRepo.CHUNK_SIZE) {
+            List<StokMutasi> chunk = mutasi.subList(from, Math.min(from + BarangBatchRepo.CHUNK_SIZE, mutasi.size()));
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setLong(1, chunk.get(i).getBarangId());
+                    ps.setInt(2, chunk.get(i).getDelta());
+                    ps.setString(3, chunk.get(i).getAlasan().name());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            });
+        }
+    }
+
+    // mutasi DELETED (delta = -jumlah); dipanggil sebelum barang dihapus
+    public void appendDeletion(long barangId) {
+        jdbcTemplate.update(INSERT_SELISIH_SQL, 0, StokMutasi.Alasan.DELETED.name(), barangId, 0);
+    }
+
+    // mutasi UPDATED untuk barang yang jumlahnya diganti (delta = jumlah baru - jumlah lama); dipanggil sebelum
+    // BarangBatchRepo.updateAll
+    public void appendReplacements(List<Barang> barangs) {
+        for (int from = 0; from < barangs.size(); from += BarangBatchRepo.CHUNK_SIZE) {
+            List<Barang> chunk = barangs.subList(from, Math.min(from + BarangBatchRepo.CHUNK_SIZE, barangs.size()));
+            jdbcTemplate.batchUpdate(INSERT_SELISIH_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setInt(1, chunk.get(i).getJumlah());
+                    ps.setString(2, StokMutasi.Alasan.UPDATED.name());
+                    ps.setLong(3, chunk.get(i).getId());
+                    ps.setInt(4, chunk.get(i).getJumlah());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            });
+        }
+    }
+
+    // snapshot terakhir barang yang seluruh mutasinya terjadi pada atau sebelum pada
+    public Optional<StokSnapshot> findSnapshot(long barangId, LocalDateTime pada) {
+        return jdbcTemplate.query("select seq, barang_id, jumlah, waktu from tbl_stok_snapshot "
+                + "where barang_id = ? and waktu <= ? order by seq desc limit 1",
+                (rs, rowNum) -> {
+                    StokSnapshot snapshot = new StokSnapshot();
+                    snapshot.setSeq(rs.getLong("seq"));
+                    snapshot.setBarangId(rs.getLong("barang_id"));
+                    snapshot.setJumlah(rs.getInt("jumlah"));
+                    snapshot.setWaktu(rs.getObject("waktu", LocalDateTime.class));
+                    return snapshot;
+                }, barangId, pada).stream().findFirst();
+    }
+
+    // total delta mutasi setelah afterSeq sampai waktu pada (ekor setelah snapshot)
+    public long sumDelta(long barangId, long afterSeq, LocalDateTime pada) {
+        return jdbcTemplate.queryForObject("select coalesce(sum(delta), 0) from tbl_stok_mutasi "
+                + "where barang_id = ? and seq > ? and waktu <= ?", Long.class, barangId, afterSeq, pada);
+    }
+
+    // mutasi setelah afterSeq yang terjadi sesudah waktu sejak, urut seq
+    public List<StokMutasi> findMutasi(long barangId, long afterSeq, LocalDateTime sejak, int limit) {
+        return jdbcTemplate.query("select " + MUTASI_COLUMNS + " from tbl_stok_mutasi "
+                + "where barang_id = ? and seq > ? and waktu > ? order by seq limit ?",
+                StockLedgerRepo::mapMutasi, barangId, afterSeq, sejak, limit);
+    }
+
+    public boolean existsByBarangId(long barangId) {
+        return !jdbcTemplate.queryForList("select seq from tbl_stok_mutasi where barang_id = ? limit 1", Long.class,
+                barangId).isEmpty();
+    }
+
+    // membuat snapshot untuk mutasi yang lebih tua dari lag (transaksi yang menulisnya dianggap sudah commit).
+    // Batas bawah = seq snapshot terbesar, yaitu batas atas snapshot sebelumnya. Mengembalikan jumlah baris
+    public int createSnapshots(Duration lag) {
+        long fromSeq = jdbcTemplate.queryForObject("select coalesce(max(seq), 0) from tbl_stok_snapshot", Long.class);
+        long toSeq = jdbcTemplate.queryForObject("select coalesce(max(seq), 0) from tbl_stok_mutasi "
+                + "where waktu < timestampadd(microsecond, ?, current_timestamp(6))", Long.class,
+                -lag.toNanos() / 1000);
+        if (toSeq <= fromSeq) {
+            return 0;
+        }
+        return jdbcTemplate.update(SNAPSHOT_SQL, fromSeq, toSeq);
+    }
+
+    private static StokMutasi mapMutasi(ResultSet rs, int rowNum) throws SQLException {
+        StokMutasi mutasi = new StokMutasi(rs.getLong("barang_id"), rs.getInt("delta"),
+                StokMutasi.Alasan.valueOf(rs.getString("alasan")));
+        mutasi.setSeq(rs.getLong("seq"));
+        mutasi.setWaktu(rs.getObject("waktu", LocalDateTime.class));
+        return mutasi;
+    }
+}
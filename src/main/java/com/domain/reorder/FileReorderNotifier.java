@@ -0,0 +1,38 @@
+package com.domain.reorder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// notifier pengganti lokal: satu baris JSON per notifikasi (NDJSON) ditambahkan ke barang.reorder.notifier.file
+@Component
+@ConditionalOnProperty("barang.reorder.notifier.file")
+public class FileReorderNotifier implements ReorderNotifier {
+
+    @Value("${barang.reorder.notifier.file}")
+    private Path file;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public synchronized void send(ReorderAlert alert) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        byte[] line = objectMapper.writeValueAsBytes(alert);
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(line);
+            out.write('\n');
+        }
+    }
+}
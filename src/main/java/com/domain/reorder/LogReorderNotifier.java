@@ -0,0 +1,23 @@
+package com.domain.reorder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// notifier pengganti lokal: menulis notifikasi ke logger com.domain.reorder.ALERT
+@Component
+public class LogReorderNotifier implements ReorderNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger("com.domain.reorder.ALERT");
+
+    @Override
+    public void send(ReorderAlert alert) {
+        if (alert.getType() == ReorderAlert.Type.BELOW) {
+            log.warn("Stok menipis: barang {} ({}) jumlah {} <= batas {}", alert.getBarang().getId(),
+                    alert.getBarang().getNama(), alert.getBarang().getJumlah(), alert.getBarang().getBatasStok());
+        } else {
+            log.info("Stok pulih: barang {} ({}) jumlah {} > batas {}", alert.getBarang().getId(),
+                    alert.getBarang().getNama(), alert.getBarang().getJumlah(), alert.getBarang().getBatasStok());
+        }
+    }
+}
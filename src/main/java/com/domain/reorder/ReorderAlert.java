@@ -0,0 +1,40 @@
+package com.domain.reorder;
+
+import java.time.LocalDateTime;
+
+import com.domain.dto.LowStockItem;
+
+// notifikasi perubahan keadaan stok barang terhadap titik reorder-nya
+public class ReorderAlert {
+
+    public enum Type {
+        // jumlah turun sampai batasStok atau lebih rendah
+        BELOW,
+        // jumlah kembali di atas batasStok
+        RECOVERED
+    }
+
+    private final Type type;
+
+    private final LowStockItem barang;
+
+    private final LocalDateTime waktu;
+
+    public ReorderAlert(Type type, LowStockItem barang, LocalDateTime waktu) {
+        this.type = type;
+        this.barang = barang;
+        this.waktu = waktu;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public LowStockItem getBarang() {
+        return barang;
+    }
+
+    public LocalDateTime getWaktu() {
+        return waktu;
+    }
+}
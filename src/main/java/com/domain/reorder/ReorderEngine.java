@@ -0,0 +1,292 @@
+package com.domain.reorder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.domain.dto.LowStockItem;
+import com.domain.events.BarangChangedEvent;
+import com.domain.models.entity.Barang;
+import com.domain.models.repos.BarangRepo;
+import com.domain.models.repos.ShardedBarangRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// daftar stok menipis (jumlah <= batasStok) yang diperbarui per perubahan, tanpa scan tabel berkala.
+//
+// tracked : id -> kondisi terakhir, hanya barang yang punya batasStok
+// below   : barang yang sedang menipis, urut id (ConcurrentSkipListMap), sehingga
+//           GET /api/barang/stok-menipis membaca hasilnya saja, dimulai dari afterId
+// Setiap BarangChangedEvent setelah commit (create, update, adjust, delete, juga dari batch, import dan
+// write-behind) mengevaluasi satu barang saja. Diisi sekali saat aplikasi siap dari barang yang punya batasStok.
+// Event bisa tiba tidak berurutan: event dengan versi yang tidak lebih baru dari kondisi tersimpan diabaikan, dan
+// ADJUSTED yang melompati versi (UPDATE di antaranya belum tiba) memicu pembacaan ulang barang dari database.
+//
+// Notifikasi (ReorderNotifier) memakai debounce: perubahan keadaan baru dikirim setelah tidak berubah selama
+// barang.reorder.debounce, dan hanya jika berbeda dari keadaan terakhir yang dinotifikasi. Barang yang
+// bolak-balik di sekitar batas hanya menghasilkan satu notifikasi, atau tidak sama sekali jika akhirnya kembali
+// ke keadaan semula. Barang yang sudah menipis saat aplikasi start dianggap sudah dinotifikasi.
+@Component
+public class ReorderEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ReorderEngine.class);
+
+    @Value("${barang.reorder.debounce:30s}")
+    private Duration debounce;
+
+    @Autowired
+    private BarangRepo barangRepo;
+
+    @Autowired(required = false)
+    private ShardedBarangRepo shardedBarangRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private List<ReorderNotifier> notifiers;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, LowStockItem> tracked = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<Long, LowStockItem> below = new ConcurrentSkipListMap<>();
+
+    // keadaan yang menunggu debounce selesai, dan barang yang terakhir dinotifikasi BELOW
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    private final Set<Long> notifiedBelow = ConcurrentHashMap.newKeySet();
+
+    // id yang dihapus selama load awal, agar baris lama tidak dimasukkan lagi
+    private final Set<Long> removedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    // id yang di-adjust selama load awal sebelum dimuat: jumlah baru tidak bisa diterapkan tanpa baris lengkapnya,
+    // dan baris dari load mungkin dibaca sebelum adjust itu -> dibaca ulang setelah load
+    private final Set<Long> adjustedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loading;
+
+    private ScheduledExecutorService scheduler;
+
+    private record Pending(boolean menipis, long dueNanos) {
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "barang-reorder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("barang.reorder.below", below, Map::size)
+                .description("Jumlah barang dengan stok di bawah atau sama dengan batas stok")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        loading = true;
+        List<Barang> rows = shardedBarangRepo != null
+                ? shardedBarangRepo.findAll().stream().filter(barang -> barang.getBatasStok() != null).toList()
+                : transactionTemplate.execute(status -> barangRepo.findByBatasStokNotNull());
+        for (Barang barang : rows) {
+            putFromLoad(barang);
+        }
+        loading = false;
+        removedDuringLoad.clear();
+        for (Long id : adjustedDuringLoad) {
+            adjustedDuringLoad.remove(id);
+            reload(id);
+        }
+        log.info("Daftar stok menipis siap: {} dari {} barang dengan batas stok dalam {} ms", below.size(),
+                tracked.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBarangChanged(BarangChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED, UPDATED -> apply(event.getBarang());
+            case ADJUSTED -> update(event.getId(), current -> {
+                if (current == null && loading) {
+                    adjustedDuringLoad.add(event.getId());
+                }
+                if (current == null || event.getVersi() <= current.getVersi()) {
+                    return null;
+                }
+                if (event.getVersi() > current.getVersi() + 1) {
+                    scheduler.execute(() -> reload(event.getId()));
+                }
+                return new LowStockItem(current.getId(), current.getNama(), current.getNomorSeri(),
+                        event.getJumlah(), current.getBatasStok(), event.getVersi());
+            });
+            case DELETED -> {
+                if (loading) {
+                    removedDuringLoad.add(event.getId());
+                }
+                untrack(event.getId());
+            }
+        }
+    }
+
+    // barang menipis dengan id > afterId, urut id
+    public List<LowStockItem> findBelow(long afterId, int limit) {
+        return below.tailMap(afterId, false).values().stream().limit(limit).toList();
+    }
+
+    public boolean isBelow(long id) {
+        return below.containsKey(id);
+    }
+
+    private void apply(Barang barang) {
+        if (barang.getBatasStok() == null || barang.getJumlah() == null) {
+            untrack(barang.getId(), barang.getVersi());
+        } else {
+            update(barang.getId(), current -> current != null && barang.getVersi() <= current.getVersi() ? null
+                    : new LowStockItem(barang.getId(), barang.getNama(), barang.getNomorSeri(), barang.getJumlah(),
+                            barang.getBatasStok(), barang.getVersi()));
+        }
+    }
+
+    // dijalankan di thread scheduler, di luar transaksi yang memicu event
+    private void reload(long id) {
+        try {
+            Optional<Barang> barang = shardedBarangRepo != null ? shardedBarangRepo.findById(id)
+                    : transactionTemplate.execute(status -> barangRepo.findById(id));
+            if (barang.isPresent()) {
+                apply(barang.get());
+            } else {
+                untrack(id);
+            }
+        } catch (Exception e) {
+            log.warn("Gagal membaca ulang barang {} untuk daftar stok menipis", id, e);
+        }
+    }
+
+    // baris hasil load bisa lebih lama daripada event yang sudah diterima selama load
+    private void putFromLoad(Barang barang) {
+        if (removedDuringLoad.contains(barang.getId()) || barang.getJumlah() == null) {
+            return;
+        }
+        LowStockItem item = new LowStockItem(barang.getId(), barang.getNama(), barang.getNomorSeri(),
+                barang.getJumlah(), barang.getBatasStok(), barang.getVersi());
+        if (tracked.putIfAbsent(item.getId(), item) == null && item.isMenipis()) {
+            below.put(item.getId(), item);
+            notifiedBelow.add(item.getId());
+        }
+    }
+
+    // compute per id: perubahan untuk barang yang sama dievaluasi berurutan
+    private void update(long id, UnaryOperator<LowStockItem> change) {
+        tracked.compute(id, (key, current) -> {
+            LowStockItem next = change.apply(current);
+            if (next == null) {
+                return current;
+            }
+            if (next.isMenipis()) {
+                below.put(id, next);
+            } else {
+                below.remove(id);
+            }
+            if (current == null ? next.isMenipis() : current.isMenipis() != next.isMenipis()) {
+                schedule(id, next.isMenipis());
+            }
+            return next;
+        });
+    }
+
+    // batas stok dihapus atau barang dihapus: keluar dari daftar tanpa notifikasi
+    private void untrack(long id) {
+        untrack(id, Long.MAX_VALUE);
+    }
+
+    // hanya jika kondisi tersimpan lebih lama daripada versi perubahan yang menghapus batas stok
+    private void untrack(long id, long versi) {
+        tracked.compute(id, (key, current) -> {
+            if (current != null && versi <= current.getVersi()) {
+                return current;
+            }
+            below.remove(id);
+            pending.remove(id);
+            notifiedBelow.remove(id);
+            return null;
+        });
+    }
+
+    private void schedule(long id, boolean menipis) {
+        Pending previous = pending.put(id, new Pending(menipis, System.nanoTime() + debounce.toNanos()));
+        if (previous == null) {
+            scheduler.schedule(() -> fire(id), debounce.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void fire(long id) {
+        Pending next = pending.get(id);
+        if (next == null) {
+            return;
+        }
+        long remaining = next.dueNanos() - System.nanoTime();
+        if (remaining > 0) {
+            // keadaan berubah lagi selama debounce
+            scheduler.schedule(() -> fire(id), remaining, TimeUnit.NANOSECONDS);
+            return;
+        }
+        if (!pending.remove(id, next)) {
+            fire(id);
+            return;
+        }
+        LowStockItem item = tracked.get(id);
+        if (item == null || next.menipis() == notifiedBelow.contains(id)) {
+            return;
+        }
+        if (next.menipis()) {
+            notifiedBelow.add(id);
+        } else {
+            notifiedBelow.remove(id);
+        }
+        send(new ReorderAlert(next.menipis() ? ReorderAlert.Type.BELOW : ReorderAlert.Type.RECOVERED, item,
+                LocalDateTime.now()));
+    }
+
+    private void send(ReorderAlert alert) {
+        Counter.builder("barang.reorder.alerts").tag("type", alert.getType().name().toLowerCase())
+                .description("Notifikasi reorder yang dikirim").register(meterRegistry).increment();
+        for (ReorderNotifier notifier : notifiers) {
+            try {
+                notifier.send(alert);
+            } catch (Exception e) {
+                log.error("Notifikasi reorder barang {} lewat {} gagal", alert.getBarang().getId(),
+                        notifier.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
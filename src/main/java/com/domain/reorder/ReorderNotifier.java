@@ -0,0 +1,8 @@
+package com.domain.reorder;
+
+// tujuan notifikasi reorder (email, chat, sistem pembelian, ...). Semua bean ReorderNotifier dipanggil
+// ReorderEngine dari thread barang-reorder; exception dicatat di log dan tidak menghentikan notifier lain
+public interface ReorderNotifier {
+
+    void send(ReorderAlert alert) throws Exception;
+}
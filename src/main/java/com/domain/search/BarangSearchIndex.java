@@ -0,0 +1,267 @@
+package com.domain.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.domain.dto.SearchHit;
+import com.domain.events.BarangChangedEvent;
+import com.domain.models.entity.Barang;
+import com.domain.models.repos.BarangRepo;
+import com.domain.models.repos.ShardedBarangRepo;
+
+import jakarta.persistence.EntityManager;
+
+// index pencarian di memori untuk nama dan nomor seri barang.
+//
+// prefix  : ConcurrentSkipListMap berisi "token \0 id" untuk setiap kata nama dan nomor seri,
+//           sehingga pencarian awalan (typeahead) cukup membaca satu rentang kunci yang terurut
+// trigram : potongan 3 huruf -> id, untuk pencarian di tengah kata (pengganti LIKE '%x%')
+//
+// Hasil diurutkan: kecocokan awalan terlebih dahulu (urut leksikografis), lalu kecocokan di tengah kata.
+// Index dibangun saat aplikasi siap dan diperbarui dari BarangChangedEvent setelah commit.
+@Component
+public class BarangSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BarangSearchIndex.class);
+
+    private static final char SEPARATOR = '\u0000';
+
+    @Value("${barang.search.index.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private BarangRepo barangRepo;
+
+    // mode sharding: dibaca dari semua shard
+    @Autowired(required = false)
+    private ShardedBarangRepo shardedBarangRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final Map<Long, Doc> docs = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<String, Long> prefix = new ConcurrentSkipListMap<>();
+
+    private final Map<String, Set<Long>> trigrams = new ConcurrentHashMap<>();
+
+    // id yang dihapus selama index sedang dibangun, agar baris lama dari stream tidak dimasukkan lagi
+    private final Set<Long> removedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean building;
+
+    private volatile boolean ready;
+
+    private record Doc(long id, String nama, String nomorSeri, String namaLower, String nomorSeriLower) {
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(this::buildNow, "barang-search-index");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    void buildNow() {
+        long start = System.nanoTime();
+        building = true;
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Barang> rows = shardedBarangRepo != null ? shardedBarangRepo.streamAll()
+                    : barangRepo.streamAll()) {
+                Iterator<Barang> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    Barang barang = iterator.next();
+                    putFromBuild(barang);
+                    if (shardedBarangRepo == null) {
+                        entityManager.detach(barang);
+                    }
+                }
+            }
+        });
+        building = false;
+        removedDuringBuild.clear();
+        ready = true;
+        log.info("Index pencarian barang siap: {} barang dalam {} ms", docs.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBarangChanged(BarangChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED, UPDATED -> put(event.getBarang());
+            case DELETED -> {
+                if (building) {
+                    removedDuringBuild.add(event.getId());
+                }
+                remove(event.getId());
+            }
+            default -> {
+                // ADJUSTED tidak mengubah nama maupun nomor seri
+            }
+        }
+    }
+
+    // baris dari stream bisa lebih lama daripada event yang sudah diterima selama build
+    private synchronized void putFromBuild(Barang barang) {
+        if (!removedDuringBuild.contains(barang.getId()) && !docs.containsKey(barang.getId())) {
+            put(barang);
+        }
+    }
+
+    public synchronized void put(Barang barang) {
+        remove(barang.getId());
+        Doc doc = new Doc(barang.getId(), barang.getNama(), barang.getNomorSeri(),
+                normalize(barang.getNama()), normalize(barang.getNomorSeri()));
+        docs.put(doc.id(), doc);
+        for (String token : tokens(doc)) {
+            prefix.put(token + SEPARATOR + doc.id(), doc.id());
+            for (String gram : trigramsOf(token)) {
+                trigrams.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(doc.id());
+            }
+        }
+    }
+
+    public synchronized void remove(long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        for (String token : tokens(doc)) {
+            prefix.remove(token + SEPARATOR + id);
+            for (String gram : trigramsOf(token)) {
+                Set<Long> ids = trigrams.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        trigrams.remove(gram, ids);
+                    }
+                }
+            }
+        }
+    }
+
+    // pencarian dengan offset/limit; query dinormalisasi menjadi huruf kecil
+    public List<SearchHit> search(String query, int offset, int limit) {
+        String q = normalize(query);
+        int wanted = offset + limit;
+        LinkedHashSet<Long> ids = new LinkedHashSet<>();
+
+        // 1. awalan kata / nomor seri
+        for (Long id : prefix.subMap(q, true, q + Character.MAX_VALUE, false).values()) {
+            ids.add(id);
+            if (ids.size() >= wanted) {
+                break;
+            }
+        }
+
+        // 2. di tengah kata (hanya untuk query >= 3 karakter)
+        if (ids.size() < wanted && q.length() >= 3) {
+            List<Doc> infix = new ArrayList<>();
+            for (Long id : trigramCandidates(q)) {
+                Doc doc = docs.get(id);
+                if (doc != null && !ids.contains(id)
+                        && (doc.namaLower().contains(q) || doc.nomorSeriLower().contains(q))) {
+                    infix.add(doc);
+                }
+            }
+            infix.sort(Comparator.comparing(Doc::namaLower));
+            for (Doc doc : infix) {
+                ids.add(doc.id());
+                if (ids.size() >= wanted) {
+                    break;
+                }
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(limit);
+        int index = 0;
+        for (Long id : ids) {
+            Doc doc = docs.get(id);
+            if (index++ >= offset && doc != null) {
+                hits.add(new SearchHit(doc.id(), doc.nama(), doc.nomorSeri()));
+            }
+        }
+        return hits;
+    }
+
+    public int size() {
+        return docs.size();
+    }
+
+    // irisan daftar id dari setiap trigram query, dimulai dari daftar terkecil
+    private Set<Long> trigramCandidates(String q) {
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String gram : trigramsOf(q)) {
+            Set<Long> ids = trigrams.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            postings.add(ids);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.retainAll(postings.get(i));
+        }
+        return result;
+    }
+
+    private static Set<String> tokens(Doc doc) {
+        Set<String> tokens = new HashSet<>();
+        for (String word : doc.namaLower().split(" ")) {
+            if (!word.isEmpty()) {
+                tokens.add(word);
+            }
+        }
+        // nama lengkap juga dimasukkan agar query dengan spasi tetap cocok sebagai awalan
+        tokens.add(doc.namaLower());
+        tokens.add(doc.nomorSeriLower());
+        return tokens;
+    }
+
+    private static Set<String> trigramsOf(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,372 @@
+package com.domain.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.domain.dto.BatchItemResult;
+import com.domain.dto.BatchResponse;
+import com.domain.dto.ImportRejectedRow;
+import com.domain.dto.ImportResponse;
+import com.domain.models.entity.Barang;
+import com.domain.validation.BarangValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// import massal (stok awal) dari CSV atau NDJSON yang dibaca langsung dari body request, tanpa ditampung.
+//
+// Pipeline:
+// 1. thread request membaca baris dan mengelompokkannya per commit-size baris
+// 2. parsing dan validasi tiap kelompok dikerjakan paralel oleh pool barang-import
+// 3. kelompok yang sudah divalidasi diambil kembali sesuai urutan file, duplikat nama/nomor seri di dalam
+//    file dibuang dengan HashSet, lalu sisanya ditulis lewat BarangService.saveBatch
+//    (satu transaksi + JDBC batch per kelompok, keunikan terhadap database dicek dengan query IN).
+// Jumlah kelompok yang sedang divalidasi dibatasi (parallelism + 1) sehingga memori tetap konstan.
+//
+// Kelompok yang sudah di-commit tidak dibatalkan jika import berhenti di tengah jalan (mis. koneksi putus);
+// baris yang sudah masuk akan ditolak sebagai duplikat jika file yang sama diimport ulang.
+@Service
+public class BarangImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BarangImportService.class);
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    static final String KOLOM_CSV_TIDAK_VALID = "Baris CSV harus berisi kolom nama, jumlah dan nomorSeri.";
+
+    static final String JSON_TIDAK_VALID = "Baris bukan JSON barang yang valid.";
+
+    @Value("${barang.import.commit-size:5000}")
+    private int defaultCommitSize;
+
+    @Value("${barang.batch.max-size:50000}")
+    private int maxCommitSize;
+
+    // 0 -> jumlah prosesor
+    @Value("${barang.import.parallelism:0}")
+    private int parallelism;
+
+    @Value("${barang.import.max-reported-rejections:1000}")
+    private int maxReportedRejections;
+
+    @Autowired
+    private BarangService barangService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ExecutorService pool;
+
+    private Counter importedCounter;
+
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void start() {
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "barang-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        importedCounter = Counter.builder("barang.import.rows").tag("result", "imported")
+                .description("Baris import yang berhasil ditulis").register(meterRegistry);
+        rejectedCounter = Counter.builder("barang.import.rows").tag("result", "rejected")
+                .description("Baris import yang ditolak").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // commitSize null -> barang.import.commit-size, dibatasi barang.batch.max-size
+    public ImportResponse importBarang(InputStream in, Format format, Integer commitSize) throws IOException {
+        barangService.requireUnsharded();
+        int chunkSize = commitSize == null ? defaultCommitSize : Math.max(1, Math.min(commitSize, maxCommitSize));
+        long start = System.nanoTime();
+        ImportState state = new ImportState();
+        ArrayDeque<Future<List<ImportRow>>> inFlight = new ArrayDeque<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        try {
+            int[] columns = null;
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && columns == null) {
+                    columns = csvColumns(line);
+                    if (columns != null) {
+                        continue;
+                    }
+                    columns = new int[] { 0, 1, 2 };
+                }
+                chunk.add(new ImportRow(lineNumber, line));
+
+                if (chunk.size() == chunkSize) {
+                    inFlight.add(submit(chunk, format, columns));
+                    chunk = new ArrayList<>(chunkSize);
+                    // backpressure: tunggu kelompok tertua selesai divalidasi lalu tulis
+                    if (inFlight.size() > parallelism) {
+                        write(inFlight.poll(), state);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                inFlight.add(submit(chunk, format, columns));
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.poll(), state);
+            }
+        } finally {
+            for (Future<List<ImportRow>> pending : inFlight) {
+                pending.cancel(true);
+            }
+        }
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Import barang selesai: {} baris, {} berhasil, {} ditolak dalam {} ms", state.processed,
+                state.imported, state.rejected, durationMillis);
+        return new ImportResponse(state.processed, state.imported, state.rejected, durationMillis,
+                state.rejectedRows);
+    }
+
+    private Future<List<ImportRow>> submit(List<ImportRow> chunk, Format format, int[] columns) {
+        return pool.submit(() -> {
+            for (ImportRow row : chunk) {
+                parse(row, format, columns);
+            }
+            return chunk;
+        });
+    }
+
+    // dijalankan di pool: mengisi row.barang, atau row.message jika baris tidak valid
+    private void parse(ImportRow row, Format format, int[] columns) {
+        Barang barang;
+        if (format == Format.NDJSON) {
+            try {
+                barang = objectMapper.readValue(row.raw, Barang.class);
+            } catch (JsonProcessingException e) {
+                row.message = JSON_TIDAK_VALID;
+                return;
+            }
+            if (barang == null) {
+                row.message = JSON_TIDAK_VALID;
+                return;
+            }
+            // import selalu membuat barang baru
+            barang.setId(0L);
+        } else {
+            List<String> fields = splitCsv(row.raw);
+            if (fields.size() <= Math.max(columns[0], Math.max(columns[1], columns[2]))) {
+                row.message = KOLOM_CSV_TIDAK_VALID;
+                return;
+            }
+            Integer jumlah;
+            try {
+                jumlah = Integer.valueOf(fields.get(columns[1]).trim());
+            } catch (NumberFormatException e) {
+                row.message = BarangValidator.JUMLAH_TIDAK_VALID;
+                return;
+            }
+            barang = new Barang(0L, fields.get(columns[0]).trim(), jumlah, fields.get(columns[2]).trim());
+        }
+        row.message = BarangValidator.validate(barang);
+        row.raw = null;
+        if (row.message == null) {
+            row.barang = barang;
+        }
+    }
+
+    // dijalankan di thread request sesuai urutan file
+    private void write(Future<List<ImportRow>> future, ImportState state) throws IOException {
+        List<ImportRow> chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import barang dibatalkan.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Validasi import barang gagal.", e.getCause());
+        }
+
+        long importedBefore = state.imported;
+        long rejectedBefore = state.rejected;
+        int reportedBefore = state.rejectedRows.size();
+        List<ImportRow> rows = new ArrayList<>(chunk.size());
+        List<Barang> barangs = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            state.processed++;
+            if (row.message != null) {
+                state.reject(row.line, row.message);
+            } else if (state.nama.contains(row.barang.getNama())) {
+                state.reject(row.line, "Nama barang sudah digunakan.");
+            } else if (state.nomorSeri.contains(row.barang.getNomorSeri())) {
+                state.reject(row.line, "Nomor seri sudah digunakan.");
+            } else {
+                state.nama.add(row.barang.getNama());
+                state.nomorSeri.add(row.barang.getNomorSeri());
+                rows.add(row);
+                barangs.add(row.barang);
+            }
+        }
+
+        if (!barangs.isEmpty()) {
+            try {
+                BatchResponse response = barangService.saveBatch(barangs);
+                for (BatchItemResult result : response.getResults()) {
+                    if (result.getMessage() != null) {
+                        state.reject(rows.get(result.getIndex()).line, result.getMessage());
+                    } else {
+                        state.imported++;
+                    }
+                }
+            } catch (ResponseStatusException e) {
+                // bentrok unique constraint dengan request lain -> seluruh kelompok di-rollback
+                for (ImportRow row : rows) {
+                    state.reject(row.line, e.getReason());
+                }
+            }
+        }
+
+        // penolakan dari saveBatch dicatat belakangan; urutkan kembali sesuai nomor baris
+        state.rejectedRows.subList(reportedBefore, state.rejectedRows.size())
+                .sort(Comparator.comparingLong(ImportRejectedRow::getLine));
+
+        importedCounter.increment(state.imported - importedBefore);
+        rejectedCounter.increment(state.rejected - rejectedBefore);
+        log.info("Import barang: {} baris diproses, {} berhasil, {} ditolak", state.processed, state.imported,
+                state.rejected);
+    }
+
+    // header CSV -> posisi kolom nama, jumlah, nomorSeri; null jika baris pertama bukan header
+    static int[] csvColumns(String line) {
+        List<String> fields = splitCsv(line);
+        int[] columns = { -1, -1, -1 };
+        for (int i = 0; i < fields.size(); i++) {
+            String name = fields.get(i).trim().toLowerCase().replace("_", "");
+            if (name.equals("nama")) {
+                columns[0] = i;
+            } else if (name.equals("jumlah")) {
+                columns[1] = i;
+            } else if (name.equals("nomorseri")) {
+                columns[2] = i;
+            }
+        }
+        if (columns[0] < 0 && columns[1] < 0 && columns[2] < 0) {
+            return null;
+        }
+        if (columns[0] < 0 || columns[1] < 0 || columns[2] < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, KOLOM_CSV_TIDAK_VALID);
+        }
+        return columns;
+    }
+
+    // satu baris CSV (RFC 4180 tanpa baris baru di dalam tanda kutip)
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static final class ImportRow {
+
+        private final long line;
+
+        private String raw;
+
+        private Barang barang;
+
+        private String message;
+
+        private ImportRow(long line, String raw) {
+            this.line = line;
+            this.raw = raw;
+        }
+    }
+
+    // hanya diakses oleh thread request
+    private final class ImportState {
+
+        private final Set<String> nama = new HashSet<>();
+
+        private final Set<String> nomorSeri = new HashSet<>();
+
+        private final List<ImportRejectedRow> rejectedRows = new ArrayList<>();
+
+        private long processed;
+
+        private long imported;
+
+        private long rejected;
+
+        private void reject(long line, String message) {
+            rejected++;
+            if (rejectedRows.size() < maxReportedRejections) {
+                rejectedRows.add(new ImportRejectedRow(line, message));
+            }
+        }
+    }
+}
@@ -1,126 +1,671 @@
 package com.domain.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.domain.cache.BarangCache;
+import com.domain.cache.BarangSingleFlight;
+import com.domain.dto.BarangPage;
+import com.domain.dto.BatchItemResult;
+import com.domain.dto.BatchResponse;
+import com.domain.dto.SearchHit;
+import com.domain.dto.StockAdjustment;
+import com.domain.events.BarangChangedEvent;
+import com.domain.ledger.StockLedger;
 import com.domain.models.entity.Barang;
+import com.domain.models.entity.StokMutasi;
+import com.domain.models.repos.BarangBatchRepo;
 import com.domain.models.repos.BarangRepo;
+import com.domain.models.repos.GudangRepo;
+import com.domain.models.repos.ShardedBarangRepo;
+import com.domain.search.BarangSearchIndex;
+import com.domain.snapshot.BarangSnapshot;
+import com.domain.validation.BarangValidator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 
+import jakarta.persistence.EntityManager;
+
+// default read-write (primary); method baca ditandai readOnly sehingga bisa dilayani replika
+// (lihat ReadReplicaConfig)
 @Service
 @Transactional
+// waktu eksekusi setiap method -> barang.service{class, method}
+@Timed(value = "barang.service", histogram = true)
 public class BarangService {
 
+    static final String JUMLAH_KURANG_DARI_GUDANG = "Jumlah barang tidak boleh lebih kecil dari stok di gudang.";
+
     @Autowired
     private BarangRepo barangRepo;
 
+    @Autowired
+    private BarangBatchRepo barangBatchRepo;
+
+    // hanya ada jika barang.sharding.enabled=true; semua baca/tulis barang lalu memakai shard, kecuali batch
+    // dan import (id IDENTITY, keunikan dicek set-based di satu database) yang ditolak dengan 501
+    @Autowired(required = false)
+    private ShardedBarangRepo shardedBarangRepo;
+
+    @Autowired
+    private BarangCache barangCache;
+
+    @Autowired
+    private StockWriteBehind stockWriteBehind;
+
+    @Autowired
+    private BarangSearchIndex searchIndex;
+
+    @Autowired
+    private BarangSnapshot barangSnapshot;
+
+    @Autowired
+    private BarangSingleFlight singleFlight;
+
+    // setiap perubahan jumlah dicatat di ledger mutasi stok dalam transaksi yang sama
+    @Autowired
+    private StockLedger stockLedger;
+
+    // stok per gudang milik barang dilepas sebelum barang dihapus (lihat GudangService)
+    @Autowired
+    private GudangRepo gudangRepo;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     public Barang save(Barang barang) throws Exception {
         validateBarang(barang);
-        return barangRepo.save(barang);
+        try {
+            if (shardedBarangRepo != null) {
+                return saveSharded(barang);
+            }
+            Barang savedBarang = barangRepo.saveAndFlush(barang);
+            stockLedger.record(savedBarang.getId(), savedBarang.getJumlah(), StokMutasi.Alasan.CREATED);
+            eventPublisher.publishEvent(BarangChangedEvent.created(savedBarang));
+            return savedBarang;
+        } catch (DataIntegrityViolationException e) {
+            throw toResponseStatus(e);
+        }
     }
 
     // UPDATE
     public Barang update(Long id, Barang updatedBarang) throws Exception {
+        return update(id, updatedBarang, null);
+    }
+
+    // UPDATE dengan optimistic concurrency: expectedVersi (dari If-Match) harus sama dengan versi di database
+    public Barang update(Long id, Barang updatedBarang, Long expectedVersi) throws Exception {
+        if (shardedBarangRepo != null) {
+            return updateSharded(id, updatedBarang, expectedVersi);
+        }
         Optional<Barang> existingBarang = barangRepo.findById(id);
         if (existingBarang.isPresent()) {
             Barang barangToUpdate = existingBarang.get();
 
+            if (expectedVersi != null && expectedVersi != barangToUpdate.getVersi()) {
+                throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                        "Barang dengan ID " + id + " sudah diubah oleh request lain.");
+            }
+
             // Validasi barang sebelum update
             validateBarang(updatedBarang);
+            if (updatedBarang.getJumlah() < barangToUpdate.getJumlahGudang()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, JUMLAH_KURANG_DARI_GUDANG);
+            }
 
             // Copy the updated details into the existing entity
+            // (jumlah lama aman dipakai untuk delta ledger: perubahan bersamaan digagalkan oleh @Version)
+            int jumlahLama = jumlahOf(barangToUpdate);
             barangToUpdate.setNama(updatedBarang.getNama());
             barangToUpdate.setJumlah(updatedBarang.getJumlah());
             barangToUpdate.setNomorSeri(updatedBarang.getNomorSeri());
+            barangToUpdate.setBatasStok(updatedBarang.getBatasStok());
 
-            return barangRepo.save(barangToUpdate);
+            // flush di sini agar pelanggaran unique constraint muncul sebagai 400, bukan saat commit.
+            // Request lain yang commit di antara findById dan flush -> @Version gagal -> 412/409
+            try {
+                Barang savedBarang = barangRepo.saveAndFlush(barangToUpdate);
+                stockLedger.record(id, savedBarang.getJumlah() - jumlahLama, StokMutasi.Alasan.UPDATED);
+                eventPublisher.publishEvent(BarangChangedEvent.updated(savedBarang));
+                return savedBarang;
+            } catch (DataIntegrityViolationException e) {
+                throw toResponseStatus(e);
+            } catch (OptimisticLockingFailureException e) {
+                throw concurrentUpdate(id, expectedVersi);
+            }
         } else {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Barang dengan ID " + id + " tidak ditemukan.");
         }
     }
     
-    // method validateBarang
-    private void validateBarang(Barang barang) throws Exception {
-        // Validasi nama barang
-        if (barang.getNama() == null || barang.getNama().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nama barang tidak boleh kosong.");
+    // ADJUST STOK
+    // satu UPDATE bersyarat (jumlah = jumlah + delta) sehingga perubahan stok yang bersamaan tidak saling
+    // menimpa; jumlah baru dibaca di transaksi yang sama (baris masih terkunci oleh UPDATE).
+    // Pada mode write-behind delta hanya diantrikan (setelah barang dan stok dicek) dan jumlah pada respons
+    // bernilai null
+    public StockAdjustment adjustJumlah(Long id, int delta) {
+        if (delta == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Delta tidak boleh 0.");
         }
 
-        // Validasi nomor seri
-        if (barang.getNomorSeri() == null || barang.getNomorSeri().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nomor seri tidak boleh kosong.");
+        // write-behind hanya untuk DataSource utama (flush memakai BarangBatchRepo)
+        if (stockWriteBehind.isEnabled() && shardedBarangRepo == null) {
+            // barang dan stok dicek sebelum 202, agar delta yang diterima tidak dibuang diam-diam saat flush
+            long[] jumlah = gudangRepo.findJumlah(id).orElseThrow(() -> new ResponseStatusException(
+                    HttpStatus.NOT_FOUND, "Barang dengan ID " + id + " tidak ditemukan."));
+            if (!stockWriteBehind.add(id, delta, (int) (jumlah[0] - jumlah[1]))) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Stok barang tidak mencukupi.");
+            }
+            return new StockAdjustment(id, delta, null);
         }
 
-        // Validasi tipe data untuk jumlah (harus integer dan lebih dari 0)
-        if (barang.getJumlah() == null || barang.getJumlah() <= 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "Jumlah tidak boleh kosong dan harus berupa angka yang lebih besar dari 0.");
+        int updated = shardedBarangRepo != null ? shardedBarangRepo.adjustJumlah(id, delta)
+                : barangRepo.adjustJumlah(id, delta);
+        if (updated == 0) {
+            if (findJumlahById(id).isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Barang dengan ID " + id + " tidak ditemukan.");
+            }
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Stok barang tidak mencukupi.");
         }
 
-        // Validasi nama barang (hanya huruf dan spasi)
-        // ^ -> awal string // $ -> akhir dr string
-        if (!barang.getNama().matches("^[a-zA-Z ]+$")) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "Nama barang harus berupa teks dan tidak boleh mengandung angka atau karakter khusus.");
+        long[] stok = findJumlahDanVersiById(id).orElseThrow();
+        int jumlah = (int) stok[0];
+        stockLedger.record(id, delta, StokMutasi.Alasan.ADJUSTED);
+        eventPublisher.publishEvent(BarangChangedEvent.adjusted(id, jumlah, delta, stok[1]));
+        return new StockAdjustment(id, delta, jumlah);
+    }
+
+    // BATCH CREATE/UPDATE
+    // id = 0 -> barang baru, id > 0 -> update barang yang sudah ada.
+    // Validasi dilakukan di memori, keunikan dicek dengan satu query IN untuk semua nama dan nomor seri,
+    // lalu data ditulis dengan JDBC batch per chunk. Item yang gagal tidak menggagalkan item lain, termasuk yang
+    // baru ditolak database (request lain yang bersamaan).
+    public BatchResponse saveBatch(List<Barang> barangs) {
+        requireUnsharded();
+        BatchItemResult[] results = new BatchItemResult[barangs.size()];
+
+        // 1. validasi field + duplikat di dalam payload
+        Map<String, Integer> namaDalamBatch = new HashMap<>();
+        Map<String, Integer> nomorSeriDalamBatch = new HashMap<>();
+        for (int i = 0; i < barangs.size(); i++) {
+            Barang barang = barangs.get(i);
+            String message;
+            if (barang == null) {
+                message = "Barang tidak boleh kosong.";
+            } else if ((message = BarangValidator.validate(barang)) == null) {
+                if (namaDalamBatch.containsKey(barang.getNama())) {
+                    message = "Nama barang sudah digunakan.";
+                } else if (nomorSeriDalamBatch.containsKey(barang.getNomorSeri())) {
+                    message = "Nomor seri sudah digunakan.";
+                } else {
+                    namaDalamBatch.put(barang.getNama(), i);
+                    nomorSeriDalamBatch.put(barang.getNomorSeri(), i);
+                }
+            }
+            if (message != null) {
+                Long id = barang != null && barang.getId() > 0 ? barang.getId() : null;
+                results[i] = new BatchItemResult(i, HttpStatus.BAD_REQUEST.value(), id, message);
+            }
+        }
+
+        // 2. keunikan terhadap database (set-based) dan keberadaan id untuk update
+        Map<String, Long> namaTerpakai = idsBy(barangRepo.findByNamaIn(namaDalamBatch.keySet()), Barang::getNama);
+        Map<String, Long> nomorSeriTerpakai = idsBy(barangRepo.findByNomorSeriIn(nomorSeriDalamBatch.keySet()),
+                Barang::getNomorSeri);
+
+        List<Long> updateIds = new ArrayList<>();
+        for (int i = 0; i < barangs.size(); i++) {
+            if (results[i] == null && barangs.get(i).getId() > 0) {
+                updateIds.add(barangs.get(i).getId());
+            }
+        }
+        Set<Long> existingIds = updateIds.isEmpty() ? Set.of() : barangBatchRepo.findExistingIds(updateIds);
+
+        boolean[] baru = new boolean[barangs.size()];
+        for (int i = 0; i < barangs.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            Barang barang = barangs.get(i);
+            Long pemilikNama = namaTerpakai.get(barang.getNama());
+            Long pemilikNomorSeri = nomorSeriTerpakai.get(barang.getNomorSeri());
+
+            if (barang.getId() > 0 && !existingIds.contains(barang.getId())) {
+                results[i] = new BatchItemResult(i, HttpStatus.NOT_FOUND.value(), barang.getId(),
+                        "Barang dengan ID " + barang.getId() + " tidak ditemukan.");
+            } else if (pemilikNama != null && pemilikNama != barang.getId()) {
+                results[i] = new BatchItemResult(i, HttpStatus.BAD_REQUEST.value(), null,
+                        "Nama barang sudah digunakan.");
+            } else if (pemilikNomorSeri != null && pemilikNomorSeri != barang.getId()) {
+                results[i] = new BatchItemResult(i, HttpStatus.BAD_REQUEST.value(), null,
+                        "Nomor seri sudah digunakan.");
+            } else if (barang.getId() <= 0) {
+                baru[i] = true;
+            }
+        }
+
+        // 3. tulis dengan JDBC batch per chunk, masing-masing di savepoint sendiri (unique constraint tetap menjadi
+        //    pengaman untuk request yang bersamaan). Chunk yang ditolak database dibatalkan sampai savepoint-nya
+        //    lalu ditulis ulang per baris, sehingga hanya baris yang melanggar yang mendapat error
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < barangs.size(); i++) {
+            if (results[i] == null) {
+                pending.add(i);
+            }
+        }
+        for (int from = 0; from < pending.size(); from += BarangBatchRepo.CHUNK_SIZE) {
+            List<Integer> chunk = pending.subList(from, Math.min(from + BarangBatchRepo.CHUNK_SIZE, pending.size()));
+            try {
+                writeBatch(barangs, chunk, baru);
+            } catch (DataIntegrityViolationException e) {
+                for (int i : chunk) {
+                    try {
+                        writeBatch(barangs, List.of(i), baru);
+                    } catch (DataIntegrityViolationException rowError) {
+                        ResponseStatusException rejected = toResponseStatus(rowError);
+                        results[i] = new BatchItemResult(i, rejected.getStatusCode().value(),
+                                baru[i] ? null : barangs.get(i).getId(), rejected.getReason());
+                    }
+                }
+            }
+        }
+        List<Barang> toInsert = new ArrayList<>();
+        List<Barang> toUpdate = new ArrayList<>();
+        for (int i : pending) {
+            if (results[i] == null) {
+                (baru[i] ? toInsert : toUpdate).add(barangs.get(i));
+            }
+        }
+
+        // versi hasil update batch (versi = versi + 1 di database) untuk event; barang baru selalu versi 0
+        toInsert.forEach(barang -> barang.setVersi(0));
+        Map<Long, long[]> stokBaru = toUpdate.isEmpty() ? Map.of()
+                : barangBatchRepo.findJumlahDanVersiByIds(toUpdate.stream().map(Barang::getId).toList());
+        toUpdate.forEach(barang -> {
+            long[] stok = stokBaru.get(barang.getId());
+            if (stok != null) {
+                barang.setVersi(stok[1]);
+            }
+        });
+
+        int failed = 0;
+        for (int i = 0; i < barangs.size(); i++) {
+            if (results[i] != null) {
+                failed++;
+            } else if (baru[i]) {
+                results[i] = new BatchItemResult(i, HttpStatus.CREATED.value(), barangs.get(i).getId(), null);
+                eventPublisher.publishEvent(BarangChangedEvent.created(barangs.get(i)));
+            } else {
+                results[i] = new BatchItemResult(i, HttpStatus.OK.value(), barangs.get(i).getId(), null);
+                eventPublisher.publishEvent(BarangChangedEvent.updated(barangs.get(i)));
+            }
+        }
+        return new BatchResponse(toInsert.size(), toUpdate.size(), failed, List.of(results));
+    }
+
+    // menulis item batch (index ke barangs) di satu savepoint; mutasi ledger ikut di savepoint yang sama, selisih
+    // jumlah update dicatat sebelum jumlah lama ditimpa
+    private void writeBatch(List<Barang> barangs, List<Integer> indexes, boolean[] baru) {
+        List<Barang> inserts = new ArrayList<>();
+        List<Barang> updates = new ArrayList<>();
+        for (int i : indexes) {
+            (baru[i] ? inserts : updates).add(barangs.get(i));
         }
+        barangBatchRepo.inSavepoint(() -> {
+            barangBatchRepo.insertAll(inserts);
+            stockLedger.recordAll(inserts.stream()
+                    .map(barang -> new StokMutasi(barang.getId(), barang.getJumlah(), StokMutasi.Alasan.CREATED))
+                    .toList());
+            stockLedger.recordReplacements(updates);
+            barangBatchRepo.updateAll(updates);
+        });
+    }
 
-        // Validasi nomor seri (hanya huruf dan angka)
-        // ^ -> awal string // + -> mengizinkan 1 atau lebih dari karakter// $ -> akhir
-        // dr string
-        if (!barang.getNomorSeri().matches("^[a-zA-Z0-9]+$")) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "Nomor seri harus berupa teks dan tidak boleh mengandung karakter khusus.");
+    private Optional<long[]> findJumlahDanVersiById(long id) {
+        if (shardedBarangRepo != null) {
+            return shardedBarangRepo.findJumlahDanVersiById(id);
         }
+        return barangRepo.findJumlahDanVersiById(id).stream().findFirst()
+                .map(row -> new long[] { ((Number) row[0]).longValue(), ((Number) row[1]).longValue() });
+    }
 
-        // Cek apakah nama barang sudah ada
-        Optional<Barang> existingNama = barangRepo.findByNama(barang.getNama());
-        if (existingNama.isPresent() && existingNama.get().getId() != barang.getId()) {
+    public void requireUnsharded() {
+        if (shardedBarangRepo != null) {
+            throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED,
+                    "Batch dan import barang tidak tersedia pada mode sharding.");
+        }
+    }
+
+    private Optional<Integer> findJumlahById(long id) {
+        return shardedBarangRepo != null ? shardedBarangRepo.findJumlahById(id) : barangRepo.findJumlahById(id);
+    }
+
+    // SAVE (sharding) -> keunikan nama dicek di semua shard, nomor seri oleh unique constraint shard pemilik
+    private Barang saveSharded(Barang barang) {
+        if (shardedBarangRepo.findIdByNama(barang.getNama()).isPresent()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nama barang sudah digunakan.");
         }
+        Barang savedBarang = shardedBarangRepo.insert(barang);
+        stockLedger.record(savedBarang.getId(), savedBarang.getJumlah(), StokMutasi.Alasan.CREATED);
+        eventPublisher.publishEvent(BarangChangedEvent.created(savedBarang));
+        return savedBarang;
+    }
 
-        // Cek apakah nomor seri sudah ada
-        Optional<Barang> existingNomorSeri = barangRepo.findByNomorSeri(barang.getNomorSeri());
-        if (existingNomorSeri.isPresent() && existingNomorSeri.get().getId() != barang.getId()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nomor seri sudah digunakan.");
+    // UPDATE (sharding) -> versi dicek oleh UPDATE ... where versi = ? di shard
+    private Barang updateSharded(Long id, Barang updatedBarang, Long expectedVersi) {
+        Barang barangToUpdate = shardedBarangRepo.findById(id).orElseThrow(() -> new ResponseStatusException(
+                HttpStatus.NOT_FOUND, "Barang dengan ID " + id + " tidak ditemukan."));
+        if (expectedVersi != null && expectedVersi != barangToUpdate.getVersi()) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "Barang dengan ID " + id + " sudah diubah oleh request lain.");
+        }
+        validateBarang(updatedBarang);
+
+        Optional<Long> pemilikNama = shardedBarangRepo.findIdByNama(updatedBarang.getNama());
+        if (pemilikNama.isPresent() && pemilikNama.get() != (long) id) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nama barang sudah digunakan.");
         }
+
+        String nomorSeriLama = barangToUpdate.getNomorSeri();
+        int jumlahLama = jumlahOf(barangToUpdate);
+        barangToUpdate.setNama(updatedBarang.getNama());
+        barangToUpdate.setJumlah(updatedBarang.getJumlah());
+        barangToUpdate.setNomorSeri(updatedBarang.getNomorSeri());
+        barangToUpdate.setBatasStok(updatedBarang.getBatasStok());
+        try {
+            if (!shardedBarangRepo.update(barangToUpdate, nomorSeriLama)) {
+                throw concurrentUpdate(id, expectedVersi);
+            }
+        } catch (DataIntegrityViolationException e) {
+            throw toResponseStatus(e);
+        }
+        stockLedger.record(id, barangToUpdate.getJumlah() - jumlahLama, StokMutasi.Alasan.UPDATED);
+        eventPublisher.publishEvent(BarangChangedEvent.updated(barangToUpdate));
+        return barangToUpdate;
+    }
+
+    // update kalah balapan dengan request lain setelah versi dicek: 412 jika klien mengirim If-Match,
+    // 409 untuk PUT biasa
+    private static ResponseStatusException concurrentUpdate(Long id, Long expectedVersi) {
+        return new ResponseStatusException(expectedVersi != null ? HttpStatus.PRECONDITION_FAILED
+                : HttpStatus.CONFLICT, "Barang dengan ID " + id + " sudah diubah oleh request lain.");
+    }
+
+    private static int jumlahOf(Barang barang) {
+        return barang.getJumlah() == null ? 0 : barang.getJumlah();
+    }
+
+    private static Map<String, Long> idsBy(Collection<Barang> barangs, Function<Barang, String> key) {
+        Map<String, Long> ids = new HashMap<>();
+        for (Barang barang : barangs) {
+            ids.put(key.apply(barang), barang.getId());
+        }
+        return ids;
+    }
+
+    // method validateBarang
+    // keunikan nama dan nomor seri tidak dicek di sini, melainkan oleh unique constraint di database
+    // (lihat toResponseStatus)
+    static void validateBarang(Barang barang) {
+        // aturan: nama hanya huruf dan spasi, nomor seri hanya huruf dan angka, jumlah > 0
+        String message = BarangValidator.validate(barang);
+        if (message != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+        }
+    }
+
+    // menerjemahkan pelanggaran unique constraint menjadi pesan 400 yang sama seperti sebelumnya
+    static ResponseStatusException toResponseStatus(DataIntegrityViolationException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase();
+        if (message.contains(Barang.UK_NAMA)) {
+            return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nama barang sudah digunakan.");
+        }
+        if (message.contains(Barang.UK_NOMOR_SERI)) {
+            return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nomor seri sudah digunakan.");
+        }
+        // jumlah diganti (update/batch) menjadi lebih kecil dari stok di gudang oleh request yang bersamaan
+        if (message.contains(Barang.CK_JUMLAH_GUDANG)) {
+            return new ResponseStatusException(HttpStatus.CONFLICT, JUMLAH_KURANG_DARI_GUDANG);
+        }
+        throw e;
     }
 
     // public Optional<Barang> findOne(Long id) {
     // return barangRepo.findById(id);
     // }
 
+    // SUPPORTS: tidak membuka transaksi (dan tidak meminjam koneksi) untuk hit snapshot/cache;
+    // query repository saat miss membuka transaksi read-only sendiri
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<Barang> findOne(Long id) {
-        Optional<Barang> barang = barangRepo.findById(id);
+        if (barangSnapshot.isReady()) {
+            Optional<Barang> snapshot = barangSnapshot.findById(id);
+            if (snapshot.isPresent()) {
+                return snapshot;
+            }
+        }
+        // cache -> single-flight -> database: miss yang bersamaan untuk id yang sama menjadi satu query
+        Optional<Barang> barang = barangCache.getById(id, key -> singleFlight.getById(key, idLoader()));
         if (barang.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Barang dengan ID " + id + " tidak ditemukan.");
         }
         return barang;
     }
 
+    // FIND BY NOMOR SERI (dipakai terminal scanner)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<Barang> findByNomorSeri(String nomorSeri) {
+        if (barangSnapshot.isReady()) {
+            Optional<Barang> snapshot = barangSnapshot.findByNomorSeri(nomorSeri);
+            if (snapshot.isPresent()) {
+                return snapshot;
+            }
+        }
+        Function<String, Optional<Barang>> serialLoader = shardedBarangRepo != null
+                ? shardedBarangRepo::findByNomorSeri : barangRepo::findByNomorSeri;
+        Optional<Barang> barang = barangCache.getByNomorSeri(nomorSeri,
+                key -> singleFlight.getById(key, idLoader()),
+                key -> singleFlight.getByNomorSeri(key, serialLoader));
+        if (barang.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "Barang dengan nomor seri " + nomorSeri + " tidak ditemukan.");
+        }
+        return barang;
+    }
+
+    private Function<Long, Optional<Barang>> idLoader() {
+        return shardedBarangRepo != null ? shardedBarangRepo::findById : barangRepo::findById;
+    }
+
+    @Transactional(readOnly = true)
     public Iterable<Barang> findAll() {
+        if (shardedBarangRepo != null) {
+            return shardedBarangRepo.findAll();
+        }
         return barangRepo.findAll();
     }
 
+    // FIND PAGE (keyset) -> mengambil size + 1 baris untuk mengetahui ada halaman berikutnya
+    // tanpa query COUNT
+    @Transactional(readOnly = true)
+    public BarangPage findPage(String cursor, int size) {
+        long afterId = BarangPage.decodeCursor(cursor);
+        List<Barang> rows = shardedBarangRepo != null ? shardedBarangRepo.findPage(afterId, size + 1)
+                : barangRepo.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1));
+
+        if (rows.size() <= size) {
+            return new BarangPage(rows, null);
+        }
+        List<Barang> items = rows.subList(0, size);
+        return new BarangPage(items, BarangPage.encodeCursor(items.get(size - 1).getId()));
+    }
+
+    // EXPORT NDJSON -> satu objek JSON per baris, ditulis langsung saat baris keluar dari cursor JDBC.
+    // Entitas di-detach setelah ditulis agar persistence context tidak menumpuk (memori konstan)
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream out) throws IOException {
+        try (Stream<Barang> rows = streamAll();
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            writeRows(rows, generator, true);
+        }
+    }
+
+    // EXPORT format biner (CBOR/Smile, mapper dari WireFormatConfig) -> satu array tanpa panjang di depan,
+    // sehingga tetap bisa ditulis bertahap dari cursor JDBC seperti NDJSON
+    @Transactional(readOnly = true)
+    public void exportBinary(OutputStream out, ObjectMapper mapper) throws IOException {
+        try (Stream<Barang> rows = streamAll();
+                JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            writeRows(rows, generator, false);
+            generator.writeEndArray();
+        }
+    }
+
+    // mode sharding: gabungan semua shard urut id, dibaca per chunk
+    private Stream<Barang> streamAll() {
+        return shardedBarangRepo != null ? shardedBarangRepo.streamAll() : barangRepo.streamAll();
+    }
+
+    private void writeRows(Stream<Barang> rows, JsonGenerator generator, boolean newline) throws IOException {
+        Iterator<Barang> iterator = rows.iterator();
+        int count = 0;
+        while (iterator.hasNext()) {
+            Barang barang = iterator.next();
+            generator.writeObject(barang);
+            if (newline) {
+                generator.writeRaw('\n');
+            }
+            if (shardedBarangRepo == null) {
+                entityManager.detach(barang);
+            }
+
+            if (++count % 500 == 0) {
+                generator.flush();
+            }
+        }
+    }
+
     // public void removeOne(Long id) {
     // barangRepo.deleteById(id);
     // }
 
+    // satu DELETE saja; jumlah baris yang terhapus menentukan apakah barang ada
     public void removeOne(Long id) {
-        Optional<Barang> barang = barangRepo.findById(id);
-        if (barang.isEmpty()) {
+        removeOne(id, null);
+    }
+
+    // DELETE dengan If-Match: hanya menghapus jika versi masih expectedVersi.
+    // Mutasi DELETED (-jumlah) ditulis sebelum DELETE dan ikut di-rollback jika barang tidak terhapus.
+    // Baris barang dikunci FOR UPDATE lebih dulu (bukan kunci baca dari INSERT ... SELECT mutasi), lalu stok
+    // gudang: urutan yang sama dengan GudangService sehingga tidak deadlock dengan mutasi gudang bersamaan
+    public void removeOne(Long id, Long expectedVersi) {
+        int deleted;
+        if (shardedBarangRepo != null) {
+            Optional<Integer> jumlah = shardedBarangRepo.findJumlahById(id);
+            deleted = shardedBarangRepo.removeById(id, expectedVersi);
+            if (deleted > 0 && jumlah.isPresent()) {
+                stockLedger.record(id, -jumlah.get(), StokMutasi.Alasan.DELETED);
+            }
+        } else {
+            barangRepo.lockById(id);
+            stockLedger.recordDeletion(id);
+            gudangRepo.releaseBarang(id);
+            deleted = expectedVersi == null ? barangRepo.removeById(id)
+                    : barangRepo.removeByIdAndVersi(id, expectedVersi);
+        }
+        if (deleted == 0) {
+            if (expectedVersi != null && (shardedBarangRepo != null ? shardedBarangRepo.findById(id).isPresent()
+                    : barangRepo.findVersiById(id).isPresent())) {
+                throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                        "Barang dengan ID " + id + " sudah diubah oleh request lain.");
+            }
             throw new ResponseStatusException(
                     HttpStatus.NOT_FOUND, "Barang dengan ID " + id + " tidak ditemukan.");
         }
-        barangRepo.deleteById(id);
+        eventPublisher.publishEvent(BarangChangedEvent.deleted(id));
+    }
+
+    // VERSI -> untuk If-None-Match; memakai cache bila ada, jika tidak hanya membaca kolom versi.
+    // SUPPORTS seperti findOne: hit cache tidak membuka transaksi dan tidak meminjam koneksi
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<Long> findVersi(Long id) {
+        Optional<Barang> cached = barangCache.peek(id);
+        if (cached.isPresent()) {
+            return Optional.of(cached.get().getVersi());
+        }
+        if (shardedBarangRepo != null) {
+            return shardedBarangRepo.findById(id).map(Barang::getVersi);
+        }
+        return barangRepo.findVersiById(id);
     }
 
+    // VERSI DAFTAR -> berubah setiap ada barang yang dibuat, diubah atau dihapus
+    @Transactional(readOnly = true)
+    public String findListVersion() {
+        if (shardedBarangRepo != null) {
+            long[] version = shardedBarangRepo.findListVersion();
+            return "l" + version[0] + "-" + version[1] + "-" + version[2];
+        }
+        Object[] row = barangRepo.findListVersion().get(0);
+        return "l" + row[0] + "-" + row[1] + "-" + row[2];
+    }
+
+    @Transactional(readOnly = true)
     public List<Barang> findByName(String nama) {
-        return barangRepo.findByNamaContains(nama);
+        if (shardedBarangRepo != null) {
+            return singleFlight.getByNama(nama, shardedBarangRepo::findByNamaContains);
+        }
+        return singleFlight.getByNama(nama, barangRepo::findByNamaContains);
+    }
+
+    // SEARCH (typeahead) -> index di memori; selama index belum siap memakai query LIKE
+    @Transactional(readOnly = true)
+    public List<SearchHit> search(String query, int offset, int limit) {
+        if (searchIndex.isReady()) {
+            return searchIndex.search(query, offset, limit);
+        }
+        Stream<Barang> rows = shardedBarangRepo != null
+                ? shardedBarangRepo.findByNamaContains(query).stream()
+                        .sorted(Comparator.comparing(Barang::getNama)).limit(offset + limit)
+                : barangRepo.findByNamaContainsOrderByNamaAsc(query, Limit.of(offset + limit)).stream();
+        return rows
+                .skip(offset)
+                .map(barang -> new SearchHit(barang.getId(), barang.getNama(), barang.getNomorSeri()))
+                .toList();
     }
 }
@@ -0,0 +1,190 @@
+package com.domain.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.domain.dto.LocationStock;
+import com.domain.dto.StockAdjustment;
+import com.domain.dto.StockLocations;
+import com.domain.dto.StockTransfer;
+import com.domain.events.BarangChangedEvent;
+import com.domain.ledger.StockLedger;
+import com.domain.models.entity.Gudang;
+import com.domain.models.entity.StokMutasi;
+import com.domain.models.repos.GudangRepo;
+import com.domain.models.repos.ShardedBarangRepo;
+import com.domain.validation.BarangValidator;
+
+import io.micrometer.core.annotation.Timed;
+
+// stok per gudang di bawah barang yang sama (nama dan nomor seri tetap unik per barang, bukan per lokasi).
+//
+// Agregat disimpan, bukan dihitung saat dibaca:
+//   tbl_barang.jumlah        -> total stok barang (yang dibaca GET /api/barang/{id} dan daftar barang)
+//   tbl_barang.jumlah_gudang -> bagian dari jumlah yang sudah ditempatkan di gudang
+//   tbl_gudang.total         -> total stok semua barang di satu gudang
+// dan diperbarui di transaksi yang sama dengan setiap mutasi. Check constraint ck_barang_jumlah_gudang menjaga
+// jumlah >= jumlah_gudang untuk semua jalur tulis barang lainnya.
+//
+// Urutan kunci baris selalu: baris barang -> baris stok (urut id gudang) -> baris gudang (urut id), sehingga
+// transfer, stok masuk/keluar dan hapus barang yang bersamaan tidak saling menunggu secara melingkar (deadlock).
+// Transfer antar dua gudang tidak mengubah baris barang dan langsung mulai dari tingkat kedua.
+//
+// Gudang ada di DataSource utama; tidak tersedia pada mode sharding
+@Service
+@Transactional
+@Timed(value = "barang.service", histogram = true)
+public class GudangService {
+
+    @Autowired
+    private GudangRepo gudangRepo;
+
+    @Autowired(required = false)
+    private ShardedBarangRepo shardedBarangRepo;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public Gudang create(Gudang gudang) {
+        if (gudang.getKode() == null || !BarangValidator.isAlfanumerik(gudang.getKode())
+                || gudang.getKode().length() > 32) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Kode gudang harus berupa huruf dan angka, maksimal 32 karakter.");
+        }
+        if (gudang.getNama() == null || gudang.getNama().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nama gudang tidak boleh kosong.");
+        }
+        try {
+            return gudangRepo.insert(gudang);
+        } catch (DataIntegrityViolationException e) {
+            if (String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase().contains(Gudang.UK_KODE)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Kode gudang sudah digunakan.");
+            }
+            throw e;
+        }
+    }
+
+    // total per gudang dibaca dari kolom total
+    @Transactional(readOnly = true)
+    public List<Gudang> findAll() {
+        return gudangRepo.findAll();
+    }
+
+    @Transactional(readOnly = true)
+    public StockLocations findStock(long barangId) {
+        requireUnsharded();
+        return stockLocations(barangId);
+    }
+
+    // STOK MASUK/KELUAR di satu gudang: total barang, stok di gudang dan total gudang berubah bersama.
+    // Dicatat di ledger sebagai ADJUSTED seperti POST /api/barang/{id}/adjust
+    public StockAdjustment adjust(long barangId, long gudangId, int delta) {
+        requireUnsharded();
+        if (delta == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Delta tidak boleh 0.");
+        }
+        requireGudang(gudangId);
+
+        if (gudangRepo.adjustBarang(barangId, delta) == 0) {
+            throw barangNotFound(barangId);
+        }
+        if (!gudangRepo.adjustStok(barangId, gudangId, delta)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Stok barang di gudang tidak mencukupi.");
+        }
+        gudangRepo.adjustTotal(gudangId, delta);
+
+        long[] stok = gudangRepo.findJumlah(barangId).orElseThrow();
+        int jumlah = (int) stok[0];
+        stockLedger.record(barangId, delta, StokMutasi.Alasan.ADJUSTED);
+        eventPublisher.publishEvent(BarangChangedEvent.adjusted(barangId, jumlah, delta, stok[2]));
+        return new StockAdjustment(barangId, delta, jumlah);
+    }
+
+    // TRANSFER: stok dipindah dari satu gudang (atau dari stok yang belum ditempatkan) ke gudang lain dalam
+    // satu transaksi; gagal di langkah mana pun -> semua langkah di-rollback. Total barang tidak berubah
+    public StockLocations transfer(long barangId, StockTransfer transfer) {
+        requireUnsharded();
+        Long dari = transfer.getDari();
+        Long ke = transfer.getKe();
+        int jumlah = transfer.getJumlah() == null ? 0 : transfer.getJumlah();
+        if (jumlah <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Jumlah transfer harus lebih dari 0.");
+        }
+        if (dari == null ? ke == null : dari.equals(ke)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Gudang asal dan tujuan tidak boleh sama.");
+        }
+        if (dari != null) {
+            requireGudang(dari);
+        }
+        if (ke != null) {
+            requireGudang(ke);
+        }
+
+        // 1. baris barang, hanya jika stok yang belum ditempatkan ikut berubah
+        if (dari == null || ke == null) {
+            if (gudangRepo.placeBarang(barangId, dari == null ? jumlah : -jumlah) == 0) {
+                if (gudangRepo.findJumlah(barangId).isEmpty()) {
+                    throw barangNotFound(barangId);
+                }
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Stok barang yang belum ditempatkan tidak mencukupi.");
+            }
+        }
+
+        // 2. baris stok, urut id gudang (bukan urut asal -> tujuan)
+        long[] gudangIds = dari == null ? new long[] { ke } : ke == null ? new long[] { dari }
+                : new long[] { Math.min(dari, ke), Math.max(dari, ke) };
+        for (long gudangId : gudangIds) {
+            if (!gudangRepo.adjustStok(barangId, gudangId, isAsal(gudangId, dari) ? -jumlah : jumlah)) {
+                if (gudangRepo.findJumlah(barangId).isEmpty()) {
+                    throw barangNotFound(barangId);
+                }
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Stok barang di gudang tidak mencukupi.");
+            }
+        }
+
+        // 3. total gudang, urutan id yang sama
+        for (long gudangId : gudangIds) {
+            gudangRepo.adjustTotal(gudangId, isAsal(gudangId, dari) ? -jumlah : jumlah);
+        }
+        return stockLocations(barangId);
+    }
+
+    private StockLocations stockLocations(long barangId) {
+        long[] jumlah = gudangRepo.findJumlah(barangId).orElseThrow(() -> barangNotFound(barangId));
+        List<LocationStock> gudang = gudangRepo.findStok(barangId);
+        return new StockLocations(barangId, (int) jumlah[0], (int) (jumlah[0] - jumlah[1]), gudang);
+    }
+
+    private static boolean isAsal(long gudangId, Long dari) {
+        return dari != null && dari == gudangId;
+    }
+
+    private void requireGudang(long gudangId) {
+        if (!gudangRepo.existsById(gudangId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "Gudang dengan ID " + gudangId + " tidak ditemukan.");
+        }
+    }
+
+    private void requireUnsharded() {
+        if (shardedBarangRepo != null) {
+            throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED,
+                    "Stok per gudang tidak tersedia pada mode sharding.");
+        }
+    }
+
+    private static ResponseStatusException barangNotFound(long barangId) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Barang dengan ID " + barangId + " tidak ditemukan.");
+    }
+}
@@ -0,0 +1,124 @@
+package com.domain.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.domain.dto.StockAdjustment;
+import com.domain.events.BarangChangedEvent;
+import com.domain.models.entity.Barang;
+import com.domain.models.repos.ReactiveBarangRepo;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// versi reaktif BarangService untuk ReactiveBarangController (profil "reactive").
+//
+// Validasi dan pesan error sama dengan BarangService (validateBarang, toResponseStatus). Setiap perubahan
+// tetap menerbitkan BarangChangedEvent sehingga cache, index pencarian, snapshot dan aliran SSE ikut
+// diperbarui. Pembacaan langsung ke database lewat R2DBC (tanpa cache/snapshot yang bersifat blocking).
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveBarangService {
+
+    @Autowired
+    private ReactiveBarangRepo barangRepo;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public Mono<Barang> save(Barang barang) {
+        return Mono.defer(() -> {
+            BarangService.validateBarang(barang);
+            return barangRepo.insert(barang);
+        })
+                .onErrorMap(DataIntegrityViolationException.class, BarangService::toResponseStatus)
+                .doOnNext(saved -> eventPublisher.publishEvent(BarangChangedEvent.created(saved)));
+    }
+
+    // UPDATE dengan optimistic concurrency seperti BarangService.update: 404 jika tidak ada, 412 jika versi
+    // sudah berbeda dari expectedVersi (If-Match)
+    public Mono<Barang> update(long id, Barang updatedBarang, Long expectedVersi) {
+        return barangRepo.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)))
+                .flatMap(existing -> {
+                    if (expectedVersi != null && expectedVersi != existing.getVersi()) {
+                        return Mono.error(preconditionFailed(id));
+                    }
+                    BarangService.validateBarang(updatedBarang);
+                    // perubahan gudang bersamaan setelah dibaca ditolak check constraint (toResponseStatus)
+                    if (updatedBarang.getJumlah() < existing.getJumlahGudang()) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT,
+                                BarangService.JUMLAH_KURANG_DARI_GUDANG));
+                    }
+                    return barangRepo.update(id, updatedBarang, expectedVersi);
+                })
+                .onErrorMap(DataIntegrityViolationException.class, BarangService::toResponseStatus)
+                // 0 baris -> diubah atau dihapus request lain di antara baca dan update
+                .flatMap(updated -> updated == 0
+                        ? Mono.<Barang>error(expectedVersi != null ? preconditionFailed(id) : notFound(id))
+                        : barangRepo.findById(id))
+                .doOnNext(saved -> eventPublisher.publishEvent(BarangChangedEvent.updated(saved)));
+    }
+
+    public Mono<StockAdjustment> adjustJumlah(long id, int delta) {
+        if (delta == 0) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Delta tidak boleh 0."));
+        }
+        // jumlah dan versi dibaca bersama; bisa sudah berisi adjust lain sesudahnya (versi lebih tinggi)
+        return barangRepo.adjustJumlah(id, delta)
+                .flatMap(updated -> barangRepo.findById(id)
+                        .switchIfEmpty(Mono.error(() -> notFound(id)))
+                        .flatMap(barang -> updated == 0
+                                ? Mono.<Barang>error(new ResponseStatusException(HttpStatus.CONFLICT,
+                                        "Stok barang tidak mencukupi."))
+                                : Mono.just(barang)))
+                .doOnNext(barang -> eventPublisher.publishEvent(
+                        BarangChangedEvent.adjusted(id, barang.getJumlah(), delta, barang.getVersi())))
+                .map(barang -> new StockAdjustment(id, delta, barang.getJumlah()));
+    }
+
+    public Mono<Barang> findOne(long id) {
+        return barangRepo.findById(id).switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    public Mono<Barang> findByNomorSeri(String nomorSeri) {
+        return barangRepo.findByNomorSeri(nomorSeri)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Barang dengan nomor seri " + nomorSeri + " tidak ditemukan.")));
+    }
+
+    public Flux<Barang> findAll() {
+        return barangRepo.findAll();
+    }
+
+    public Mono<Void> removeOne(long id, Long expectedVersi) {
+        return barangRepo.removeById(id, expectedVersi)
+                .flatMap(deleted -> {
+                    if (deleted > 0) {
+                        eventPublisher.publishEvent(BarangChangedEvent.deleted(id));
+                        return Mono.<Void>empty();
+                    }
+                    if (expectedVersi == null) {
+                        return Mono.error(notFound(id));
+                    }
+                    return barangRepo.findVersiById(id)
+                            .flatMap(versi -> Mono.<Void>error(preconditionFailed(id)))
+                            .switchIfEmpty(Mono.error(() -> notFound(id)));
+                });
+    }
+
+    private static ResponseStatusException notFound(long id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Barang dengan ID " + id + " tidak ditemukan.");
+    }
+
+    private static ResponseStatusException preconditionFailed(long id) {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                "Barang dengan ID " + id + " sudah diubah oleh request lain.");
+    }
+}
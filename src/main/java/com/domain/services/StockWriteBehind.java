@@ -0,0 +1,272 @@
+package com.domain.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.domain.events.BarangChangedEvent;
+import com.domain.ledger.StockLedger;
+import com.domain.models.entity.StokMutasi;
+import com.domain.models.repos.BarangBatchRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// mode write-behind untuk adjust stok (barang.stock.write-behind.enabled=true).
+//
+// Delta dari banyak request untuk barang yang sama dikumpulkan di memori (ConcurrentHashMap.compute per id,
+// tanpa lock global) lalu diterapkan dalam batch JDBC, setiap flush-interval atau ketika jumlah delta yang
+// tertunda mencapai max-pending. Saat aplikasi berhenti, semua delta yang tersisa di-flush terlebih dahulu.
+//
+// Request sudah mendapat 202, sehingga delta yang satu tidak boleh menggagalkan delta lain:
+// - keberadaan barang dan stok dicek saat delta diterima (lihat add), termasuk delta keluar yang masih tertunda
+// - stok masuk dijumlahkan dan ditulis lebih dulu, stok keluar sesudahnya; stok masuk tidak pernah ditolak
+//   karena stok keluar di flush yang sama
+// - stok keluar dicoba sebagai satu jumlah; jika ditolak (stok berubah setelah dicek), setiap delta keluar
+//   dicoba satu per satu sehingga hanya delta yang memang tidak bisa diterapkan yang ditolak
+// - delta yang ditolak dicatat di log dan metrik barang.stock.write_behind.rejected
+@Component
+public class StockWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(StockWriteBehind.class);
+
+    @Value("${barang.stock.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${barang.stock.write-behind.flush-interval:200ms}")
+    private Duration flushInterval;
+
+    @Value("${barang.stock.write-behind.max-pending:1000}")
+    private long maxPending;
+
+    @Autowired
+    private BarangBatchRepo barangBatchRepo;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // id barang -> delta yang belum ditulis; hanya diubah di dalam compute dan diambil dengan remove
+    private final ConcurrentHashMap<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    // jumlah adjust yang diterima tetapi belum ditulis
+    private final AtomicLong backlog = new AtomicLong();
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private ScheduledExecutorService scheduler;
+
+    private Counter rejectedCounter;
+
+    private static final class Pending {
+
+        // total stok masuk dan banyaknya adjust masuk
+        long masuk;
+
+        int masukCount;
+
+        // stok keluar satu per satu, urut diterima
+        final List<Integer> keluar = new ArrayList<>();
+
+        long totalKeluar;
+
+        int count() {
+            return masukCount + keluar.size();
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("barang.stock.write_behind.backlog", backlog, AtomicLong::get)
+                .description("Adjust stok yang sudah diterima tetapi belum ditulis ke database")
+                .register(meterRegistry);
+        Gauge.builder("barang.stock.write_behind.items", pending, Map::size)
+                .description("Jumlah barang dengan delta stok yang belum ditulis")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("barang.stock.write_behind.rejected")
+                .description("Adjust stok yang sudah diterima (202) tetapi ditolak database saat flush")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // tersedia = stok yang boleh dikurangi menurut database (jumlah - jumlah_gudang), dibaca pemanggil.
+    // false -> stok keluar melebihi stok tersedia dikurangi stok keluar yang masih tertunda; delta tidak diterima
+    public boolean add(long id, int delta, int tersedia) {
+        boolean[] accepted = { true };
+        pending.compute(id, (key, entry) -> {
+            if (entry == null) {
+                entry = new Pending();
+            }
+            if (delta > 0) {
+                entry.masuk += delta;
+                entry.masukCount++;
+            } else if (tersedia + entry.totalKeluar + delta >= 0) {
+                entry.keluar.add(delta);
+                entry.totalKeluar += delta;
+            } else {
+                accepted[0] = false;
+            }
+            return entry.count() == 0 ? null : entry;
+        });
+        if (!accepted[0]) {
+            return false;
+        }
+        if (backlog.incrementAndGet() >= maxPending && flushScheduled.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+        return true;
+    }
+
+    public long getBacklog() {
+        return backlog.get();
+    }
+
+    // menulis semua delta yang tertunda; hanya dijalankan oleh thread scheduler atau saat shutdown
+    synchronized void flush() {
+        flushScheduled.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // remove() bersifat atomik: delta yang masuk setelahnya akan membuat entri baru untuk flush berikutnya.
+        // backlog dikurangi sebanyak yang diambil, bukan di-reset, agar add yang bersamaan tetap terhitung
+        Map<Long, Pending> drained = new HashMap<>();
+        long drainedCount = 0;
+        for (Long id : new ArrayList<>(pending.keySet())) {
+            Pending entry = pending.remove(id);
+            if (entry != null) {
+                drained.put(id, entry);
+                drainedCount += entry.count();
+            }
+        }
+        backlog.addAndGet(-drainedCount);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(drained));
+        } catch (RuntimeException e) {
+            // kembalikan delta agar dicoba lagi pada flush berikutnya
+            drained.forEach((id, entry) -> pending.merge(id, entry, StockWriteBehind::combine));
+            backlog.addAndGet(drainedCount);
+            throw e;
+        }
+    }
+
+    private void apply(Map<Long, Pending> drained) {
+        // id -> delta yang benar-benar diterapkan (untuk ledger dan event)
+        Map<Long, Long> applied = new HashMap<>();
+
+        Map<Long, Long> masuk = new HashMap<>();
+        Map<Long, Long> keluar = new HashMap<>();
+        drained.forEach((id, entry) -> {
+            if (entry.masuk != 0) {
+                masuk.put(id, entry.masuk);
+            }
+            if (entry.totalKeluar != 0) {
+                keluar.put(id, entry.totalKeluar);
+            }
+        });
+
+        List<Long> rejectedMasuk = barangBatchRepo.adjustAll(masuk);
+        for (Long id : rejectedMasuk) {
+            // hanya mungkin jika barang dihapus setelah delta diterima
+            reject(id, masuk.remove(id), drained.get(id).masukCount);
+        }
+        masuk.forEach((id, delta) -> applied.merge(id, delta, Long::sum));
+
+        List<Long> rejectedKeluar = barangBatchRepo.adjustAll(keluar);
+        for (Long id : rejectedKeluar) {
+            keluar.remove(id);
+            for (int delta : drained.get(id).keluar) {
+                if (barangBatchRepo.adjustAll(Map.of(id, (long) delta)).isEmpty()) {
+                    applied.merge(id, (long) delta, Long::sum);
+                } else {
+                    reject(id, delta, 1);
+                }
+            }
+        }
+        keluar.forEach((id, delta) -> applied.merge(id, delta, Long::sum));
+        applied.values().removeIf(delta -> delta == 0);
+
+        stockLedger.recordAll(applied.entrySet().stream()
+                .map(entry -> new StokMutasi(entry.getKey(), Math.toIntExact(entry.getValue()),
+                        StokMutasi.Alasan.ADJUSTED))
+                .toList());
+        barangBatchRepo.findJumlahDanVersiByIds(applied.keySet()).forEach((id, stok) -> eventPublisher
+                .publishEvent(BarangChangedEvent.adjusted(id, (int) stok[0], applied.get(id).intValue(), stok[1])));
+    }
+
+    private void reject(long id, long delta, int count) {
+        log.warn("Delta stok {} untuk barang {} ditolak saat flush: barang tidak ada atau stok tidak mencukupi",
+                delta, id);
+        rejectedCounter.increment(count);
+    }
+
+    private static Pending combine(Pending newer, Pending older) {
+        Pending combined = new Pending();
+        combined.masuk = older.masuk + newer.masuk;
+        combined.masukCount = older.masukCount + newer.masukCount;
+        combined.keluar.addAll(older.keluar);
+        combined.keluar.addAll(newer.keluar);
+        combined.totalKeluar = older.totalKeluar + newer.totalKeluar;
+        return combined;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Flush write-behind stok gagal, akan dicoba lagi", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+}
@@ -0,0 +1,123 @@
+package com.domain.sharding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.domain.models.entity.Barang;
+import com.domain.models.repos.ShardedBarangRepo;
+
+// memindahkan baris ke shard pemiliknya setelah daftar shard berubah (mis. barang.sharding.urls ditambah).
+//
+// Setiap shard dibaca per chunk dengan keyset (id > terakhir). Baris yang pemiliknya menurut ShardRouter
+// bukan shard tersebut di-insert ke shard tujuan lalu dihapus dari shard asal. Urutan insert-lalu-hapus
+// membuat proses aman diulang jika terhenti: baris yang sudah ada di tujuan (id sama) dilewati. Baris yang
+// bentrok dengan baris lain di tujuan (nama atau nomor seri sama, id berbeda) tidak disalin dan tetap di shard
+// asal untuk dibereskan manual.
+// Jalankan saat tulis dihentikan (java -jar app.jar --barang.sharding.rebalance=true), karena perubahan
+// yang terjadi di antara insert dan hapus tidak ikut terbawa.
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private static final String SELECT_SQL = "select " + ShardedBarangRepo.COLUMNS + " from tbl_barang "
+            + "where id > ? order by id limit ?";
+
+    private final List<JdbcTemplate> shards;
+
+    private final ShardRouter router;
+
+    private final int chunkSize;
+
+    public ShardRebalancer(List<JdbcTemplate> shards, ShardRouter router, int chunkSize) {
+        this.shards = shards;
+        this.router = router;
+        this.chunkSize = chunkSize;
+    }
+
+    // mengembalikan jumlah baris yang dipindahkan
+    public long rebalance() {
+        long moved = 0;
+        for (int source = 0; source < shards.size(); source++) {
+            moved += rebalanceShard(source);
+        }
+        log.info("Rebalance shard selesai: {} baris dipindahkan", moved);
+        return moved;
+    }
+
+    private long rebalanceShard(int source) {
+        JdbcTemplate from = shards.get(source);
+        long moved = 0;
+        long lastId = Long.MIN_VALUE;
+        while (true) {
+            List<Barang> rows = from.query(SELECT_SQL, ShardedBarangRepo.ROW_MAPPER, lastId, chunkSize);
+            if (rows.isEmpty()) {
+                return moved;
+            }
+            lastId = rows.get(rows.size() - 1).getId();
+
+            List<List<Barang>> byTarget = new ArrayList<>();
+            for (int i = 0; i < shards.size(); i++) {
+                byTarget.add(new ArrayList<>());
+            }
+            for (Barang barang : rows) {
+                int target = router.shardFor(barang.getNomorSeri());
+                if (target != source) {
+                    byTarget.get(target).add(barang);
+                }
+            }
+
+            List<Long> movedIds = new ArrayList<>();
+            for (int target = 0; target < shards.size(); target++) {
+                List<Barang> batch = byTarget.get(target);
+                if (!batch.isEmpty()) {
+                    movedIds.addAll(copy(shards.get(target), batch));
+                }
+            }
+            if (!movedIds.isEmpty()) {
+                new NamedParameterJdbcTemplate(from).update("delete from tbl_barang where id in (:ids)",
+                        new MapSqlParameterSource("ids", movedIds));
+                moved += movedIds.size();
+                log.info("Rebalance shard {}: {} baris dipindahkan", source, moved);
+            }
+        }
+    }
+
+    // id baris yang sudah ada di shard tujuan (baru disalin atau sudah disalin sebelumnya)
+    private static List<Long> copy(JdbcTemplate target, List<Barang> barangs) {
+        List<Object[]> args = new ArrayList<>(barangs.size());
+        for (Barang barang : barangs) {
+            args.add(new Object[] { barang.getId(), barang.getNama(), barang.getJumlah(), barang.getNomorSeri(),
+                    barang.getVersi(), barang.getBatasStok() });
+        }
+        List<Long> copied = new ArrayList<>(barangs.size());
+        try {
+            target.batchUpdate(ShardedBarangRepo.INSERT_SQL, args);
+            barangs.forEach(barang -> copied.add(barang.getId()));
+        } catch (DuplicateKeyException e) {
+            // sebagian sudah disalin oleh rebalance sebelumnya yang terhenti sebelum menghapus dari shard asal,
+            // atau bentrok dengan baris lain di tujuan
+            for (Object[] row : args) {
+                long id = (Long) row[0];
+                try {
+                    target.update(ShardedBarangRepo.INSERT_SQL, row);
+                    copied.add(id);
+                } catch (DuplicateKeyException duplicate) {
+                    if (target.queryForObject("select count(*) from tbl_barang where id = ?", Long.class, id) > 0) {
+                        log.debug("Barang {} sudah ada di shard tujuan", id);
+                        copied.add(id);
+                    } else {
+                        log.warn("Barang {} tidak dipindahkan: nama atau nomor seri bentrok di shard tujuan", id);
+                    }
+                }
+            }
+        }
+        return copied;
+    }
+}
@@ -0,0 +1,59 @@
+package com.domain.sharding;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// consistent hashing nomorSeri -> indeks shard.
+//
+// Setiap shard ditempatkan di ring sebanyak virtualNodes titik (hash dari "shard-<indeks>#<n>"), nomor seri
+// dimiliki shard dengan titik pertama searah jarum jam. Menambah shard di akhir daftar hanya memindahkan
+// kira-kira 1/N baris (lihat ShardRebalancer), bukan hampir semuanya seperti hash % N.
+public class ShardRouter {
+
+    private final TreeMap<Long, Integer> ring = new TreeMap<>();
+
+    private final int shardCount;
+
+    public ShardRouter(int shardCount, int virtualNodes) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Jumlah shard minimal 1.");
+        }
+        this.shardCount = shardCount;
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int n = 0; n < virtualNodes; n++) {
+                ring.put(hash("shard-" + shard + "#" + n), shard);
+            }
+        }
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardFor(String nomorSeri) {
+        Map.Entry<Long, Integer> entry = ring.ceilingEntry(hash(nomorSeri));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    // FNV-1a 64-bit lalu finalizer splitmix64 agar bit-bit hash tersebar rata di ring
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    // untuk pengujian distribusi
+    int[] distribution(List<String> nomorSeri) {
+        int[] counts = new int[shardCount];
+        for (String key : nomorSeri) {
+            counts[shardFor(key)]++;
+        }
+        return counts;
+    }
+}
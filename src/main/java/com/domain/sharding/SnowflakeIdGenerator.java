@@ -0,0 +1,45 @@
+package com.domain.sharding;
+
+// id global untuk mode sharding (pengganti IDENTITY yang hanya unik per database).
+//
+// 64 bit: 41 bit milidetik sejak 2024-01-01 UTC | 10 bit node id | 12 bit sequence
+// -> 4096 id per milidetik per node, tanpa koordinasi antar node selama node id berbeda.
+// Jika sequence habis atau jam sistem mundur, waktu logis dilanjutkan dari milidetik terakhir + 1
+// sehingga id tetap naik dan tidak pernah berulang.
+public class SnowflakeIdGenerator {
+
+    static final long EPOCH = 1704067200000L;
+
+    private static final int NODE_BITS = 10;
+
+    private static final int SEQUENCE_BITS = 12;
+
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+
+    private long lastMillis = -1;
+
+    private long sequence;
+
+    public SnowflakeIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id harus antara 0 dan " + MAX_NODE_ID + ".");
+        }
+        this.nodeId = nodeId;
+    }
+
+    public synchronized long nextId() {
+        long now = System.currentTimeMillis();
+        if (now > lastMillis) {
+            lastMillis = now;
+            sequence = 0;
+        } else if (++sequence > MAX_SEQUENCE) {
+            lastMillis++;
+            sequence = 0;
+        }
+        return ((lastMillis - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+}
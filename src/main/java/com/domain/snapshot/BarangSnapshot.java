@@ -0,0 +1,414 @@
+package com.domain.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.domain.events.BarangChangedEvent;
+import com.domain.models.entity.Barang;
+import com.domain.models.repos.BarangRepo;
+import com.domain.models.repos.ShardedBarangRepo;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+
+// snapshot katalog off-heap untuk findOne dan pencarian nomor seri (barang.snapshot.enabled=true),
+// ditujukan untuk node scanner yang hampir hanya membaca.
+//
+// - data disimpan di file yang di-memory-map (SnapshotStore), index berupa array primitif
+// - saat start file langsung dibuka dan index dibangun dari file, sehingga node bisa melayani baca sebelum
+//   menyentuh MySQL; setelah aplikasi siap, snapshot disinkronkan dengan database di background
+//   (baris yang versinya berbeda ditulis ulang, id yang sudah tidak ada dihapus). Sinkronisasi yang gagal
+//   (database belum bisa dihubungi) diulang dengan jeda yang makin panjang sampai sync-retry-max
+// - setiap perubahan dari BarangService (BarangChangedEvent setelah commit) ditambahkan ke file. Event bisa tiba
+//   tidak berurutan, sehingga event dengan versi yang tidak lebih baru dari isi snapshot diabaikan
+// - event hanya diterima instance yang menulis; perubahan dari instance lain diambil oleh resync setiap
+//   resync-interval (baris dengan updated_at baru, sinkronisasi penuh jika ada barang yang dihapus), sehingga
+//   snapshot bisa tertinggal dari database paling lama sekitar resync-interval
+// - compaction file (salin dan fsync) dijalankan di thread scheduler begitu file hampir penuh, bukan di thread
+//   yang baru commit
+// Baca yang tidak ditemukan di snapshot tetap diteruskan ke cache/database oleh BarangService.
+@Component
+public class BarangSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(BarangSnapshot.class);
+
+    private static final int MAX_REMOVED = 10_000;
+
+    @Value("${barang.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${barang.snapshot.path:data/barang.snapshot}")
+    private Path path;
+
+    @Value("${barang.snapshot.initial-size:64MB}")
+    private DataSize initialSize;
+
+    @Value("${barang.snapshot.sync-on-start:true}")
+    private boolean syncOnStart;
+
+    @Value("${barang.snapshot.sync-retry:1s}")
+    private Duration syncRetry;
+
+    @Value("${barang.snapshot.sync-retry-max:5m}")
+    private Duration syncRetryMax;
+
+    // 0 -> resync mati
+    @Value("${barang.snapshot.resync-interval:5s}")
+    private Duration resyncInterval;
+
+    // resync membaca ulang baris sejak watermark dikurangi ini: selisih jam antar instance dan transaksi yang
+    // commit lebih lambat dari updated_at-nya
+    @Value("${barang.snapshot.resync-overlap:10s}")
+    private Duration resyncOverlap;
+
+    @Autowired
+    private BarangRepo barangRepo;
+
+    // mode sharding: sinkronisasi dibandingkan dengan gabungan semua shard
+    @Autowired(required = false)
+    private ShardedBarangRepo shardedBarangRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SnapshotStore store;
+
+    private ScheduledExecutorService scheduler;
+
+    // jeda sebelum sinkronisasi berikutnya dicoba lagi; hanya diakses di thread scheduler
+    private Duration nextRetry;
+
+    // sinkronisasi penuh dan resync tidak berjalan bersamaan (thread scheduler dan pemanggil langsung)
+    private final Object syncLock = new Object();
+
+    // updated_at terbesar yang sudah dibaca dari database; null -> belum pernah sinkron penuh
+    private volatile LocalDateTime watermark;
+
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+    // id yang diubah lewat event selama sinkronisasi; baris dari stream untuk id ini sudah basi
+    private final Set<Long> changedDuringSync = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean syncing;
+
+    // id yang baru dihapus dari snapshot karena DELETED atau karena ada perubahan yang belum tiba -> versi
+    // minimal yang boleh ditulis lagi. Hanya diakses di dalam apply (synchronized); dibatasi agar tidak tumbuh
+    private final Map<Long, Long> removedVersi = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > MAX_REMOVED;
+        }
+    };
+
+    private volatile boolean ready;
+
+    @PostConstruct
+    void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        store = SnapshotStore.open(path, (int) Math.min(initialSize.toBytes(), Integer.MAX_VALUE));
+        // file yang sudah berisi data langsung dipakai; file baru menunggu sinkronisasi pertama
+        ready = store.size() > 0;
+        log.info("Snapshot barang {} dibuka: {} barang dalam {} ms", path, store.size(),
+                (System.nanoTime() - start) / 1_000_000);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "barang-snapshot-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("barang.snapshot.items", this, snapshot -> snapshot.store.size())
+                .description("Jumlah barang di snapshot off-heap")
+                .register(meterRegistry);
+        Gauge.builder("barang.snapshot.file.bytes", this, snapshot -> snapshot.store.fileSize())
+                .description("Ukuran file snapshot yang di-memory-map")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public Optional<Barang> findById(long id) {
+        return Optional.ofNullable(store.findById(id));
+    }
+
+    public Optional<Barang> findByNomorSeri(String nomorSeri) {
+        return Optional.ofNullable(store.findByNomorSeri(nomorSeri));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+        if (!ready || syncOnStart) {
+            nextRetry = syncRetry;
+            scheduler.execute(this::syncQuietly);
+        }
+        if (!resyncInterval.isZero()) {
+            long intervalMillis = resyncInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::resyncQuietly, intervalMillis, intervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            syncNow();
+            nextRetry = syncRetry;
+        } catch (RuntimeException e) {
+            log.warn("Sinkronisasi snapshot barang gagal, dicoba lagi dalam {}", nextRetry, e);
+            scheduler.schedule(this::syncQuietly, nextRetry.toMillis(), TimeUnit.MILLISECONDS);
+            Duration doubled = nextRetry.multipliedBy(2);
+            nextRetry = doubled.compareTo(syncRetryMax) > 0 ? syncRetryMax : doubled;
+        }
+    }
+
+    // membandingkan snapshot dengan database: baris yang berbeda versi ditulis, id yang hilang dihapus
+    void syncNow() {
+        synchronized (syncLock) {
+            syncLocked();
+        }
+    }
+
+    private void syncLocked() {
+        long start = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        syncing = true;
+        try {
+            int[] rewritten = { 0 };
+            LocalDateTime[] latest = { null };
+            long[] dbIds = transactionTemplate.execute(status -> {
+                long[] ids = new long[Math.max(16, store.size())];
+                int n = 0;
+                try (Stream<Barang> rows = shardedBarangRepo != null ? shardedBarangRepo.streamAll()
+                        : barangRepo.streamAll()) {
+                    Iterator<Barang> iterator = rows.iterator();
+                    while (iterator.hasNext()) {
+                        Barang barang = iterator.next();
+                        if (n == ids.length) {
+                            ids = Arrays.copyOf(ids, n * 2);
+                        }
+                        ids[n++] = barang.getId();
+                        latest[0] = later(latest[0], barang.getUpdatedAt());
+                        if (putFromSync(barang)) {
+                            rewritten[0]++;
+                        }
+                        if (shardedBarangRepo == null) {
+                            entityManager.detach(barang);
+                        }
+                    }
+                }
+                return Arrays.copyOf(ids, n);
+            });
+
+            // streamAll sudah urut id
+            int removed = 0;
+            for (long id : store.ids()) {
+                if (Arrays.binarySearch(dbIds, id) < 0 && removeFromSync(id)) {
+                    removed++;
+                }
+            }
+            store.force();
+            // database tanpa updated_at sama sekali -> waktu mulai sinkronisasi
+            watermark = latest[0] != null ? latest[0] : startedAt;
+            ready = true;
+            log.info("Snapshot barang tersinkron: {} barang, {} ditulis ulang, {} dihapus dalam {} ms",
+                    store.size(), rewritten[0], removed, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            // juga saat gagal: event berikutnya tidak lagi dicatat dan baris dari percobaan berikutnya diterima
+            syncing = false;
+            changedDuringSync.clear();
+        }
+    }
+
+    private void resyncQuietly() {
+        try {
+            resync();
+        } catch (RuntimeException e) {
+            log.warn("Resync snapshot barang gagal", e);
+        }
+    }
+
+    // baris yang berubah di database sejak watermark (termasuk dari instance lain) ditulis jika versinya lebih
+    // baru. Penghapusan tidak terlihat dari updated_at: snapshot berisi lebih banyak barang daripada database ->
+    // sinkronisasi penuh
+    void resync() {
+        synchronized (syncLock) {
+            if (watermark == null) {
+                syncLocked();
+                return;
+            }
+            LocalDateTime since = watermark.minus(resyncOverlap);
+            List<Barang> rows = transactionTemplate.execute(status -> shardedBarangRepo != null
+                    ? shardedBarangRepo.findUpdatedSince(since)
+                    : barangRepo.findByUpdatedAtGreaterThanEqual(since));
+            LocalDateTime latest = watermark;
+            int rewritten = 0;
+            for (Barang barang : rows) {
+                latest = later(latest, barang.getUpdatedAt());
+                if (putFromResync(barang)) {
+                    rewritten++;
+                }
+            }
+            watermark = latest;
+
+            long count = shardedBarangRepo != null ? shardedBarangRepo.findListVersion()[0] : barangRepo.count();
+            if (store.size() > count) {
+                log.info("Snapshot barang berisi {} barang, database {}: sinkronisasi penuh", store.size(), count);
+                syncLocked();
+            } else if (rewritten > 0) {
+                log.debug("Resync snapshot barang: {} ditulis ulang", rewritten);
+            }
+        }
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        return a == null || (b != null && b.isAfter(a)) ? b : a;
+    }
+
+    // seperti event UPDATED: hanya versi yang lebih baru dari isi snapshot dan dari barang yang baru dihapus
+    private synchronized boolean putFromResync(Barang barang) {
+        long id = barang.getId();
+        if (barang.getVersi() <= store.versiOf(id) || barang.getVersi() < removedVersi.getOrDefault(id, -1L)) {
+            return false;
+        }
+        write(() -> store.put(barang));
+        removedVersi.remove(id);
+        return true;
+    }
+
+    private synchronized boolean putFromSync(Barang barang) {
+        if (changedDuringSync.contains(barang.getId()) || store.versiOf(barang.getId()) == barang.getVersi()) {
+            return false;
+        }
+        write(() -> store.put(barang));
+        return true;
+    }
+
+    private synchronized boolean removeFromSync(long id) {
+        if (changedDuringSync.contains(id)) {
+            return false;
+        }
+        write(() -> store.remove(id));
+        return true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBarangChanged(BarangChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        apply(event);
+        if (store.needsCompaction() && compactionScheduled.compareAndSet(false, true)) {
+            scheduler.execute(this::compactQuietly);
+        }
+    }
+
+    private void compactQuietly() {
+        compactionScheduled.set(false);
+        try {
+            store.compactIfNeeded();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Compaction snapshot barang gagal", e);
+        }
+    }
+
+    private synchronized void apply(BarangChangedEvent event) {
+        if (syncing) {
+            changedDuringSync.add(event.getId());
+        }
+        long id = event.getId();
+        switch (event.getType()) {
+            case CREATED, UPDATED -> {
+                if (event.getVersi() > store.versiOf(id) && event.getVersi() > removedVersi.getOrDefault(id, -1L)) {
+                    write(() -> store.put(event.getBarang()));
+                    removedVersi.remove(id);
+                }
+            }
+            case ADJUSTED -> {
+                Barang barang = store.findById(id);
+                if (barang == null || event.getVersi() <= barang.getVersi()) {
+                    return;
+                }
+                if (event.getVersi() == barang.getVersi() + 1) {
+                    barang.setJumlah(event.getJumlah());
+                    barang.setVersi(event.getVersi());
+                    barang.setUpdatedAt(LocalDateTime.now());
+                    write(() -> store.put(barang));
+                } else {
+                    // perubahan di antaranya (mungkin UPDATE nama/nomor seri) belum tiba: baris tidak lagi bisa
+                    // dipercaya, baca diteruskan ke cache/database sampai ada UPDATED/CREATED yang lebih baru
+                    write(() -> store.remove(id));
+                    removedVersi.put(id, event.getVersi());
+                }
+            }
+            case DELETED -> {
+                write(() -> store.remove(id));
+                removedVersi.put(id, Long.MAX_VALUE);
+            }
+        }
+    }
+
+    private interface Write {
+        void run() throws IOException;
+    }
+
+    private static void write(Write write) {
+        try {
+            write.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menulis snapshot barang", e);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (store != null) {
+            store.close();
+        }
+    }
+}
@@ -0,0 +1,544 @@
+package com.domain.snapshot;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+import com.domain.models.entity.Barang;
+
+// file log append-only yang di-memory-map, berisi setiap versi barang (dan tombstone untuk barang yang dihapus).
+//
+// Header file 16 byte (magic, versi format), lalu record:
+//   int panjang | long id | long versi | long updatedAt (mikrodetik UTC, 0 = null) | int jumlah | int batasStok
+//   | byte jenis
+//   | short panjang nama | nama UTF-8 | short panjang nomor seri | nomor seri UTF-8
+// Panjang record ditulis paling akhir sebagai penanda commit, sehingga record yang terpotong (proses mati
+// di tengah penulisan) diabaikan saat file dibuka lagi.
+//
+// Index id -> offset dan nomorSeri -> offset berupa array primitif open addressing (linear probing), bukan
+// objek Barang, sehingga ukuran katalog tidak menambah objek yang harus ditelusuri GC. Record tidak pernah
+// diubah setelah ditulis; pembaca memakai optimistic read StampedLock terhadap index.
+// Jika file penuh, record yang masih hidup disalin ke file baru (compaction) yang kapasitasnya bisa membesar.
+// Pemakai menjalankan compactIfNeeded di thread sendiri begitu needsCompaction, sebelum file benar-benar penuh.
+class SnapshotStore implements AutoCloseable {
+
+    private static final int MAGIC = 0x42524731; // "BRG1"
+
+    private static final int HEADER_SIZE = 16;
+
+    // posisi field di dalam record
+    private static final int ID = 4;
+
+    private static final int VERSI = 12;
+
+    private static final int UPDATED_AT = 20;
+
+    private static final int JUMLAH = 28;
+
+    private static final int BATAS_STOK = 32;
+
+    private static final int JENIS = 36;
+
+    private static final int NAMA = 37;
+
+    // record tanpa isi nama dan nomor seri
+    private static final int FIXED_SIZE = NAMA + 2 + 2;
+
+    private static final byte DATA = 1;
+
+    private static final byte TOMBSTONE = 2;
+
+    // versi format record; file dengan versi lain dikosongkan lalu diisi ulang dari database (sync)
+    private static final int FORMAT = 2;
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private final Path path;
+
+    private final StampedLock lock = new StampedLock();
+
+    private FileChannel channel;
+
+    private MappedByteBuffer buffer;
+
+    // dibaca needsCompaction tanpa lock
+    private volatile int end;
+
+    private int liveBytes;
+
+    private int size;
+
+    // index id: ids[i] == 0 -> slot kosong (id barang selalu > 0)
+    private long[] ids;
+
+    private int[] idOffsets;
+
+    // index nomor seri: serialOffsets[i] == 0 -> slot kosong; serialHashes untuk menghindari membaca record
+    private long[] serialHashes;
+
+    private int[] serialOffsets;
+
+    private SnapshotStore(Path path) {
+        this.path = path;
+    }
+
+    // membuka (atau membuat) file lalu membangun index dengan membaca seluruh record secara berurutan
+    static SnapshotStore open(Path path, int initialCapacity) throws IOException {
+        SnapshotStore store = new SnapshotStore(path);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        boolean exists = Files.exists(path) && Files.size(path) >= HEADER_SIZE;
+        int capacity = exists ? (int) Math.max(Files.size(path), initialCapacity) : initialCapacity;
+        store.map(capacity);
+        if (!exists || store.buffer.getInt(0) != MAGIC || store.buffer.getInt(4) != FORMAT) {
+            store.buffer.putInt(0, MAGIC);
+            store.buffer.putInt(4, FORMAT);
+            store.buffer.putInt(HEADER_SIZE, 0);
+        }
+        store.load();
+        return store;
+    }
+
+    private void map(int capacity) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    private void load() {
+        resetIndexes(1024);
+        int position = HEADER_SIZE;
+        while (position + 4 <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + length > buffer.capacity()) {
+                break;
+            }
+            if (buffer.get(position + JENIS) == TOMBSTONE) {
+                removeIndex(buffer.getLong(position + ID));
+            } else {
+                putIndex(position);
+            }
+            position += length;
+        }
+        end = position;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int fileSize() {
+        return buffer.capacity();
+    }
+
+    // ---------------------------------------------------------------- baca
+
+    Barang findById(long id) {
+        long stamp = lock.tryOptimisticRead();
+        try {
+            int offset = offsetOf(id);
+            Barang barang = offset == 0 ? null : read(offset);
+            if (lock.validate(stamp)) {
+                return barang;
+            }
+        } catch (RuntimeException e) {
+            // index sedang diubah penulis; ulangi dengan read lock
+        }
+        stamp = lock.readLock();
+        try {
+            int offset = offsetOf(id);
+            return offset == 0 ? null : read(offset);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    Barang findByNomorSeri(String nomorSeri) {
+        long stamp = lock.tryOptimisticRead();
+        try {
+            int offset = offsetOfSerial(nomorSeri);
+            Barang barang = offset == 0 ? null : read(offset);
+            if (lock.validate(stamp)) {
+                return barang;
+            }
+        } catch (RuntimeException e) {
+            // index sedang diubah penulis; ulangi dengan read lock
+        }
+        stamp = lock.readLock();
+        try {
+            int offset = offsetOfSerial(nomorSeri);
+            return offset == 0 ? null : read(offset);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // versi barang, -1 jika tidak ada
+    long versiOf(long id) {
+        long stamp = lock.readLock();
+        try {
+            int offset = offsetOf(id);
+            return offset == 0 ? -1 : buffer.getLong(offset + VERSI);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // semua id yang masih hidup, terurut
+    long[] ids() {
+        long stamp = lock.readLock();
+        try {
+            long[] result = new long[size];
+            int n = 0;
+            for (long id : ids) {
+                if (id != 0) {
+                    result[n++] = id;
+                }
+            }
+            Arrays.sort(result);
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Barang read(int offset) {
+        long id = buffer.getLong(offset + ID);
+        long versi = buffer.getLong(offset + VERSI);
+        long updatedAt = buffer.getLong(offset + UPDATED_AT);
+        int jumlah = buffer.getInt(offset + JUMLAH);
+        int batasStok = buffer.getInt(offset + BATAS_STOK);
+        int position = offset + NAMA;
+        String nama = readString(position);
+        position += 2 + buffer.getShort(position);
+        String nomorSeri = readString(position);
+
+        Barang barang = new Barang(id, nama, jumlah == NULL_INT ? null : jumlah, nomorSeri);
+        barang.setBatasStok(batasStok == NULL_INT ? null : batasStok);
+        barang.setVersi(versi);
+        if (updatedAt != 0) {
+            barang.setUpdatedAt(LocalDateTime.ofEpochSecond(Math.floorDiv(updatedAt, 1_000_000L),
+                    (int) Math.floorMod(updatedAt, 1_000_000L) * 1000, ZoneOffset.UTC));
+        }
+        return barang;
+    }
+
+    private String readString(int position) {
+        byte[] bytes = new byte[buffer.getShort(position)];
+        buffer.get(position + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private String serialAt(int offset) {
+        int position = offset + NAMA;
+        return readString(position + 2 + buffer.getShort(position));
+    }
+
+    // ---------------------------------------------------------------- tulis (dipanggil oleh satu penulis)
+
+    synchronized void put(Barang barang) throws IOException {
+        byte[] nama = bytes(barang.getNama());
+        byte[] nomorSeri = bytes(barang.getNomorSeri());
+        int length = FIXED_SIZE + nama.length + nomorSeri.length;
+        ensureCapacity(length);
+
+        int offset = end;
+        buffer.putLong(offset + ID, barang.getId());
+        buffer.putLong(offset + VERSI, barang.getVersi());
+        buffer.putLong(offset + UPDATED_AT, micros(barang.getUpdatedAt()));
+        buffer.putInt(offset + JUMLAH, barang.getJumlah() == null ? NULL_INT : barang.getJumlah());
+        buffer.putInt(offset + BATAS_STOK, barang.getBatasStok() == null ? NULL_INT : barang.getBatasStok());
+        buffer.put(offset + JENIS, DATA);
+        int position = writeString(offset + NAMA, nama);
+        writeString(position, nomorSeri);
+        commit(offset, length);
+
+        long stamp = lock.writeLock();
+        try {
+            putIndex(offset);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    synchronized void remove(long id) throws IOException {
+        if (offsetOf(id) == 0) {
+            return;
+        }
+        int length = FIXED_SIZE;
+        ensureCapacity(length);
+        int offset = end;
+        buffer.putLong(offset + ID, id);
+        buffer.put(offset + JENIS, TOMBSTONE);
+        buffer.putShort(offset + NAMA, (short) 0);
+        buffer.putShort(offset + NAMA + 2, (short) 0);
+        commit(offset, length);
+
+        long stamp = lock.writeLock();
+        try {
+            removeIndex(id);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // penanda akhir file ditulis dulu, baru panjang record (commit)
+    private void commit(int offset, int length) {
+        if (offset + length + 4 <= buffer.capacity()) {
+            buffer.putInt(offset + length, 0);
+        }
+        buffer.putInt(offset, length);
+        end = offset + length;
+    }
+
+    private int writeString(int position, byte[] bytes) {
+        buffer.putShort(position, (short) bytes.length);
+        buffer.put(position + 2, bytes);
+        return position + 2 + bytes.length;
+    }
+
+    private static byte[] bytes(String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Teks terlalu panjang untuk snapshot.");
+        }
+        return bytes;
+    }
+
+    private static long micros(LocalDateTime value) {
+        if (value == null) {
+            return 0;
+        }
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1000;
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if (end + length + 4 <= buffer.capacity()) {
+            return;
+        }
+        long needed = (long) HEADER_SIZE + liveBytes + length + 4;
+        long capacity = Math.max(buffer.capacity(), needed * 2);
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot barang melebihi 2 GB.");
+        }
+        compact((int) capacity);
+    }
+
+    // file sudah terisi lebih dari tiga perempat
+    boolean needsCompaction() {
+        return end > buffer.capacity() - buffer.capacity() / 4;
+    }
+
+    // kapasitas baru dua kali data hidup, sehingga setelah compaction file paling banyak terisi setengah
+    synchronized void compactIfNeeded() throws IOException {
+        if (!needsCompaction()) {
+            return;
+        }
+        long capacity = Math.max(buffer.capacity(), ((long) HEADER_SIZE + liveBytes) * 2);
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot barang melebihi 2 GB.");
+        }
+        compact((int) capacity);
+    }
+
+    // menyalin record hidup ke file baru lalu menggantikan file lama secara atomik
+    private void compact(int capacity) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.deleteIfExists(tmp);
+        try (FileChannel target = FileChannel.open(tmp, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer copy = target.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            copy.putInt(0, MAGIC);
+            copy.putInt(4, FORMAT);
+            int position = HEADER_SIZE;
+            int[] offsets = idOffsets.clone();
+            Arrays.sort(offsets);
+            for (int offset : offsets) {
+                if (offset == 0) {
+                    continue;
+                }
+                int length = buffer.getInt(offset);
+                copy.put(position, buffer, offset, length);
+                position += length;
+            }
+            copy.putInt(position, 0);
+            copy.force();
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            channel.close();
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            map(capacity);
+            load();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    // ---------------------------------------------------------------- index primitif
+
+    private void resetIndexes(int capacity) {
+        ids = new long[capacity];
+        idOffsets = new int[capacity];
+        serialHashes = new long[capacity];
+        serialOffsets = new int[capacity];
+        size = 0;
+        liveBytes = 0;
+    }
+
+    private int offsetOf(long id) {
+        long[] keys = ids;
+        int mask = keys.length - 1;
+        for (int i = slot(id, mask);; i = (i + 1) & mask) {
+            if (keys[i] == id) {
+                return idOffsets[i];
+            }
+            if (keys[i] == 0) {
+                return 0;
+            }
+        }
+    }
+
+    private int offsetOfSerial(String nomorSeri) {
+        long hash = hash(nomorSeri);
+        int mask = serialOffsets.length - 1;
+        for (int i = slot(hash, mask);; i = (i + 1) & mask) {
+            int offset = serialOffsets[i];
+            if (offset == 0) {
+                return 0;
+            }
+            if (serialHashes[i] == hash && serialAt(offset).equals(nomorSeri)) {
+                return offset;
+            }
+        }
+    }
+
+    // record di offset menjadi versi terbaru barang tersebut
+    private void putIndex(int offset) {
+        long id = buffer.getLong(offset + ID);
+        int previous = offsetOf(id);
+        if (previous != 0) {
+            removeSerial(serialAt(previous), previous);
+            liveBytes -= buffer.getInt(previous);
+        } else {
+            if ((size + 1) * 2 > ids.length) {
+                resize(ids.length * 2);
+            }
+            size++;
+        }
+        liveBytes += buffer.getInt(offset);
+
+        int mask = ids.length - 1;
+        int i = slot(id, mask);
+        while (ids[i] != 0 && ids[i] != id) {
+            i = (i + 1) & mask;
+        }
+        idOffsets[i] = offset;
+        ids[i] = id;
+
+        long hash = hash(serialAt(offset));
+        int j = slot(hash, mask);
+        while (serialOffsets[j] != 0) {
+            j = (j + 1) & mask;
+        }
+        serialHashes[j] = hash;
+        serialOffsets[j] = offset;
+    }
+
+    private void removeIndex(long id) {
+        int mask = ids.length - 1;
+        int i = slot(id, mask);
+        while (ids[i] != id) {
+            if (ids[i] == 0) {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        int offset = idOffsets[i];
+        removeSerial(serialAt(offset), offset);
+        liveBytes -= buffer.getInt(offset);
+        size--;
+
+        // backward shift deletion: geser entri berikutnya agar rantai probing tidak terputus
+        int gap = i;
+        for (int j = (gap + 1) & mask; ids[j] != 0; j = (j + 1) & mask) {
+            int ideal = slot(ids[j], mask);
+            if (((j - ideal) & mask) >= ((j - gap) & mask)) {
+                ids[gap] = ids[j];
+                idOffsets[gap] = idOffsets[j];
+                gap = j;
+            }
+        }
+        ids[gap] = 0;
+        idOffsets[gap] = 0;
+    }
+
+    private void removeSerial(String nomorSeri, int offset) {
+        long hash = hash(nomorSeri);
+        int mask = serialOffsets.length - 1;
+        int i = slot(hash, mask);
+        while (serialOffsets[i] != offset) {
+            if (serialOffsets[i] == 0) {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+
+        int gap = i;
+        for (int j = (gap + 1) & mask; serialOffsets[j] != 0; j = (j + 1) & mask) {
+            int ideal = slot(serialHashes[j], mask);
+            if (((j - ideal) & mask) >= ((j - gap) & mask)) {
+                serialHashes[gap] = serialHashes[j];
+                serialOffsets[gap] = serialOffsets[j];
+                gap = j;
+            }
+        }
+        serialHashes[gap] = 0;
+        serialOffsets[gap] = 0;
+    }
+
+    private void resize(int capacity) {
+        int[] offsets = idOffsets;
+        resetIndexes(capacity);
+        for (int offset : offsets) {
+            if (offset != 0) {
+                putIndex(offset);
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,88 @@
+package com.domain.validation;
+
+import com.domain.models.entity.Barang;
+
+// satu-satunya tempat aturan validasi isi Barang, dipakai oleh BarangService dan oleh @Valid di controller
+// (lewat @ValidBarang).
+//
+// Pengecekan karakter memakai perulangan char biasa, bukan String.matches(), sehingga tidak ada Pattern
+// yang dikompilasi maupun Matcher yang dibuat di setiap request. Pesan yang dikembalikan berupa konstanta.
+public final class BarangValidator {
+
+    public static final String NAMA_KOSONG = "Nama barang tidak boleh kosong.";
+
+    public static final String NOMOR_SERI_KOSONG = "Nomor seri tidak boleh kosong.";
+
+    public static final String JUMLAH_TIDAK_VALID =
+            "Jumlah tidak boleh kosong dan harus berupa angka yang lebih besar dari 0.";
+
+    public static final String NAMA_TIDAK_VALID =
+            "Nama barang harus berupa teks dan tidak boleh mengandung angka atau karakter khusus.";
+
+    public static final String NOMOR_SERI_TIDAK_VALID =
+            "Nomor seri harus berupa teks dan tidak boleh mengandung karakter khusus.";
+
+    public static final String BATAS_STOK_TIDAK_VALID = "Batas stok tidak boleh bernilai negatif.";
+
+    private BarangValidator() {}
+
+    // mengembalikan pesan kesalahan pertama, atau null jika barang valid
+    public static String validate(Barang barang) {
+        String nama = barang.getNama();
+        String nomorSeri = barang.getNomorSeri();
+
+        if (nama == null || nama.isEmpty()) {
+            return NAMA_KOSONG;
+        }
+        if (nomorSeri == null || nomorSeri.isEmpty()) {
+            return NOMOR_SERI_KOSONG;
+        }
+        if (barang.getJumlah() == null || barang.getJumlah() <= 0) {
+            return JUMLAH_TIDAK_VALID;
+        }
+        if (!isHurufSpasi(nama)) {
+            return NAMA_TIDAK_VALID;
+        }
+        if (!isAlfanumerik(nomorSeri)) {
+            return NOMOR_SERI_TIDAK_VALID;
+        }
+        if (barang.getBatasStok() != null && barang.getBatasStok() < 0) {
+            return BATAS_STOK_TIDAK_VALID;
+        }
+        return null;
+    }
+
+    // sama dengan ^[a-zA-Z ]+$
+    public static boolean isHurufSpasi(String text) {
+        int length = text.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (!isHuruf(c) && c != ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // sama dengan ^[a-zA-Z0-9]+$
+    public static boolean isAlfanumerik(String text) {
+        int length = text.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (!isHuruf(c) && (c < '0' || c > '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHuruf(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
@@ -0,0 +1,24 @@
+package com.domain.validation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+// constraint Bean Validation tingkat kelas untuk Barang, aturan ada di BarangValidator
+@Documented
+@Constraint(validatedBy = ValidBarangValidator.class)
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidBarang {
+
+    String message() default "Barang tidak valid.";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,24 @@
+package com.domain.validation;
+
+import com.domain.models.entity.Barang;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+// menghubungkan @ValidBarang dengan BarangValidator, pesan kesalahan sama dengan pesan dari BarangService
+public class ValidBarangValidator implements ConstraintValidator<ValidBarang, Barang> {
+
+    @Override
+    public boolean isValid(Barang barang, ConstraintValidatorContext context) {
+        if (barang == null) {
+            return true;
+        }
+        String message = BarangValidator.validate(barang);
+        if (message == null) {
+            return true;
+        }
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(message).addConstraintViolation();
+        return false;
+    }
+}
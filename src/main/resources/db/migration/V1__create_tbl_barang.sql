@@ -0,0 +1,10 @@
+-- skema awal tbl_barang, sama persis dengan hasil ddl-auto=update sebelum Flyway dipakai. Database lama yang
+-- sudah berisi tabel ini ditandai sebagai versi 0 oleh spring.flyway.baseline-on-migrate, sehingga script ini
+-- tetap dijalankan (if not exists -> tidak mengubah apa pun) dan kolom/constraint berikutnya ditambahkan oleh V2
+create table if not exists tbl_barang (
+    id bigint not null auto_increment,
+    jumlah integer,
+    nama varchar(255),
+    nomor_seri varchar(255),
+    primary key (id)
+) engine=InnoDB;
@@ -0,0 +1,6 @@
+-- versi (optimistic locking/ETag), waktu perubahan terakhir dan keunikan nama/nomor seri. Di database lama,
+-- nama atau nomor seri yang duplikat harus dibereskan dulu, jika tidak migrasi ini gagal di constraint unik
+alter table tbl_barang add column updated_at datetime(6);
+alter table tbl_barang add column versi bigint not null default 0;
+alter table tbl_barang add constraint uk_barang_nama unique (nama);
+alter table tbl_barang add constraint uk_barang_nomor_seri unique (nomor_seri);
@@ -0,0 +1,24 @@
+-- ledger mutasi stok (append-only) dan snapshot saldo per barang, lihat StockLedger.
+-- seq naik terus dan dipakai sebagai urutan mutasi; snapshot menyimpan saldo barang sampai seq tertentu
+create table tbl_stok_mutasi (
+    seq bigint not null auto_increment,
+    barang_id bigint not null,
+    delta integer not null,
+    alasan varchar(16) not null,
+    waktu datetime(6) not null,
+    primary key (seq),
+    index idx_stok_mutasi_barang_seq (barang_id, seq)
+) engine=InnoDB;
+
+create table tbl_stok_snapshot (
+    seq bigint not null,
+    barang_id bigint not null,
+    jumlah integer not null,
+    waktu datetime(6) not null,
+    primary key (seq),
+    index idx_stok_snapshot_barang_seq (barang_id, seq)
+) engine=InnoDB;
+
+-- saldo awal barang yang sudah ada sebelum ledger dibuat
+insert into tbl_stok_mutasi (barang_id, delta, alasan, waktu)
+select id, coalesce(jumlah, 0), 'INITIAL', current_timestamp(6) from tbl_barang order by id;
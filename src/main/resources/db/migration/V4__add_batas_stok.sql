@@ -0,0 +1,2 @@
+-- titik reorder per barang (opsional), lihat ReorderEngine
+alter table tbl_barang add column batas_stok integer;
@@ -0,0 +1,25 @@
+-- stok per gudang, lihat GudangService.
+-- total per gudang (tbl_gudang.total) dan total stok yang sudah ditempatkan per barang (tbl_barang.jumlah_gudang)
+-- disimpan dan diperbarui di setiap mutasi, bukan dihitung dengan SUM saat dibaca
+create table tbl_gudang (
+    id bigint not null auto_increment,
+    kode varchar(32) not null,
+    nama varchar(255) not null,
+    total bigint not null default 0,
+    primary key (id),
+    constraint uk_gudang_kode unique (kode)
+) engine=InnoDB;
+
+create table tbl_stok_gudang (
+    id bigint not null auto_increment,
+    barang_id bigint not null,
+    gudang_id bigint not null,
+    jumlah integer not null,
+    primary key (id),
+    constraint uk_stok_gudang_barang_gudang unique (barang_id, gudang_id),
+    index idx_stok_gudang_gudang (gudang_id)
+) engine=InnoDB;
+
+-- jumlah tetap total stok barang; jumlah - jumlah_gudang = stok yang belum ditempatkan di gudang mana pun
+alter table tbl_barang add column jumlah_gudang integer not null default 0;
+alter table tbl_barang add constraint ck_barang_jumlah_gudang check (jumlah >= jumlah_gudang);
@@ -0,0 +1,2 @@
+-- baris yang berubah sejak waktu tertentu, dibaca berkala oleh BarangSnapshot (resync antar instance)
+create index idx_barang_updated_at on tbl_barang (updated_at);
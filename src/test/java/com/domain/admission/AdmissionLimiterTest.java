@@ -0,0 +1,179 @@
+package com.domain.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// admission control tanpa Spring: antrean prioritas, penolakan 429/503 dan limit AIMD
+public class AdmissionLimiterTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private AdmissionLimiter limiter(int limit, Map<RequestClass, Integer> classLimits, int maxQueue,
+            Duration maxWait) {
+        return new AdmissionLimiter(new AimdLimit(limit, 1, 100, Duration.ofMillis(100), 0.5), classLimits,
+                maxQueue, maxWait, meterRegistry);
+    }
+
+    // menunggu sampai antrean kelas berisi sebanyak expected
+    private static void awaitQueued(AdmissionLimiter limiter, RequestClass requestClass, int expected)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.queued(requestClass) != expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Antrean " + requestClass + " tidak mencapai " + expected);
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private double rejected(RequestClass requestClass, String reason) {
+        return meterRegistry.counter("barang.admission.rejected", "class", requestClass.tag(), "reason", reason)
+                .count();
+    }
+
+    // TC01 - izin yang dilepas diberikan ke READ lebih dulu walaupun BULK sudah menunggu lebih lama
+    @Test
+    void testReadIsGrantedBeforeBulk() throws Exception {
+        AdmissionLimiter limiter = limiter(1, Map.of(), 10, Duration.ofSeconds(5));
+        limiter.acquire(RequestClass.WRITE);
+
+        List<RequestClass> order = new CopyOnWriteArrayList<>();
+        Future<?> bulk = executor.submit(() -> {
+            limiter.acquire(RequestClass.BULK);
+            order.add(RequestClass.BULK);
+            limiter.release(RequestClass.BULK, 0, false);
+            return null;
+        });
+        awaitQueued(limiter, RequestClass.BULK, 1);
+        Future<?> read = executor.submit(() -> {
+            limiter.acquire(RequestClass.READ);
+            order.add(RequestClass.READ);
+            limiter.release(RequestClass.READ, 0, false);
+            return null;
+        });
+        awaitQueued(limiter, RequestClass.READ, 1);
+
+        limiter.release(RequestClass.WRITE, 0, false);
+        read.get(5, TimeUnit.SECONDS);
+        bulk.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(RequestClass.READ, RequestClass.BULK), order);
+        assertEquals(0, limiter.inFlight(RequestClass.READ) + limiter.inFlight(RequestClass.BULK));
+    }
+
+    // TC02 - antrean penuh: READ menggantikan BULK yang menunggu, BULK baru langsung ditolak 503
+    @Test
+    void testQueueFullEvictsLowerPriority() throws Exception {
+        AdmissionLimiter limiter = limiter(1, Map.of(), 1, Duration.ofSeconds(5));
+        limiter.acquire(RequestClass.WRITE);
+
+        Future<?> bulk = executor.submit(() -> {
+            limiter.acquire(RequestClass.BULK);
+            return null;
+        });
+        awaitQueued(limiter, RequestClass.BULK, 1);
+
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class,
+                () -> limiter.acquire(RequestClass.BULK));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, thrown.getStatusCode());
+        assertEquals(1, rejected(RequestClass.BULK, "queue_full"));
+
+        Future<?> read = executor.submit(() -> {
+            limiter.acquire(RequestClass.READ);
+            return null;
+        });
+        awaitQueued(limiter, RequestClass.READ, 1);
+        Exception evicted = assertThrows(Exception.class, () -> bulk.get(5, TimeUnit.SECONDS));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ((ResponseStatusException) evicted.getCause()).getStatusCode());
+        assertEquals(1, rejected(RequestClass.BULK, "evicted"));
+
+        limiter.release(RequestClass.WRITE, 0, false);
+        read.get(5, TimeUnit.SECONDS);
+        assertEquals(1, limiter.inFlight(RequestClass.READ));
+    }
+
+    // TC03 - kelas yang mencapai batasnya ditolak 429 setelah maxWait, kelas lain tetap berjalan
+    @Test
+    void testClassLimitRejectsWithTooManyRequests() throws Exception {
+        AdmissionLimiter limiter = limiter(10, Map.of(RequestClass.BULK, 1), 10, Duration.ofMillis(50));
+        limiter.acquire(RequestClass.BULK);
+
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class,
+                () -> limiter.acquire(RequestClass.BULK));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, thrown.getStatusCode());
+        assertEquals(1, rejected(RequestClass.BULK, "timeout"));
+        assertEquals(0, limiter.queued(RequestClass.BULK));
+
+        limiter.acquire(RequestClass.READ);
+        assertEquals(1, limiter.inFlight(RequestClass.READ));
+        assertEquals(1.0, meterRegistry.get("barang.admission.in_flight").tag("class", "bulk").gauge().value());
+    }
+
+    // TC04 - limit turun sekali per threshold saat latensi tinggi, lalu naik perlahan saat normal
+    @Test
+    void testAimdLimit() {
+        AimdLimit limit = new AimdLimit(20, 4, 100, Duration.ofMillis(100), 0.5);
+        long now = System.nanoTime();
+
+        limit.onSample(200 * MS, 20, now);
+        assertEquals(10, limit.get());
+        // sampel lambat lain di jendela threshold yang sama tidak menurunkan lagi
+        limit.onSample(200 * MS, 20, now + 10 * MS);
+        assertEquals(10, limit.get());
+        limit.onSample(200 * MS, 20, now + 200 * MS);
+        assertEquals(5, limit.get());
+        limit.onSample(200 * MS, 20, now + 400 * MS);
+        assertEquals(4, limit.get());
+
+        // limit yang tidak terpakai tidak dinaikkan
+        limit.onSample(10 * MS, 1, now + 500 * MS);
+        assertEquals(4, limit.get());
+        // +1/limit per sampel: sekitar satu "putaran" (limit) sampel untuk naik 1
+        for (int i = 0; i < 5; i++) {
+            limit.onSample(10 * MS, 4, now + 500 * MS);
+        }
+        assertEquals(5, limit.get());
+    }
+
+    // TC05 - kelas endpoint dari method dan path
+    @Test
+    void testClassify() {
+        assertEquals(RequestClass.READ, AdmissionFilter.classify("GET", "/api/barang/5"));
+        assertEquals(RequestClass.READ, AdmissionFilter.classify("GET", "/api/barang/stok-menipis"));
+        assertEquals(RequestClass.BULK, AdmissionFilter.classify("GET", "/api/barang"));
+        assertEquals(RequestClass.BULK, AdmissionFilter.classify("GET", "/api/barang/export"));
+        assertEquals(RequestClass.READ, AdmissionFilter.classify("GET", "/api/barang/search"));
+        assertEquals(RequestClass.BULK, AdmissionFilter.classify("POST", "/api/barang/import"));
+        assertEquals(RequestClass.WRITE, AdmissionFilter.classify("POST", "/api/barang"));
+        assertEquals(RequestClass.WRITE, AdmissionFilter.classify("POST", "/api/barang/5/adjust"));
+        assertEquals(RequestClass.READ, AdmissionFilter.classify("GET", "/api/gudang"));
+        assertEquals(RequestClass.WRITE, AdmissionFilter.classify("POST", "/api/gudang"));
+        assertNull(AdmissionFilter.classify("GET", "/api/barang/events"));
+        assertNull(AdmissionFilter.classify("GET", "/actuator/prometheus"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.domain.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.domain.models.entity.Barang;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+// serialisasi daftar Barang (jalur GET /api/barang) dalam JSON dan format biner (WireFormatConfig).
+// Ukuran payload (mentah dan setelah gzip) dicetak sekali per kombinasi parameter saat setup:
+//   mvn -Pbenchmark verify -Djmh.include=BarangJsonBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BarangJsonBenchmark {
+
+    @Param({ "100", "10000" })
+    private int size;
+
+    @Param({ "json", "cbor", "smile" })
+    private String format;
+
+    private ObjectMapper objectMapper;
+
+    private List<Barang> barangs;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> new CBORMapper();
+            case "smile" -> new SmileMapper();
+            default -> new ObjectMapper();
+        };
+        barangs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            barangs.add(new Barang(i + 1, BarangServiceBenchmark.nama(i), i % 500 + 1, "SERI" + i));
+        }
+        json = objectMapper.writeValueAsBytes(barangs);
+        System.out.printf("%n[payload] %s size=%d: %d byte, gzip %d byte%n", format, size, json.length,
+                gzip(json).length);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(barangs);
+    }
+
+    @Benchmark
+    public Barang[] deserializeList() throws Exception {
+        return objectMapper.readValue(json, Barang[].class);
+    }
+}
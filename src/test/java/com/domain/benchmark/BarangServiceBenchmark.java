@@ -0,0 +1,126 @@
+package com.domain.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.domain.DemoApiApplication;
+import com.domain.models.entity.Barang;
+import com.domain.services.BarangService;
+
+// benchmark BarangService (service + repository + JPA) terhadap H2 in-memory dalam mode MySQL.
+// angka absolut berbeda dengan MySQL sungguhan, gunakan untuk membandingkan antar commit:
+//   mvn -Pbenchmark verify -Djmh.include=BarangServiceBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BarangServiceBenchmark {
+
+    private static final String[] HURUF = { "Alfa", "Bravo", "Charlie", "Delta", "Echo", "Foxtrot", "Golf",
+            "Hotel", "India", "Juliet" };
+
+    @Param({ "10000" })
+    private int rows;
+
+    @Param({ "true", "false" })
+    private boolean cache;
+
+    private ConfigurableApplicationContext context;
+
+    private BarangService barangService;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private long minId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "barang.search.index.enabled=false",
+                        "barang.cache.enabled=" + cache,
+                        "logging.level.root=WARN")
+                .run();
+        barangService = context.getBean(BarangService.class);
+
+        List<Barang> seed = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            seed.add(new Barang(0L, nama(sequence.incrementAndGet()), 10, "SEED" + i));
+        }
+        barangService.saveBatch(seed);
+        minId = seed.get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Barang save() throws Exception {
+        long n = sequence.incrementAndGet();
+        return barangService.save(new Barang(0L, nama(n), 5, "BENCH" + n));
+    }
+
+    @Benchmark
+    public Barang update() throws Exception {
+        long id = randomId();
+        Barang current = barangService.findOne(id).get();
+        return barangService.update(id, new Barang(id, current.getNama(),
+                ThreadLocalRandom.current().nextInt(1, 1000), current.getNomorSeri()));
+    }
+
+    @Benchmark
+    public Barang findOne() {
+        return barangService.findOne(randomId()).get();
+    }
+
+    @Benchmark
+    public Iterable<Barang> findAll() {
+        return barangService.findAll();
+    }
+
+    @Benchmark
+    public List<Barang> findByName() {
+        return barangService.findByName(HURUF[ThreadLocalRandom.current().nextInt(HURUF.length)]);
+    }
+
+    private long randomId() {
+        return minId + ThreadLocalRandom.current().nextInt(rows);
+    }
+
+    // nama hanya boleh huruf dan spasi, jadi angka urut diubah menjadi kata
+    static String nama(long n) {
+        StringBuilder nama = new StringBuilder("Barang");
+        for (char digit : Long.toString(n).toCharArray()) {
+            nama.append(' ').append(HURUF[digit - '0']);
+        }
+        return nama.toString();
+    }
+}
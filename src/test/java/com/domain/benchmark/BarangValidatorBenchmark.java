@@ -0,0 +1,40 @@
+package com.domain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.domain.models.entity.Barang;
+import com.domain.validation.BarangValidator;
+
+// membandingkan validasi lama (String.matches) dengan BarangValidator pada jalur create.
+// jalankan dengan profiler gc untuk melihat alokasi per operasi (gc.alloc.rate.norm):
+//   mvn -Pbenchmark verify -Djmh.include=BarangValidatorBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BarangValidatorBenchmark {
+
+    private final Barang barang = new Barang(0L, "Kabel Listrik Tembaga", 25, "KBL00123XZ");
+
+    @Benchmark
+    public boolean regexMatches() {
+        return barang.getNama().matches("^[a-zA-Z ]+$") && barang.getNomorSeri().matches("^[a-zA-Z0-9]+$");
+    }
+
+    @Benchmark
+    public String barangValidator() {
+        return BarangValidator.validate(barang);
+    }
+}
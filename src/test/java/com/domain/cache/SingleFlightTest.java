@@ -0,0 +1,122 @@
+package com.domain.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // menjalankan n pemanggil load(key) bersamaan; loader leader ditahan sampai semua follower bergabung
+    private List<Future<String>> concurrentLoads(SingleFlight<Long, String> flight, int n, CountDownLatch release,
+            Supplier<String> loader) throws InterruptedException {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> flight.load(1L, () -> {
+            leaderStarted.countDown();
+            await(release);
+            return loader.get();
+        })));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        for (int i = 1; i < n; i++) {
+            results.add(executor.submit(() -> flight.load(1L, loader)));
+        }
+        while (registry.get("barang.singleflight.calls").tag("role", "follower").counter().count() < n - 1) {
+            Thread.sleep(5);
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // TC01 - 20 pemanggil bersamaan -> loader hanya dijalankan sekali, semua menerima hasil yang sama
+    @Test
+    void testConcurrentCallsShareOneLoad() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), registry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = concurrentLoads(flight, 20, release, () -> {
+            loads.incrementAndGet();
+            return "barang-1";
+        });
+        release.countDown();
+
+        String first = results.get(0).get();
+        for (Future<String> result : results) {
+            assertSame(first, result.get());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(19.0, registry.get("barang.singleflight.calls").tag("role", "follower").counter().count());
+
+        // query selesai -> pemanggil berikutnya menjalankan load baru
+        flight.load(1L, () -> "barang-1b");
+        assertEquals(2.0, registry.get("barang.singleflight.calls").tag("role", "leader").counter().count());
+    }
+
+    // TC02 - exception loader diteruskan ke leader dan semua follower
+    @Test
+    void testErrorPropagatesToFollowers() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), registry);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = concurrentLoads(flight, 5, release, () -> {
+            throw new TransientDataAccessResourceException("database tidak tersedia");
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, result::get);
+            assertEquals(TransientDataAccessResourceException.class, e.getCause().getClass());
+        }
+    }
+
+    // TC03 - follower berhenti menunggu setelah timeout, leader tetap selesai
+    @Test
+    void testFollowerTimeout() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofMillis(50), registry);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = concurrentLoads(flight, 2, release, () -> "lambat");
+
+        ExecutionException e = assertThrows(ExecutionException.class, results.get(1)::get);
+        assertEquals(QueryTimeoutException.class, e.getCause().getClass());
+        assertEquals(1.0, registry.get("barang.singleflight.timeouts").counter().count());
+
+        release.countDown();
+        assertEquals("lambat", results.get(0).get());
+    }
+}
@@ -0,0 +1,49 @@
+package com.domain.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// sampling log org.hibernate.SQL_SLOW: setiap query lambat dihitung, hanya sebagian yang ditulis
+public class SlowQueryLogSamplerTest {
+
+    private static final Logger slowLog = LoggerFactory.getLogger(SlowQueryLogSampler.LOGGER_NAME);
+
+    private static double count(MeterRegistry registry, String logged) {
+        return registry.get("barang.sql.slow").tag("logged", logged).counter().count();
+    }
+
+    // TC01 - sample-rate 0 -> tidak ada yang ditulis, 1 -> semua ditulis; logger lain tidak tersentuh
+    @Test
+    void testSampling() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        SlowQueryLogSampler sampler = new SlowQueryLogSampler(0, registry);
+        sampler.register();
+        try {
+            for (int i = 0; i < 5; i++) {
+                slowLog.info("Slow query took {} milliseconds [select 1]", 250);
+            }
+            LoggerFactory.getLogger(SlowQueryLogSamplerTest.class).info("bukan query lambat");
+            assertEquals(0, count(registry, "true"));
+            assertEquals(5, count(registry, "false"));
+        } finally {
+            sampler.unregister();
+        }
+
+        registry = new SimpleMeterRegistry();
+        sampler = new SlowQueryLogSampler(1, registry);
+        sampler.register();
+        try {
+            slowLog.info("Slow query took {} milliseconds [select 1]", 250);
+            assertEquals(1, count(registry, "true"));
+            assertEquals(0, count(registry, "false"));
+        } finally {
+            sampler.unregister();
+        }
+    }
+}
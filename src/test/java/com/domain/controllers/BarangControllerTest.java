@@ -0,0 +1,214 @@
+package com.domain.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+// pengujian endpoint BarangController terhadap database H2
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BarangControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long create(String nama, String nomorSeri) throws Exception {
+        String body = mockMvc.perform(post("/api/barang").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nama\":\"" + nama + "\",\"jumlah\":10,\"nomorSeri\":\"" + nomorSeri + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        return json.get("id").asLong();
+    }
+
+    // TC01 - GET dengan If-None-Match yang sama -> 304
+    @Test
+    void testConditionalGet() throws Exception {
+        long id = create("Barang Etag", "ETAG001");
+
+        mockMvc.perform(get("/api/barang/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v0\""));
+
+        mockMvc.perform(get("/api/barang/" + id).header(HttpHeaders.IF_NONE_MATCH, "\"v0\""))
+                .andExpect(status().isNotModified());
+    }
+
+    // TC02 - PUT/DELETE dengan If-Match versi lama -> 412
+    @Test
+    void testOptimisticConcurrency() throws Exception {
+        long id = create("Barang Versi", "VERSI001");
+        String update = "{\"nama\":\"Barang Versi\",\"jumlah\":20,\"nomorSeri\":\"VERSI001\"}";
+
+        mockMvc.perform(put("/api/barang/" + id).header(HttpHeaders.IF_MATCH, "\"v0\"")
+                .contentType(MediaType.APPLICATION_JSON).content(update))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""));
+
+        mockMvc.perform(put("/api/barang/" + id).header(HttpHeaders.IF_MATCH, "\"v0\"")
+                .contentType(MediaType.APPLICATION_JSON).content(update))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/api/barang/" + id).header(HttpHeaders.IF_MATCH, "\"v0\""))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/api/barang/" + id).header(HttpHeaders.IF_MATCH, "\"v1\""))
+                .andExpect(status().isOk());
+    }
+
+    // TC03 - ETag daftar berubah setelah adjust stok
+    @Test
+    void testListEtagChanges() throws Exception {
+        long id = create("Barang Daftar", "LIST001");
+
+        String etag = mockMvc.perform(get("/api/barang")).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/barang").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/barang/" + id + "/adjust").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"delta\":1}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/barang").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    // TC04 - @Valid menolak nama dengan angka dengan pesan yang sama seperti service
+    @Test
+    void testValidationMessage() throws Exception {
+        mockMvc.perform(post("/api/barang").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nama\":\"Barang 1\",\"jumlah\":10,\"nomorSeri\":\"VAL001\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Nama barang harus berupa teks dan tidak boleh mengandung angka atau karakter khusus."));
+    }
+
+    // TC05 - import CSV lewat body request
+    @Test
+    void testImportCsv() throws Exception {
+        mockMvc.perform(post("/api/barang/import").contentType("text/csv")
+                .content("nama,jumlah,nomorSeri\nImport Endpoint,3,IMPEND1\nImport Endpoint,3,IMPEND2\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.rejectedRows[0].line").value(3));
+    }
+
+    // TC06 - Accept CBOR/Smile -> respons biner yang bisa dibaca kembali menjadi Barang
+    @Test
+    void testBinaryContentNegotiation() throws Exception {
+        long id = create("Barang Biner", "CBOR001");
+
+        byte[] cbor = mockMvc.perform(get("/api/barang/" + id).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("CBOR001", new CBORMapper().readTree(cbor).get("nomorSeri").asText());
+
+        byte[] smile = mockMvc.perform(get("/api/barang/" + id).accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("Barang Biner", new SmileMapper().readTree(smile).get("nama").asText());
+    }
+
+    // TC07 - export dengan Accept CBOR -> satu array berisi semua barang
+    @Test
+    void testExportCbor() throws Exception {
+        create("Barang Ekspor", "CBOR002");
+
+        byte[] body = mockMvc.perform(get("/api/barang/export").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode rows = new CBORMapper().readTree(body);
+        assertTrue(rows.isArray());
+        boolean found = false;
+        for (JsonNode row : rows) {
+            found |= "CBOR002".equals(row.get("nomorSeri").asText());
+        }
+        assertTrue(found);
+
+        mockMvc.perform(get("/api/barang/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+    }
+
+    // TC08 - PUT bersamaan: dengan If-Match versi yang sama hanya satu yang berhasil (sisanya 412),
+    // tanpa If-Match yang kalah balapan mendapat 409; tidak ada yang menjadi 500
+    @Test
+    void testConcurrentUpdates() throws Exception {
+        long id = create("Barang Rebutan", "REBUT001");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Integer> ifMatch = putConcurrently(executor, id, "\"v0\"", 20);
+            assertEquals(1, ifMatch.stream().filter(status -> status == 200).count());
+            assertTrue(ifMatch.stream().allMatch(status -> status == 200 || status == 412), ifMatch.toString());
+
+            List<Integer> plain = putConcurrently(executor, id, null, 40);
+            assertTrue(plain.stream().allMatch(status -> status == 200 || status == 409), plain.toString());
+            long versi = 1 + plain.stream().filter(status -> status == 200).count();
+            mockMvc.perform(get("/api/barang/" + id))
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"v" + versi + "\""));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // setiap request mengirim jumlah berbeda (jumlahAwal + i) agar tidak ada update yang tanpa perubahan
+    private List<Integer> putConcurrently(ExecutorService executor, long id, String ifMatch, int jumlahAwal)
+            throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            int jumlah = jumlahAwal + i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                MockHttpServletRequestBuilder request = put("/api/barang/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nama\":\"Barang Rebutan\",\"jumlah\":" + jumlah
+                                + ",\"nomorSeri\":\"REBUT001\"}");
+                if (ifMatch != null) {
+                    request.header(HttpHeaders.IF_MATCH, ifMatch);
+                }
+                return mockMvc.perform(request).andReturn().getResponse().getStatus();
+            }));
+        }
+        start.countDown();
+        List<Integer> statuses = new ArrayList<>();
+        for (Future<Integer> future : futures) {
+            statuses.add(future.get());
+        }
+        return statuses;
+    }
+}
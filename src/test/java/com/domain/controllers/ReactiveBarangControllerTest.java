@@ -0,0 +1,158 @@
+package com.domain.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.domain.ledger.StockLedger;
+import com.domain.models.entity.Barang;
+import com.domain.models.entity.Gudang;
+import com.domain.models.entity.StokMutasi;
+import com.domain.services.GudangService;
+
+// profil "reactive": /api/barang dilayani ReactiveBarangController (WebFlux + R2DBC) terhadap database H2
+// yang sama dengan DataSource JDBC (skema dibuat Hibernate)
+@SpringBootTest(properties = {
+        "barang.r2dbc.url=r2dbc:h2:mem:///demoapi?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "barang.r2dbc.username=sa" })
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+public class ReactiveBarangControllerTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private GudangService gudangService;
+
+    private Barang create(String nama, String nomorSeri) {
+        return client.post().uri("/api/barang").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"nama\":\"" + nama + "\",\"jumlah\":10,\"nomorSeri\":\"" + nomorSeri + "\"}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Barang.class).returnResult().getResponseBody();
+    }
+
+    // TC01 - create lalu GET dengan ETag dan If-None-Match
+    @Test
+    void testCreateAndConditionalGet() {
+        Barang barang = create("Barang Reaktif", "RX001");
+
+        client.get().uri("/api/barang/" + barang.getId()).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"v0\"")
+                .expectBody().jsonPath("$.nomorSeri").isEqualTo("RX001");
+
+        client.get().uri("/api/barang/" + barang.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"v0\"").exchange()
+                .expectStatus().isNotModified();
+
+        client.get().uri("/api/barang/seri/RX001").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.id").isEqualTo(barang.getId());
+    }
+
+    // TC02 - validasi dan unique constraint -> 400 dengan pesan yang sama seperti BarangService
+    @Test
+    void testValidationMessages() {
+        client.post().uri("/api/barang").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"nama\":\"Barang 1\",\"jumlah\":10,\"nomorSeri\":\"RX002\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class)
+                .isEqualTo("Nama barang harus berupa teks dan tidak boleh mengandung angka atau karakter khusus.");
+
+        create("Barang Unik Reaktif", "RX003");
+        client.post().uri("/api/barang").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"nama\":\"Barang Lain Reaktif\",\"jumlah\":10,\"nomorSeri\":\"RX003\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Nomor seri sudah digunakan.");
+    }
+
+    // TC03 - If-Match versi lama -> 412, stok tidak boleh negatif -> 409
+    @Test
+    void testOptimisticConcurrencyAndAdjust() {
+        long id = create("Barang Versi Reaktif", "RX004").getId();
+        String update = "{\"nama\":\"Barang Versi Reaktif\",\"jumlah\":20,\"nomorSeri\":\"RX004\"}";
+
+        client.put().uri("/api/barang/" + id).header(HttpHeaders.IF_MATCH, "\"v0\"")
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(update).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"v1\"");
+        client.put().uri("/api/barang/" + id).header(HttpHeaders.IF_MATCH, "\"v0\"")
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(update).exchange()
+                .expectStatus().isEqualTo(412);
+
+        client.post().uri("/api/barang/" + id + "/adjust").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"delta\":-25}").exchange()
+                .expectStatus().isEqualTo(409);
+        client.post().uri("/api/barang/" + id + "/adjust").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"delta\":-5}").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.jumlah").isEqualTo(15);
+
+        client.delete().uri("/api/barang/" + id).header(HttpHeaders.IF_MATCH, "\"v1\"").exchange()
+                .expectStatus().isEqualTo(412);
+        client.delete().uri("/api/barang/" + id).header(HttpHeaders.IF_MATCH, "\"v2\"").exchange()
+                .expectStatus().isOk();
+        client.get().uri("/api/barang/" + id).exchange()
+                .expectStatus().isNotFound();
+
+        // ledger: CREATED +10, UPDATED +10, ADJUSTED -5, DELETED -15 (yang ditolak tidak tercatat)
+        List<StokMutasi> mutasi = stockLedger.movementsSince(id, LocalDateTime.of(2000, 1, 1, 0, 0), 100);
+        assertEquals(List.of(10, 10, -5, -15), mutasi.stream().map(StokMutasi::getDelta).toList());
+    }
+
+    // TC04 - daftar (array JSON) dan export NDJSON berisi barang yang dibuat
+    @Test
+    void testStreamingList() {
+        create("Barang Daftar Reaktif", "RX005");
+
+        List<Barang> all = client.get().uri("/api/barang").exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Barang.class).returnResult().getResponseBody();
+        assertTrue(all.stream().anyMatch(barang -> "RX005".equals(barang.getNomorSeri())));
+
+        List<Barang> exported = client.get().uri("/api/barang/export").accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Barang.class).getResponseBody().collectList().block();
+        assertTrue(exported.stream().anyMatch(barang -> "RX005".equals(barang.getNomorSeri())));
+    }
+
+    // TC05 - stok di gudang: update di bawah stok gudang -> 409, delete melepas stok dan total gudang
+    @Test
+    void testGudangStock() {
+        long id = create("Barang Gudang Reaktif", "RX006").getId();
+        Gudang gudang = new Gudang();
+        gudang.setKode("GRX1");
+        gudang.setNama("Gudang Reaktif");
+        long gudangId = gudangService.create(gudang).getId();
+        gudangService.adjust(id, gudangId, 5);
+
+        client.put().uri("/api/barang/" + id).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"nama\":\"Barang Gudang Reaktif\",\"jumlah\":3,\"nomorSeri\":\"RX006\"}").exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody(String.class).isEqualTo("Jumlah barang tidak boleh lebih kecil dari stok di gudang.");
+
+        client.delete().uri("/api/barang/" + id).exchange()
+                .expectStatus().isOk();
+        assertEquals(0, gudangService.findAll().stream().filter(g -> g.getId() == gudangId).findFirst().get()
+                .getTotal());
+    }
+}
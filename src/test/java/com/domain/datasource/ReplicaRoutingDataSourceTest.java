@@ -0,0 +1,73 @@
+package com.domain.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.domain.models.entity.Barang;
+import com.domain.services.BarangService;
+
+// pemisahan baca/tulis dengan dua database H2: primary (test application.properties) dan "replika".
+// Replika kedua tidak pernah ada sehingga harus dilewati (failover)
+@SpringBootTest(properties = {
+        "barang.datasource.replica-urls=" + ReplicaRoutingDataSourceTest.REPLIKA_URL
+                + ",jdbc:h2:mem:replikamati;IFEXISTS=TRUE",
+        "barang.datasource.replica-retry=1h" })
+public class ReplicaRoutingDataSourceTest {
+
+    static final String REPLIKA_URL = "jdbc:h2:mem:replika;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private BarangService barangService;
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    // skema replika dibuat manual; ddl-auto hanya berjalan di primary
+    @BeforeAll
+    static void createReplika() throws Exception {
+        try (Connection connection = DriverManager.getConnection(REPLIKA_URL, "sa", "");
+                Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists tbl_barang (id bigint auto_increment primary key, "
+                    + "nama varchar(255), jumlah int, nomor_seri varchar(255), versi bigint not null default 0, "
+                    + "updated_at timestamp, batas_stok int, jumlah_gudang int not null default 0)");
+            statement.execute("insert into tbl_barang (nama, jumlah, nomor_seri) values ('Barang Replika', 1, 'REP001')");
+        }
+    }
+
+    @BeforeEach
+    void clear() {
+        ReadYourWrites.clear();
+    }
+
+    // TC01 - method readOnly dibaca dari replika, replika yang mati dilewati
+    @Test
+    void testReadsGoToHealthyReplica() {
+        for (int i = 0; i < 4; i++) {
+            assertEquals(1, barangService.findByName("Replika").size());
+        }
+        assertEquals(1, routing.healthyReplicas());
+    }
+
+    // TC02 - tulis ke primary; di request yang sama pembacaan ikut ke primary
+    @Test
+    void testReadYourWrites() throws Exception {
+        barangService.save(new Barang(0L, "Barang Primary", 3, "PRI001"));
+
+        assertTrue(ReadYourWrites.hasWritten());
+        assertEquals(1, barangService.findByName("Barang Primary").size());
+
+        // request berikutnya -> replika, yang tidak memiliki barang tersebut
+        ReadYourWrites.clear();
+        assertEquals(0, barangService.findByName("Barang Primary").size());
+    }
+}
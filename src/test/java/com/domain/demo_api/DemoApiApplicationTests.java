@@ -1,12 +1,11 @@
 package com.domain.demo_api;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 @SpringBootTest
 class DemoApiApplicationTests {
-	@Autowired
+	// @Autowired
 	// Test testing;
 
 	@Test
@@ -0,0 +1,68 @@
+package com.domain.demo_api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.domain.models.entity.Barang;
+import com.domain.services.BarangService;
+
+// skema dari migrasi Flyway (bukan ddl-auto) harus cocok dengan entity: ddl-auto=validate menggagalkan
+// start context jika ada kolom atau tipe yang berbeda. Pengaturan baseline sama dengan application.properties
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:flywaytest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.flyway.enabled=true",
+		"spring.flyway.baseline-on-migrate=true",
+		"spring.flyway.baseline-version=0",
+		"spring.jpa.hibernate.ddl-auto=validate" })
+class FlywayMigrationTests {
+
+	@Autowired
+	private Flyway flyway;
+
+	@Autowired
+	private BarangService barangService;
+
+	@Test
+	void migrationsCreateSchemaMatchingEntity() throws Exception {
+		assertTrue(flyway.info().pending().length == 0);
+		assertEquals("6", flyway.info().current().getVersion().getVersion());
+
+		Barang saved = barangService.save(new Barang(0L, "Barang Migrasi", 3, "MIG001"));
+		assertEquals(0L, saved.getVersi());
+		assertEquals("MIG001", barangService.findOne(saved.getId()).orElseThrow().getNomorSeri());
+	}
+
+	// database lama dari ddl-auto=update (tabel tanpa versi, updated_at dan constraint unik) ditandai versi 0,
+	// lalu semua migrasi dijalankan: data tetap ada, kolom dan constraint yang hilang ditambahkan
+	@Test
+	void migrationsUpgradePreFlywaySchema() throws Exception {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:flywaylegacy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("create table tbl_barang (id bigint not null auto_increment, jumlah integer, "
+				+ "nama varchar(255), nomor_seri varchar(255), primary key (id)) engine=InnoDB");
+		jdbc.update("insert into tbl_barang (jumlah, nama, nomor_seri) values (4, 'Barang Lama', 'LAMA001')");
+
+		Flyway legacy = Flyway.configure().configuration(flyway.getConfiguration()).dataSource(dataSource).load();
+		legacy.migrate();
+
+		assertEquals("0", legacy.info().applied()[0].getVersion().getVersion());
+		assertEquals("6", legacy.info().current().getVersion().getVersion());
+		assertEquals(0L, jdbc.queryForObject("select versi from tbl_barang where nomor_seri = 'LAMA001'",
+				Long.class));
+		assertEquals(4L, jdbc.queryForObject("select sum(delta) from tbl_stok_mutasi", Long.class));
+		assertThrows(DataIntegrityViolationException.class, () -> jdbc
+				.update("insert into tbl_barang (jumlah, nama, nomor_seri) values (1, 'Barang Baru', 'LAMA001')"));
+		assertThrows(DataIntegrityViolationException.class, () -> jdbc
+				.update("insert into tbl_barang (jumlah, nama, nomor_seri) values (1, 'Barang Lama', 'BARU001')"));
+	}
+}
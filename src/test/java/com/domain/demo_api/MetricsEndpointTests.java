@@ -0,0 +1,40 @@
+package com.domain.demo_api;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+// endpoint Prometheus memuat metrik controller, service, repository, Hikari dan JVM
+@SpringBootTest(properties = {
+		"management.endpoints.web.exposure.include=prometheus",
+		"management.metrics.distribution.percentiles-histogram.http.server.requests=true" })
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void prometheusExposesHotPathMetrics() throws Exception {
+		mockMvc.perform(get("/api/barang/12345")).andExpect(status().isNotFound());
+
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(Matchers.allOf(
+						Matchers.containsString("http_server_requests_seconds_bucket"),
+						Matchers.containsString("barang_service_seconds_count"),
+						Matchers.containsString("spring_data_repository_invocations_seconds"),
+						Matchers.containsString("hikaricp_connections_active"),
+						Matchers.containsString("jvm_gc_"),
+						Matchers.containsString("jvm_memory_used_bytes"))));
+	}
+}
@@ -0,0 +1,27 @@
+package com.domain.demo_api;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+// profil "virtual" -> executor aplikasi berjalan di virtual thread
+@SpringBootTest
+@ActiveProfiles("virtual")
+class VirtualThreadProfileTests {
+
+	@Autowired
+	private AsyncTaskExecutor applicationTaskExecutor;
+
+	@Test
+	void taskExecutorUsesVirtualThreads() throws Exception {
+		CompletableFuture<Boolean> virtual = applicationTaskExecutor
+				.submitCompletable(() -> Thread.currentThread().isVirtual());
+		assertTrue(virtual.get());
+	}
+}
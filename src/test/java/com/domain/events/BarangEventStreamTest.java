@@ -0,0 +1,88 @@
+package com.domain.events;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.domain.models.entity.Barang;
+
+// pengujian GET /api/barang/events: replay dari seq tertentu dan event reset
+@SpringBootTest(properties = "barang.events.buffer-size=3")
+@AutoConfigureMockMvc
+public class BarangEventStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BarangEventStream eventStream;
+
+    // TC01 - client melanjutkan dari seq terakhir lalu menerima event baru
+    @Test
+    void testResumeThenLive() throws Exception {
+        long first = eventStream.publish(BarangChangedEvent.created(new Barang(1L, "Barang A", 10, "AAA1"))).getSeq();
+        eventStream.publish(BarangChangedEvent.adjusted(1L, 7, -3, 1));
+
+        String epoch = eventStream.getEpoch();
+
+        MockHttpServletResponse response = mockMvc
+                .perform(get("/api/barang/events").param("since", epoch + "-" + first))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        eventStream.publish(BarangChangedEvent.deleted(1L));
+
+        String body = await(response, "event:DELETED");
+        assertFalse(body.contains("id:" + epoch + "-" + first + "\n"));
+        assertTrue(body.contains("id:" + epoch + "-" + (first + 1) + "\nevent:ADJUSTED"));
+        assertTrue(body.contains("id:" + epoch + "-" + (first + 2) + "\nevent:DELETED"));
+    }
+
+    // TC02 - seq yang sudah keluar dari buffer -> reset
+    @Test
+    void testResetWhenSeqTooOld() throws Exception {
+        long first = eventStream.publish(BarangChangedEvent.deleted(10L)).getSeq();
+        for (int i = 0; i < 5; i++) {
+            eventStream.publish(BarangChangedEvent.deleted(11L + i));
+        }
+
+        MockHttpServletResponse response = mockMvc
+                .perform(get("/api/barang/events").param("since", eventStream.getEpoch() + "-" + first))
+                .andReturn().getResponse();
+
+        assertTrue(await(response, "event:reset").contains("event:reset"));
+    }
+
+    // TC03 - id event dari proses lain atau dari sebelum restart (epoch berbeda) -> reset, walaupun seq-nya ada
+    @Test
+    void testResetWhenEpochDiffers() throws Exception {
+        long seq = eventStream.publish(BarangChangedEvent.deleted(20L)).getSeq();
+
+        MockHttpServletResponse response = mockMvc
+                .perform(get("/api/barang/events").header("Last-Event-ID", "lain-" + (seq - 1)))
+                .andReturn().getResponse();
+        assertTrue(await(response, "event:reset").contains("event:reset"));
+
+        response = mockMvc.perform(get("/api/barang/events").param("since", "" + (seq - 1)))
+                .andReturn().getResponse();
+        assertTrue(await(response, "event:reset").contains("event:reset"));
+    }
+
+    private static String await(MockHttpServletResponse response, String expected) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            String body = response.getContentAsString();
+            if (body.contains(expected)) {
+                return body;
+            }
+            Thread.sleep(20);
+        }
+        return response.getContentAsString();
+    }
+}
@@ -0,0 +1,101 @@
+package com.domain.ledger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.domain.models.entity.Barang;
+import com.domain.models.entity.StokMutasi;
+import com.domain.services.BarangService;
+
+// ledger mutasi stok terhadap database H2; snapshot dibuat manual tanpa lag
+@SpringBootTest(properties = {
+        "barang.ledger.snapshot-interval=1h",
+        "barang.ledger.snapshot-lag=0s" })
+public class StockLedgerTest {
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private BarangService barangService;
+
+    // jeda agar waktu mutasi (mikrodetik) berbeda dengan titik waktu yang ditanyakan
+    private static LocalDateTime tick() throws InterruptedException {
+        Thread.sleep(5);
+        LocalDateTime now = LocalDateTime.now();
+        Thread.sleep(5);
+        return now;
+    }
+
+    // TC01 - stok pada waktu tertentu dari snapshot + ekor mutasi, sebelum dan sesudah snapshot
+    @Test
+    void testStockAtPointInTime() throws Exception {
+        LocalDateTime sebelum = tick();
+        Barang barang = barangService.save(new Barang(0L, "Barang Ledger", 10, "LED001"));
+        long id = barang.getId();
+        LocalDateTime t1 = tick();
+        barangService.update(id, new Barang(id, "Barang Ledger", 20, "LED001"));
+        LocalDateTime t2 = tick();
+        barangService.adjustJumlah(id, -5);
+        LocalDateTime t3 = tick();
+
+        assertTrue(stockLedger.createSnapshots() >= 1);
+
+        barangService.adjustJumlah(id, 3);
+        LocalDateTime t4 = tick();
+
+        assertEquals(0, stockLedger.stockAt(id, sebelum).getJumlah());
+        assertEquals(10, stockLedger.stockAt(id, t1).getJumlah());
+        assertEquals(20, stockLedger.stockAt(id, t2).getJumlah());
+        assertEquals(15, stockLedger.stockAt(id, t3).getJumlah());
+        assertEquals(18, stockLedger.stockAt(id, t4).getJumlah());
+
+        List<StokMutasi> sejakT2 = stockLedger.movementsSince(id, t2, 100);
+        assertEquals(List.of(-5, 3), sejakT2.stream().map(StokMutasi::getDelta).toList());
+        assertEquals(StokMutasi.Alasan.ADJUSTED, sejakT2.get(0).getAlasan());
+
+        barangService.removeOne(id);
+        List<StokMutasi> sejakT4 = stockLedger.movementsSince(id, t4, 100);
+        assertEquals(1, sejakT4.size());
+        assertEquals(StokMutasi.Alasan.DELETED, sejakT4.get(0).getAlasan());
+        assertEquals(-18, sejakT4.get(0).getDelta());
+        assertEquals(0, stockLedger.stockAt(id, LocalDateTime.now()).getJumlah());
+    }
+
+    // TC02 - batch mencatat CREATED dan selisih UPDATED; delete yang gagal (412) tidak meninggalkan mutasi
+    @Test
+    void testBatchAndRollback() throws Exception {
+        LocalDateTime awal = tick();
+        barangService.saveBatch(List.of(new Barang(0L, "Barang Ledger Batch", 5, "LED002")));
+        Barang barang = barangService.findByNomorSeri("LED002").orElseThrow();
+        barangService.saveBatch(List.of(new Barang(barang.getId(), "Barang Ledger Batch", 9, "LED002")));
+
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class,
+                () -> barangService.removeOne(barang.getId(), 99L));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, thrown.getStatusCode());
+
+        List<StokMutasi> mutasi = stockLedger.movementsSince(barang.getId(), awal, 100);
+        assertEquals(List.of(StokMutasi.Alasan.CREATED, StokMutasi.Alasan.UPDATED),
+                mutasi.stream().map(StokMutasi::getAlasan).toList());
+        assertEquals(List.of(5, 4), mutasi.stream().map(StokMutasi::getDelta).toList());
+        assertEquals(9, stockLedger.stockAt(barang.getId(), LocalDateTime.now()).getJumlah());
+    }
+
+    // TC03 - barang tanpa riwayat -> 404
+    @Test
+    void testUnknownBarang() {
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class,
+                () -> stockLedger.stockAt(987654L, LocalDateTime.now()));
+        assertEquals(HttpStatus.NOT_FOUND, thrown.getStatusCode());
+    }
+}
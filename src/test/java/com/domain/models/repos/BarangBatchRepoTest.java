@@ -0,0 +1,52 @@
+package com.domain.models.repos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.domain.models.entity.Barang;
+
+// pengujian JDBC batch terhadap database H2
+@DataJpaTest
+@Import(BarangBatchRepo.class)
+public class BarangBatchRepoTest {
+
+    @Autowired
+    private BarangBatchRepo barangBatchRepo;
+
+    @Autowired
+    private BarangRepo barangRepo;
+
+    // TC01 - insert batch mengisi id hasil generate
+    @Test
+    void testInsertAllAssignsIds() {
+        Barang barang1 = new Barang(0L, "Barang A", 10, "123ABC");
+        Barang barang2 = new Barang(0L, "Barang B", 20, "456DEF");
+
+        barangBatchRepo.insertAll(List.of(barang1, barang2));
+
+        assertTrue(barang1.getId() > 0);
+        assertTrue(barang2.getId() > barang1.getId());
+        assertEquals("Barang B", barangRepo.findById(barang2.getId()).get().getNama());
+    }
+
+    // TC02 - update batch dan pengecekan id yang ada
+    @Test
+    void testUpdateAllAndFindExistingIds() {
+        Barang barang = new Barang(0L, "Barang A", 10, "123ABC");
+        barangBatchRepo.insertAll(List.of(barang));
+
+        barang.setJumlah(99);
+        barangBatchRepo.updateAll(List.of(barang));
+
+        assertEquals(99, barangRepo.findById(barang.getId()).get().getJumlah());
+        assertEquals(Set.of(barang.getId()), barangBatchRepo.findExistingIds(List.of(barang.getId(), 9999L)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.domain.models.repos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.domain.models.entity.Barang;
+
+// pengujian query dan constraint BarangRepo terhadap database H2
+@DataJpaTest
+public class BarangRepoTest {
+
+    @Autowired
+    private BarangRepo barangRepo;
+
+    // TC01 - nama yang sama ditolak oleh unique constraint uk_barang_nama
+    @Test
+    void testDuplicateNamaRejectedByConstraint() {
+        barangRepo.saveAndFlush(new Barang(0L, "Barang A", 10, "123ABC"));
+
+        DataIntegrityViolationException thrown = assertThrows(DataIntegrityViolationException.class, () -> {
+            barangRepo.saveAndFlush(new Barang(0L, "Barang A", 5, "456DEF"));
+        });
+
+        assertTrue(thrown.getMostSpecificCause().getMessage().toLowerCase().contains(Barang.UK_NAMA));
+    }
+
+    // TC02 - nomor seri yang sama ditolak oleh unique constraint uk_barang_nomor_seri
+    @Test
+    void testDuplicateNomorSeriRejectedByConstraint() {
+        barangRepo.saveAndFlush(new Barang(0L, "Barang A", 10, "123ABC"));
+
+        DataIntegrityViolationException thrown = assertThrows(DataIntegrityViolationException.class, () -> {
+            barangRepo.saveAndFlush(new Barang(0L, "Barang B", 5, "123ABC"));
+        });
+
+        assertTrue(thrown.getMostSpecificCause().getMessage().toLowerCase().contains(Barang.UK_NOMOR_SERI));
+    }
+
+    // TC03 - adjust stok atomik tidak boleh membuat stok negatif
+    @Test
+    void testAdjustJumlah() {
+        Barang barang = barangRepo.saveAndFlush(new Barang(0L, "Barang A", 10, "123ABC"));
+
+        assertEquals(1, barangRepo.adjustJumlah(barang.getId(), -4));
+        assertEquals(0, barangRepo.adjustJumlah(barang.getId(), -7));
+        assertEquals(6, barangRepo.findJumlahById(barang.getId()).get());
+    }
+}
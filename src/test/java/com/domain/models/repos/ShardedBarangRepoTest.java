@@ -0,0 +1,199 @@
+package com.domain.models.repos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.domain.dto.BarangPage;
+import com.domain.models.entity.Barang;
+import com.domain.services.BarangService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// BarangService dalam mode sharding dengan tiga database H2
+@SpringBootTest(properties = {
+        "barang.sharding.enabled=true",
+        "barang.sharding.urls=jdbc:h2:mem:shardtest0;" + ShardedBarangRepoTest.H2 + ",jdbc:h2:mem:shardtest1;"
+                + ShardedBarangRepoTest.H2 + ",jdbc:h2:mem:shardtest2;" + ShardedBarangRepoTest.H2,
+        "barang.sharding.virtual-nodes=64" })
+public class ShardedBarangRepoTest {
+
+    static final String H2 = "MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private BarangService barangService;
+
+    @Autowired
+    private ShardedBarangRepo shardedBarangRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long countIn(int shard, String nomorSeri) {
+        return shardedBarangRepo.getShards().get(shard)
+                .queryForObject("select count(*) from tbl_barang where nomor_seri = ?", Long.class, nomorSeri);
+    }
+
+    // TC01 - barang disimpan di shard pemilik nomor seri dengan id Snowflake, fan-out menggabungkan hasil
+    @Test
+    void testSaveAndFanOut() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            String nama = "Barang Shard " + (char) ('a' + i / 26) + (char) ('a' + i % 26);
+            barangService.save(new Barang(0L, nama, 2, "SHARD" + i));
+        }
+
+        Barang barang = barangService.findByNomorSeri("SHARD7").get();
+        assertEquals(1, countIn(shardedBarangRepo.shardOf("SHARD7"), "SHARD7"));
+        assertTrue(barang.getId() > Integer.MAX_VALUE);
+        assertEquals(barang.getNama(), barangService.findOne(barang.getId()).get().getNama());
+        assertEquals(30, barangService.findByName("Barang Shard").size());
+
+        long previous = 0;
+        for (Barang item : barangService.findAll()) {
+            assertTrue(item.getId() > previous);
+            previous = item.getId();
+        }
+    }
+
+    // TC02 - keunikan nama berlaku di semua shard, nomor seri di shard pemilik
+    @Test
+    void testUniqueness() throws Exception {
+        barangService.save(new Barang(0L, "Barang Unik", 1, "UNIK1"));
+
+        ResponseStatusException nama = assertThrows(ResponseStatusException.class,
+                () -> barangService.save(new Barang(0L, "Barang Unik", 1, "UNIKLAIN")));
+        assertEquals("Nama barang sudah digunakan.", nama.getReason());
+
+        ResponseStatusException nomorSeri = assertThrows(ResponseStatusException.class,
+                () -> barangService.save(new Barang(0L, "Barang Unik Lain", 1, "UNIK1")));
+        assertEquals("Nomor seri sudah digunakan.", nomorSeri.getReason());
+    }
+
+    // TC03 - update nomor seri memindahkan barang ke shard lain, versi lama ditolak, lalu dihapus
+    @Test
+    void testUpdateAcrossShardsAndDelete() throws Exception {
+        Barang barang = barangService.save(new Barang(0L, "Barang Pindah", 5, "PINDAH0"));
+        int shardLama = shardedBarangRepo.shardOf("PINDAH0");
+        String nomorSeriBaru = "PINDAH1";
+        for (int i = 2; shardedBarangRepo.shardOf(nomorSeriBaru) == shardLama; i++) {
+            nomorSeriBaru = "PINDAH" + i;
+        }
+
+        Barang updated = barangService.update(barang.getId(), new Barang(0L, "Barang Pindah", 6, nomorSeriBaru),
+                0L);
+        assertEquals(1, updated.getVersi());
+        assertEquals(0, countIn(shardLama, "PINDAH0"));
+        assertEquals(1, countIn(shardedBarangRepo.shardOf(nomorSeriBaru), nomorSeriBaru));
+
+        ResponseStatusException stale = assertThrows(ResponseStatusException.class,
+                () -> barangService.removeOne(barang.getId(), 0L));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, stale.getStatusCode());
+
+        assertEquals(4, barangService.adjustJumlah(barang.getId(), -2).getJumlah());
+        barangService.removeOne(barang.getId(), 2L);
+        assertTrue(shardedBarangRepo.findById(barang.getId()).isEmpty());
+    }
+
+    // TC04 - pindah shard gagal karena nomor seri sudah dipakai di shard tujuan -> 400, barang tetap di shard lama
+    @Test
+    void testFailedMoveKeepsRow() throws Exception {
+        Barang barang = barangService.save(new Barang(0L, "Barang Tetap", 5, "TETAP0"));
+        int shardLama = shardedBarangRepo.shardOf("TETAP0");
+        String nomorSeriLain = "TETAP1";
+        for (int i = 2; shardedBarangRepo.shardOf(nomorSeriLain) == shardLama; i++) {
+            nomorSeriLain = "TETAP" + i;
+        }
+        barangService.save(new Barang(0L, "Barang Tetap Lain", 1, nomorSeriLain));
+
+        String nomorSeriBaru = nomorSeriLain;
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class,
+                () -> barangService.update(barang.getId(), new Barang(0L, "Barang Tetap", 6, nomorSeriBaru), 0L));
+        assertEquals("Nomor seri sudah digunakan.", thrown.getReason());
+
+        Barang tetap = shardedBarangRepo.findById(barang.getId()).orElseThrow();
+        assertEquals("TETAP0", tetap.getNomorSeri());
+        assertEquals(0, tetap.getVersi());
+        assertEquals(1, countIn(shardLama, "TETAP0"));
+    }
+
+    // TC05 - daftar per halaman, export dan versi daftar dibaca dari semua shard; batch ditolak 501
+    @Test
+    void testListsReadAllShards() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            barangService.save(new Barang(0L, "Barang Daftar " + (char) ('a' + i), 1, "DAFTAR" + i));
+        }
+        List<Long> semua = shardedBarangRepo.findAll().stream().map(Barang::getId).toList();
+
+        List<Long> halaman = new ArrayList<>();
+        String cursor = null;
+        do {
+            BarangPage page = barangService.findPage(cursor, 5);
+            page.getItems().forEach(barang -> halaman.add(barang.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(semua, halaman);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        barangService.exportNdjson(out);
+        assertEquals(semua.size(), out.toString(StandardCharsets.UTF_8).lines().count());
+
+        String versi = barangService.findListVersion();
+        barangService.adjustJumlah(semua.get(0), 1);
+        assertNotEquals(versi, barangService.findListVersion());
+
+        ResponseStatusException batch = assertThrows(ResponseStatusException.class,
+                () -> barangService.saveBatch(List.of(new Barang(0L, "Barang Batch", 1, "BATCH1"))));
+        assertEquals(HttpStatus.NOT_IMPLEMENTED, batch.getStatusCode());
+    }
+
+    // TC06 - selama pemindahan (salinan versi + 1 sudah ada di shard baru) adjust hanya mengenai baris lama,
+    // pemindahan dengan versi usang dibatalkan dan salinannya dihapus
+    @Test
+    void testAdjustDuringMove() throws Exception {
+        Barang barang = barangService.save(new Barang(0L, "Barang Sela", 5, "SELA0"));
+        int shardLama = shardedBarangRepo.shardOf("SELA0");
+        String nomorSeriBaru = "SELA1";
+        for (int i = 2; shardedBarangRepo.shardOf(nomorSeriBaru) == shardLama; i++) {
+            nomorSeriBaru = "SELA" + i;
+        }
+        JdbcTemplate shardBaru = shardedBarangRepo.getShards().get(shardedBarangRepo.shardOf(nomorSeriBaru));
+        shardBaru.update(ShardedBarangRepo.INSERT_SQL, barang.getId(), "Barang Sela", 5, nomorSeriBaru, 1L, null);
+
+        assertEquals(1, shardedBarangRepo.adjustJumlah(barang.getId(), 3));
+        assertEquals(5, shardBaru.queryForObject("select jumlah from tbl_barang where id = ?", Integer.class,
+                barang.getId()));
+        shardBaru.update("delete from tbl_barang where id = ?", barang.getId());
+        Barang lama = shardedBarangRepo.findById(barang.getId()).orElseThrow();
+        assertEquals(8, lama.getJumlah());
+        assertEquals(1, lama.getVersi());
+
+        Barang usang = new Barang(barang.getId(), "Barang Sela", 5, nomorSeriBaru);
+        usang.setVersi(0L);
+        assertFalse(shardedBarangRepo.update(usang, "SELA0"));
+        assertEquals(0, countIn(shardedBarangRepo.shardOf(nomorSeriBaru), nomorSeriBaru));
+        assertEquals(1, countIn(shardLama, "SELA0"));
+    }
+
+    // TC07 - id Snowflake dikirim sebagai string JSON, body dengan id string tetap terbaca
+    @Test
+    void testIdSerializedAsString() throws Exception {
+        Barang barang = barangService.save(new Barang(0L, "Barang Json", 1, "JSON0"));
+
+        String json = objectMapper.writeValueAsString(barang);
+        assertTrue(json.contains("\"id\":\"" + barang.getId() + "\""), json);
+        assertEquals(barang.getId(), objectMapper.readValue(json, Barang.class).getId());
+    }
+}
@@ -0,0 +1,183 @@
+package com.domain.reorder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.domain.dto.LowStockItem;
+import com.domain.events.BarangChangedEvent;
+import com.domain.models.entity.Barang;
+import com.domain.models.repos.BarangRepo;
+import com.domain.services.BarangService;
+
+// daftar stok menipis dan notifikasi reorder dengan debounce pendek terhadap database H2
+@SpringBootTest(properties = "barang.reorder.debounce=200ms")
+public class ReorderEngineTest {
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        RecordingNotifier recordingNotifier() {
+            return new RecordingNotifier();
+        }
+    }
+
+    static class RecordingNotifier implements ReorderNotifier {
+
+        private final List<ReorderAlert> alerts = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(ReorderAlert alert) {
+            alerts.add(alert);
+        }
+
+        List<ReorderAlert> alertsFor(long id) {
+            return alerts.stream().filter(alert -> alert.getBarang().getId() == id).toList();
+        }
+    }
+
+    @Autowired
+    private ReorderEngine reorderEngine;
+
+    @Autowired
+    private BarangService barangService;
+
+    @Autowired
+    private RecordingNotifier notifier;
+
+    @SpyBean
+    private BarangRepo barangRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void reset() {
+        notifier.alerts.clear();
+    }
+
+    private long create(String nama, int jumlah, Integer batasStok, String nomorSeri) throws Exception {
+        Barang barang = new Barang(0L, nama, jumlah, nomorSeri);
+        barang.setBatasStok(batasStok);
+        return barangService.save(barang).getId();
+    }
+
+    // TC01 - adjust melewati batas -> masuk daftar, satu notifikasi BELOW setelah debounce, lalu RECOVERED
+    @Test
+    void testBelowAndRecovered() throws Exception {
+        long id = create("Barang Reorder", 10, 5, "ROP001");
+        assertFalse(reorderEngine.isBelow(id));
+
+        barangService.adjustJumlah(id, -6);
+        assertTrue(reorderEngine.isBelow(id));
+        LowStockItem item = reorderEngine.findBelow(id - 1, 1).get(0);
+        assertEquals(id, item.getId());
+        assertEquals(4, item.getJumlah());
+        assertTrue(notifier.alertsFor(id).isEmpty());
+
+        Thread.sleep(600);
+        List<ReorderAlert> alerts = notifier.alertsFor(id);
+        assertEquals(1, alerts.size());
+        assertEquals(ReorderAlert.Type.BELOW, alerts.get(0).getType());
+
+        barangService.adjustJumlah(id, 10);
+        assertFalse(reorderEngine.isBelow(id));
+        Thread.sleep(600);
+        assertEquals(List.of(ReorderAlert.Type.BELOW, ReorderAlert.Type.RECOVERED),
+                notifier.alertsFor(id).stream().map(ReorderAlert::getType).toList());
+    }
+
+    // TC02 - bolak-balik di sekitar batas dalam waktu debounce -> tidak ada notifikasi
+    @Test
+    void testFlappingIsDebounced() throws Exception {
+        long id = create("Barang Reorder Goyang", 6, 5, "ROP002");
+        for (int i = 0; i < 5; i++) {
+            barangService.adjustJumlah(id, -1);
+            barangService.adjustJumlah(id, 1);
+        }
+        assertFalse(reorderEngine.isBelow(id));
+
+        Thread.sleep(600);
+        assertTrue(notifier.alertsFor(id).isEmpty());
+    }
+
+    // TC03 - batas stok dihapus lewat update atau barang dihapus -> keluar dari daftar; urutan dan afterId
+    @Test
+    void testUntrackAndPaging() throws Exception {
+        long a = create("Barang Reorder Satu", 1, 5, "ROP003");
+        long b = create("Barang Reorder Dua", 2, 5, "ROP004");
+        long c = create("Barang Reorder Tiga", 3, null, "ROP005");
+        assertTrue(reorderEngine.isBelow(a));
+        assertTrue(reorderEngine.isBelow(b));
+        assertFalse(reorderEngine.isBelow(c));
+
+        List<Long> ids = reorderEngine.findBelow(a - 1, 2).stream().map(LowStockItem::getId).toList();
+        assertEquals(List.of(a, b), ids);
+        assertEquals(List.of(b), reorderEngine.findBelow(a, 1).stream().map(LowStockItem::getId).toList());
+
+        barangService.update(a, new Barang(a, "Barang Reorder Satu", 1, "ROP003"));
+        barangService.removeOne(b);
+        assertFalse(reorderEngine.isBelow(a));
+        assertFalse(reorderEngine.isBelow(b));
+    }
+
+    // TC04 - ADJUSTED/UPDATED yang tiba terlambat (versi lebih lama) tidak menimpa kondisi terbaru
+    @Test
+    void testStaleEventsIgnored() throws Exception {
+        long id = create("Barang Reorder Urutan", 10, 5, "ROP006");
+        barangService.adjustJumlah(id, -6);
+        assertTrue(reorderEngine.isBelow(id));
+
+        Barang stale = new Barang(id, "Barang Reorder Urutan", 10, "ROP006");
+        stale.setBatasStok(5);
+        stale.setVersi(0);
+        reorderEngine.onBarangChanged(BarangChangedEvent.updated(stale));
+        reorderEngine.onBarangChanged(BarangChangedEvent.adjusted(id, 10, 0, 1));
+        assertTrue(reorderEngine.isBelow(id));
+        assertEquals(4, reorderEngine.findBelow(id - 1, 1).get(0).getJumlah());
+
+        barangService.adjustJumlah(id, 10);
+        reorderEngine.onBarangChanged(BarangChangedEvent.adjusted(id, 4, -6, 1));
+        assertFalse(reorderEngine.isBelow(id));
+    }
+
+    // TC05 - adjust untuk barang yang belum dimuat tiba selama load awal -> barang dibaca ulang setelah load,
+    // baris lama dari load tidak dipakai
+    @Test
+    void testAdjustDuringLoad() throws Exception {
+        long id = create("Barang Reorder Load", 10, 5, "ROP007");
+        reorderEngine.onBarangChanged(BarangChangedEvent.deleted(id));
+
+        // load membaca baris versi 0, lalu adjust commit dan event-nya tiba sebelum baris itu dimasukkan
+        Barang stale = new Barang(id, "Barang Reorder Load", 10, "ROP007");
+        stale.setBatasStok(5);
+        doAnswer(invocation -> {
+            jdbcTemplate.update("update tbl_barang set jumlah = 3, versi = 1 where id = ?", id);
+            reorderEngine.onBarangChanged(BarangChangedEvent.adjusted(id, 3, -7, 1));
+            return List.of(stale);
+        }).when(barangRepo).findByBatasStokNotNull();
+        try {
+            reorderEngine.load();
+        } finally {
+            Mockito.reset(barangRepo);
+        }
+
+        assertTrue(reorderEngine.isBelow(id));
+        assertEquals(3, reorderEngine.findBelow(id - 1, 1).get(0).getJumlah());
+    }
+}
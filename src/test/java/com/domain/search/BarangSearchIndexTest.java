@@ -0,0 +1,77 @@
+package com.domain.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.domain.dto.SearchHit;
+import com.domain.models.entity.Barang;
+
+public class BarangSearchIndexTest {
+
+    private BarangSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BarangSearchIndex();
+        index.put(new Barang(1L, "Kabel Listrik", 10, "KBL001"));
+        index.put(new Barang(2L, "Kabel Data", 10, "KBL002"));
+        index.put(new Barang(3L, "Lampu Kabel", 10, "LMP001"));
+        index.put(new Barang(4L, "Saklar", 10, "SKL001"));
+        index.put(new Barang(5L, "Ampli", 10, "AMP001"));
+    }
+
+    // TC01 - awalan kata diutamakan sebelum kecocokan di tengah kata
+    @Test
+    void testPrefixBeforeInfix() {
+        List<SearchHit> hits = index.search("amp", 0, 10);
+
+        assertEquals(2, hits.size());
+        assertEquals(5L, hits.get(0).getId());
+        assertEquals(3L, hits.get(1).getId());
+    }
+
+    // TC02 - pencarian di tengah kata memakai trigram
+    @Test
+    void testInfixSearch() {
+        List<SearchHit> hits = index.search("aklar", 0, 10);
+
+        assertEquals(1, hits.size());
+        assertEquals(4L, hits.get(0).getId());
+    }
+
+    // TC03 - nomor seri dan query pendek (awalan)
+    @Test
+    void testSerialAndShortQuery() {
+        assertEquals(3L, index.search("LMP", 0, 10).get(0).getId());
+        assertEquals(3, index.search("k", 0, 10).size());
+        assertEquals(2L, index.search("kabel d", 0, 10).get(0).getId());
+    }
+
+    // TC04 - offset/limit
+    @Test
+    void testPaging() {
+        List<SearchHit> first = index.search("kab", 0, 2);
+        List<SearchHit> second = index.search("kab", 2, 2);
+
+        assertEquals(2, first.size());
+        assertEquals(1, second.size());
+        assertEquals(3L, second.get(0).getId());
+    }
+
+    // TC05 - index mengikuti update dan delete
+    @Test
+    void testUpdateAndDelete() {
+        index.put(new Barang(4L, "Stop Kontak", 10, "SKL001"));
+        assertTrue(index.search("saklar", 0, 10).isEmpty());
+        assertEquals(4L, index.search("kontak", 0, 10).get(0).getId());
+
+        index.remove(4L);
+        assertTrue(index.search("kontak", 0, 10).isEmpty());
+        assertEquals(4, index.size());
+    }
+}
@@ -0,0 +1,104 @@
+package com.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.domain.dto.ImportResponse;
+import com.domain.models.repos.BarangRepo;
+import com.domain.validation.BarangValidator;
+
+// pengujian import massal CSV/NDJSON terhadap database H2
+@SpringBootTest(properties = "barang.import.parallelism=2")
+public class BarangImportServiceTest {
+
+    @Autowired
+    private BarangImportService barangImportService;
+
+    @Autowired
+    private BarangRepo barangRepo;
+
+    private ImportResponse importString(String content, BarangImportService.Format format, int commitSize)
+            throws Exception {
+        return barangImportService.importBarang(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, commitSize);
+    }
+
+    // TC01 - CSV dengan header (urutan kolom bebas), baris tidak valid dan duplikat di dalam file ditolak
+    @Test
+    void testImportCsv() throws Exception {
+        String csv = "nomorSeri,nama,jumlah\n"
+                + "IMPCSV1,Import Kabel,10\n"
+                + "IMPCSV2,\"Import \"\"Lampu\"\"\",5\n"
+                + "IMPCSV3,Import Saklar,abc\n"
+                + "\n"
+                + "IMPCSV4,Import Kabel,7\n"
+                + "IMPCSV5,Import Steker\n"
+                + "IMPCSV6,Import Fitting,3\n";
+
+        ImportResponse response = importString(csv, BarangImportService.Format.CSV, 2);
+
+        assertEquals(6, response.getProcessed());
+        assertEquals(2, response.getImported());
+        assertEquals(4, response.getRejected());
+        assertEquals(List.of(3L, 4L, 6L, 7L),
+                response.getRejectedRows().stream().map(row -> row.getLine()).toList());
+        assertEquals(BarangValidator.NAMA_TIDAK_VALID, response.getRejectedRows().get(0).getMessage());
+        assertEquals(BarangValidator.JUMLAH_TIDAK_VALID, response.getRejectedRows().get(1).getMessage());
+        assertEquals("Nama barang sudah digunakan.", response.getRejectedRows().get(2).getMessage());
+        assertEquals(BarangImportService.KOLOM_CSV_TIDAK_VALID, response.getRejectedRows().get(3).getMessage());
+        assertTrue(barangRepo.findByNomorSeri("IMPCSV6").isPresent());
+    }
+
+    // TC02 - NDJSON, nomor seri yang sudah ada di database ditolak, id dari file diabaikan
+    @Test
+    void testImportNdjson() throws Exception {
+        importString("{\"nama\":\"Import Obeng\",\"jumlah\":4,\"nomorSeri\":\"IMPJSON1\"}\n",
+                BarangImportService.Format.NDJSON, 10);
+
+        String ndjson = "{\"id\":99999,\"nama\":\"Import Palu\",\"jumlah\":8,\"nomorSeri\":\"IMPJSON2\"}\n"
+                + "{\"nama\":\"Import Tang\",\"jumlah\":1,\"nomorSeri\":\"IMPJSON1\"}\n"
+                + "bukan json\n";
+
+        ImportResponse response = importString(ndjson, BarangImportService.Format.NDJSON, 10);
+
+        assertEquals(3, response.getProcessed());
+        assertEquals(1, response.getImported());
+        assertEquals("Nomor seri sudah digunakan.", response.getRejectedRows().get(0).getMessage());
+        assertEquals(BarangImportService.JSON_TIDAK_VALID, response.getRejectedRows().get(1).getMessage());
+        assertTrue(barangRepo.findByNomorSeri("IMPJSON2").get().getId() != 99999L);
+    }
+
+    // TC03 - banyak kelompok: semua baris tertulis sesuai urutan file
+    @Test
+    void testImportManyChunks() throws Exception {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            csv.append("Import Massal ").append(nama(i)).append(",1,IMPBULK").append(i).append('\n');
+        }
+
+        ImportResponse response = importString(csv.toString(), BarangImportService.Format.CSV, 64);
+
+        assertEquals(1000, response.getImported());
+        assertEquals(0, response.getRejected());
+        assertTrue(barangRepo.findByNomorSeri("IMPBULK0").get().getId()
+                < barangRepo.findByNomorSeri("IMPBULK999").get().getId());
+    }
+
+    // angka -> huruf, karena nama barang tidak boleh mengandung angka
+    private static String nama(int n) {
+        StringBuilder nama = new StringBuilder();
+        do {
+            nama.append((char) ('a' + n % 26));
+            n /= 26;
+        } while (n > 0);
+        return nama.toString();
+    }
+}
@@ -1,29 +1,57 @@
 package com.domain.services;
 
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 // import static org.mockito.Mockito.doThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.domain.cache.BarangCache;
+import com.domain.cache.BarangSingleFlight;
+import com.domain.dto.BarangPage;
+import com.domain.dto.BatchResponse;
+import com.domain.dto.StockAdjustment;
+import com.domain.events.BarangChangedEvent;
+import com.domain.ledger.StockLedger;
 import com.domain.models.entity.Barang;
+import com.domain.models.repos.BarangBatchRepo;
 import com.domain.models.repos.BarangRepo;
+import com.domain.models.repos.GudangRepo;
+import com.domain.search.BarangSearchIndex;
+import com.domain.snapshot.BarangSnapshot;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 public class BarangServiceTest {
 
@@ -37,6 +65,35 @@ public class BarangServiceTest {
     @Mock
     private BarangRepo barangRepo;
 
+    @Mock
+    private BarangBatchRepo barangBatchRepo;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StockWriteBehind stockWriteBehind;
+
+    @Mock
+    private BarangSearchIndex searchIndex;
+
+    @Mock
+    private BarangSnapshot barangSnapshot;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private GudangRepo gudangRepo;
+
+    // @Spy -> cache asli (bukan mock) ikut dimasukkan ke BarangService
+    @Spy
+    private BarangCache barangCache = new BarangCache(true, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+    @Spy
+    private BarangSingleFlight singleFlight = new BarangSingleFlight(true, Duration.ofSeconds(2),
+            new SimpleMeterRegistry());
+
     // @BeforeEach -> metode setUp dijalankan sebelum setiap metode pengujian untuk
     // menginisialisasi objek mock
     @BeforeEach
@@ -158,7 +215,7 @@ public class BarangServiceTest {
         Barang barang = new Barang(1L, "Barang A", 10, "123ABC");
 
         // mengatur mock untuk mengembalikan barang ketika save dipanggil
-        when(barangRepo.save(barang)).thenReturn(barang);
+        when(barangRepo.saveAndFlush(barang)).thenReturn(barang);
 
         Barang savedBarang = barangService.save(barang);
 
@@ -171,7 +228,9 @@ public class BarangServiceTest {
     void testCreateBarangWithExistingNama() throws Exception {
         Barang barang = new Barang(1L, "Barang A", 10, "123ABC");
 
-        when(barangRepo.findByNama(barang.getNama())).thenReturn(Optional.of(new Barang()));
+        // simulasi pelanggaran unique constraint nama dari database
+        when(barangRepo.saveAndFlush(barang)).thenThrow(new DataIntegrityViolationException(
+                "Duplicate entry 'Barang A' for key 'tbl_barang.uk_barang_nama'"));
 
         ResponseStatusException thrown = assertThrows(ResponseStatusException.class, () -> {
             barangService.save(barang);
@@ -186,8 +245,9 @@ public class BarangServiceTest {
     void testCreateBarangWithExistingNomorSeri() throws Exception {
         Barang barang = new Barang(1L, "Barang B", 10, "123ABC");
 
-        // Simulasi barang dengan nomor seri yang sudah ada
-        when(barangRepo.findByNomorSeri(barang.getNomorSeri())).thenReturn(Optional.of(new Barang()));
+        // Simulasi barang dengan nomor seri yang sudah ada (unique constraint nomor_seri)
+        when(barangRepo.saveAndFlush(barang)).thenThrow(new DataIntegrityViolationException(
+                "Duplicate entry '123ABC' for key 'tbl_barang.uk_barang_nomor_seri'"));
 
         ResponseStatusException thrown = assertThrows(ResponseStatusException.class, () -> {
             barangService.save(barang);
@@ -204,7 +264,7 @@ public class BarangServiceTest {
         Barang updatedBarang = new Barang(1L, "Barang A Updated", 15, "123XYZ");
 
         when(barangRepo.findById(1L)).thenReturn(Optional.of(existingBarang));
-        when(barangRepo.save(existingBarang)).thenReturn(updatedBarang);
+        when(barangRepo.saveAndFlush(existingBarang)).thenReturn(updatedBarang);
 
         Barang result = barangService.update(1L, updatedBarang);
 
@@ -229,18 +289,23 @@ public class BarangServiceTest {
     // TC13 - Pengujian untuk delete barang
     @Test
     void testDeleteBarang() throws Exception {
-        Barang barang = new Barang(1L, "Barang A", 10, "123ABC");
-
-        when(barangRepo.findById(1L)).thenReturn(Optional.of(barang));
-        doNothing().when(barangRepo).deleteById(1L);
+        when(barangRepo.removeById(1L)).thenReturn(1);
 
         barangService.removeOne(1L);
+
+        // urutan kunci: barang FOR UPDATE, mutasi, stok gudang, lalu DELETE
+        InOrder order = inOrder(barangRepo, stockLedger, gudangRepo);
+        order.verify(barangRepo).lockById(1L);
+        order.verify(stockLedger).recordDeletion(1L);
+        order.verify(gudangRepo).releaseBarang(1L);
+        order.verify(barangRepo).removeById(1L);
+        verify(eventPublisher).publishEvent(any(BarangChangedEvent.class));
     }
 
     // TC14 - Pengujian untuk delete barang yang tidak ditemukan
     @Test
     void testDeleteBarangNotFound() throws Exception {
-        when(barangRepo.findById(1L)).thenReturn(Optional.empty());
+        when(barangRepo.removeById(1L)).thenReturn(0);
 
         ResponseStatusException thrown = assertThrows(ResponseStatusException.class, () -> {
             barangService.removeOne(1L);
@@ -250,4 +315,235 @@ public class BarangServiceTest {
         assertEquals("Barang dengan ID 1 tidak ditemukan.", thrown.getReason());
     }
 
+    // TC15 - Pengujian pagination keyset dengan halaman berikutnya
+    @Test
+    void testFindPageWithNextCursor() {
+        Barang barang1 = new Barang(1L, "Barang A", 10, "123ABC");
+        Barang barang2 = new Barang(2L, "Barang B", 20, "456DEF");
+        Barang barang3 = new Barang(3L, "Barang C", 30, "789GHI");
+
+        // size 2 -> repo diminta 3 baris
+        when(barangRepo.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(Arrays.asList(barang1, barang2, barang3));
+
+        BarangPage page = barangService.findPage(null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(2L, BarangPage.decodeCursor(page.getNextCursor()));
+    }
+
+    // TC16 - Pengujian pagination keyset pada halaman terakhir
+    @Test
+    void testFindPageLastPage() {
+        Barang barang3 = new Barang(3L, "Barang C", 30, "789GHI");
+
+        when(barangRepo.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3)))
+                .thenReturn(Arrays.asList(barang3));
+
+        BarangPage page = barangService.findPage(BarangPage.encodeCursor(2L), 2);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    // TC17 - Pengujian cursor yang tidak valid
+    @Test
+    void testFindPageInvalidCursor() {
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class, () -> {
+            barangService.findPage("bukan-cursor!", 2);
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, thrown.getStatusCode());
+        assertEquals("Cursor tidak valid.", thrown.getReason());
+    }
+
+    // TC18 - Pengujian batch dengan hasil per item
+    @Test
+    void testSaveBatchPerItemResults() {
+        Barang baru = new Barang(0L, "Barang Baru", 10, "NEW001");
+        Barang tidakValid = new Barang(0L, "Barang @X", 10, "NEW002");
+        Barang duplikatPayload = new Barang(0L, "Barang Baru", 5, "NEW003");
+        Barang namaTerpakai = new Barang(0L, "Barang Lama", 5, "NEW004");
+        Barang update = new Barang(7L, "Barang Tujuh", 70, "SEVEN07");
+        Barang updateHilang = new Barang(8L, "Barang Delapan", 80, "EIGHT08");
+
+        when(barangRepo.findByNamaIn(anyCollection()))
+                .thenReturn(Arrays.asList(new Barang(3L, "Barang Lama", 1, "OLD003")));
+        when(barangRepo.findByNomorSeriIn(anyCollection())).thenReturn(Arrays.asList());
+        when(barangBatchRepo.findExistingIds(anyCollection())).thenReturn(Set.of(7L));
+        doAnswer(invocation -> {
+            List<Barang> inserted = invocation.getArgument(0);
+            inserted.forEach(barang -> barang.setId(100L));
+            return null;
+        }).when(barangBatchRepo).insertAll(anyList());
+        // savepoint per chunk: tanpa database, write langsung dijalankan
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(barangBatchRepo).inSavepoint(any());
+
+        BatchResponse response = barangService.saveBatch(
+                Arrays.asList(baru, tidakValid, duplikatPayload, namaTerpakai, update, updateHilang));
+
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getUpdated());
+        assertEquals(4, response.getFailed());
+        assertEquals(201, response.getResults().get(0).getStatus());
+        assertEquals(100L, response.getResults().get(0).getId());
+        assertEquals(400, response.getResults().get(1).getStatus());
+        assertEquals("Nama barang sudah digunakan.", response.getResults().get(2).getMessage());
+        assertEquals("Nama barang sudah digunakan.", response.getResults().get(3).getMessage());
+        assertEquals(200, response.getResults().get(4).getStatus());
+        assertEquals(404, response.getResults().get(5).getStatus());
+    }
+
+    // TC19 - Pengujian update dengan nama yang sudah dipakai barang lain
+    @Test
+    void testUpdateBarangWithExistingNama() {
+        Barang existingBarang = new Barang(1L, "Barang A", 10, "123ABC");
+        Barang updatedBarang = new Barang(1L, "Barang B", 15, "123ABC");
+
+        when(barangRepo.findById(1L)).thenReturn(Optional.of(existingBarang));
+        when(barangRepo.saveAndFlush(existingBarang)).thenThrow(new DataIntegrityViolationException(
+                "Unique index or primary key violation: \"PUBLIC.UK_BARANG_NAMA_INDEX_A ON PUBLIC.TBL_BARANG(NAMA)\""));
+
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class, () -> {
+            barangService.update(1L, updatedBarang);
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, thrown.getStatusCode());
+        assertEquals("Nama barang sudah digunakan.", thrown.getReason());
+    }
+
+    // TC20 - Pengujian findOne dilayani dari cache pada pemanggilan kedua
+    @Test
+    void testFindOneUsesCache() {
+        Barang barang = new Barang(1L, "Barang A", 10, "123ABC");
+        when(barangRepo.findById(1L)).thenReturn(Optional.of(barang));
+
+        barangService.findOne(1L);
+        barangService.findOne(1L);
+
+        verify(barangRepo, times(1)).findById(1L);
+    }
+
+    // TC21 - Pengujian cache di-invalidate setelah barang berubah
+    @Test
+    void testCacheEvictedOnChange() {
+        Barang barang = new Barang(1L, "Barang A", 10, "123ABC");
+        when(barangRepo.findById(1L)).thenReturn(Optional.of(barang));
+
+        barangService.findOne(1L);
+        barangCache.onBarangChanged(BarangChangedEvent.updated(barang));
+        barangService.findOne(1L);
+
+        verify(barangRepo, times(2)).findById(1L);
+    }
+
+    // TC22 - Pengujian nomor seri yang sudah diganti tidak lagi ditemukan dari cache
+    @Test
+    void testFindByNomorSeriAfterSerialChanged() {
+        Barang barang = new Barang(1L, "Barang A", 10, "123ABC");
+        when(barangRepo.findByNomorSeri("123ABC")).thenReturn(Optional.of(barang));
+
+        assertEquals(1L, barangService.findByNomorSeri("123ABC").get().getId());
+        assertEquals(1L, barangService.findByNomorSeri("123ABC").get().getId());
+        verify(barangRepo, times(1)).findByNomorSeri("123ABC");
+
+        // nomor seri diubah -> event update -> entri lama tidak boleh dipakai lagi
+        Barang updated = new Barang(1L, "Barang A", 10, "999XYZ");
+        barangCache.onBarangChanged(BarangChangedEvent.updated(updated));
+        when(barangRepo.findById(1L)).thenReturn(Optional.of(updated));
+        when(barangRepo.findByNomorSeri("123ABC")).thenReturn(Optional.empty());
+
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class, () -> {
+            barangService.findByNomorSeri("123ABC");
+        });
+        assertEquals(HttpStatus.NOT_FOUND, thrown.getStatusCode());
+    }
+
+    // TC23 - Pengujian adjust stok berhasil
+    @Test
+    void testAdjustJumlah() {
+        when(barangRepo.adjustJumlah(1L, -3)).thenReturn(1);
+        when(barangRepo.findJumlahDanVersiById(1L)).thenReturn(List.<Object[]>of(new Object[] { 7, 4L }));
+
+        StockAdjustment result = barangService.adjustJumlah(1L, -3);
+
+        assertEquals(7, result.getJumlah());
+        verify(eventPublisher).publishEvent(argThat((BarangChangedEvent event) -> event.getVersi() == 4));
+    }
+
+    // TC24 - Pengujian adjust stok yang membuat stok negatif
+    @Test
+    void testAdjustJumlahInsufficient() {
+        when(barangRepo.adjustJumlah(1L, -30)).thenReturn(0);
+        when(barangRepo.findJumlahById(1L)).thenReturn(Optional.of(10));
+
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class, () -> {
+            barangService.adjustJumlah(1L, -30);
+        });
+
+        assertEquals(HttpStatus.CONFLICT, thrown.getStatusCode());
+        assertEquals("Stok barang tidak mencukupi.", thrown.getReason());
+    }
+
+    // TC25 - Pengujian adjust stok untuk barang yang tidak ada
+    @Test
+    void testAdjustJumlahNotFound() {
+        when(barangRepo.adjustJumlah(2L, 5)).thenReturn(0);
+        when(barangRepo.findJumlahById(2L)).thenReturn(Optional.empty());
+
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class, () -> {
+            barangService.adjustJumlah(2L, 5);
+        });
+
+        assertEquals(HttpStatus.NOT_FOUND, thrown.getStatusCode());
+    }
+
+    // TC26 - Pengujian adjust stok pada mode write-behind hanya diantrikan
+    @Test
+    void testAdjustJumlahWriteBehind() {
+        when(stockWriteBehind.isEnabled()).thenReturn(true);
+        when(gudangRepo.findJumlah(1L)).thenReturn(Optional.of(new long[] { 10, 4, 0 }));
+        when(stockWriteBehind.add(1L, 5, 6)).thenReturn(true);
+
+        StockAdjustment result = barangService.adjustJumlah(1L, 5);
+
+        assertNull(result.getJumlah());
+        verify(stockWriteBehind).add(1L, 5, 6);
+        verify(barangRepo, times(0)).adjustJumlah(1L, 5);
+    }
+
+    // TC27 - Pengujian adjust stok write-behind untuk barang yang tidak ada atau stok kurang ditolak sebelum 202
+    @Test
+    void testAdjustJumlahWriteBehindRejected() {
+        when(stockWriteBehind.isEnabled()).thenReturn(true);
+        when(gudangRepo.findJumlah(1L)).thenReturn(Optional.empty());
+        when(gudangRepo.findJumlah(2L)).thenReturn(Optional.of(new long[] { 3, 0, 0 }));
+
+        ResponseStatusException notFound = assertThrows(ResponseStatusException.class,
+                () -> barangService.adjustJumlah(1L, 5));
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+        ResponseStatusException kurang = assertThrows(ResponseStatusException.class,
+                () -> barangService.adjustJumlah(2L, -5));
+        assertEquals(HttpStatus.CONFLICT, kurang.getStatusCode());
+    }
+
+    // TC28 - Pengujian barang lama yang dimuat lewat nomor seri tidak mengisi cache yang di-evict selama dimuat
+    @Test
+    void testFindByNomorSeriDoesNotRestoreEvictedBarang() {
+        Barang lama = new Barang(1L, "Barang A", 10, "123ABC");
+        Barang baru = new Barang(1L, "Barang A", 15, "123ABC");
+        when(barangRepo.findByNomorSeri("123ABC")).thenAnswer(invocation -> {
+            // adjust dari request lain commit di tengah query
+            barangCache.onBarangChanged(BarangChangedEvent.updated(baru));
+            return Optional.of(lama);
+        });
+        when(barangRepo.findById(1L)).thenReturn(Optional.of(baru));
+
+        assertEquals(10, barangService.findByNomorSeri("123ABC").get().getJumlah());
+        assertEquals(15, barangService.findOne(1L).get().getJumlah());
+        verify(barangRepo, times(1)).findById(1L);
+    }
 }
@@ -0,0 +1,157 @@
+package com.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.domain.dto.BatchResponse;
+import com.domain.dto.LocationStock;
+import com.domain.dto.StockLocations;
+import com.domain.dto.StockTransfer;
+import com.domain.models.entity.Barang;
+import com.domain.models.entity.Gudang;
+
+// stok per gudang terhadap database H2: total barang dan total gudang harus selalu sama dengan rinciannya
+@SpringBootTest
+public class GudangServiceTest {
+
+    @Autowired
+    private GudangService gudangService;
+
+    @Autowired
+    private BarangService barangService;
+
+    private Gudang gudang(String kode) {
+        Gudang gudang = new Gudang();
+        gudang.setKode(kode);
+        gudang.setNama("Gudang " + kode);
+        return gudangService.create(gudang);
+    }
+
+    private long total(long gudangId) {
+        return gudangService.findAll().stream().filter(gudang -> gudang.getId() == gudangId).findFirst()
+                .orElseThrow().getTotal();
+    }
+
+    private static List<Integer> jumlahPerGudang(StockLocations stock) {
+        return stock.getGudang().stream().map(LocationStock::getJumlah).toList();
+    }
+
+    // TC01 - stok masuk di gudang menaikkan total barang dan total gudang; transfer tidak mengubah total barang
+    @Test
+    void testAdjustAndTransfer() throws Exception {
+        long a = gudang("GDA1").getId();
+        long b = gudang("GDB1").getId();
+        long id = barangService.save(new Barang(0L, "Barang Gudang", 10, "GUD001")).getId();
+
+        assertEquals(25, gudangService.adjust(id, a, 15).getJumlah());
+        assertEquals(25, barangService.findOne(id).orElseThrow().getJumlah());
+
+        StockLocations stock = gudangService.transfer(id, new StockTransfer(null, b, 4));
+        assertEquals(25, stock.getJumlah());
+        assertEquals(6, stock.getBelumDitempatkan());
+        assertEquals(List.of(15, 4), jumlahPerGudang(stock));
+
+        stock = gudangService.transfer(id, new StockTransfer(a, b, 5));
+        assertEquals(List.of(10, 9), jumlahPerGudang(stock));
+        assertEquals(10, total(a));
+        assertEquals(9, total(b));
+        assertEquals(25, barangService.findOne(id).orElseThrow().getJumlah());
+    }
+
+    // TC02 - stok tidak mencukupi -> 409 dan tidak ada langkah yang tersimpan; stok di gudang dilindungi
+    // dari adjust/update barang biasa
+    @Test
+    void testInsufficientStockIsRejected() throws Exception {
+        long a = gudang("GDA2").getId();
+        long b = gudang("GDB2").getId();
+        long id = barangService.save(new Barang(0L, "Barang Gudang Kurang", 5, "GUD002")).getId();
+        gudangService.transfer(id, new StockTransfer(null, b, 3));
+
+        // tujuan (a) diproses sebelum asal (b) karena urut id, lalu seluruhnya di-rollback
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class,
+                () -> gudangService.transfer(id, new StockTransfer(b, a, 4)));
+        assertEquals(HttpStatus.CONFLICT, thrown.getStatusCode());
+        thrown = assertThrows(ResponseStatusException.class,
+                () -> gudangService.transfer(id, new StockTransfer(null, a, 3)));
+        assertEquals(HttpStatus.CONFLICT, thrown.getStatusCode());
+        assertEquals(0, total(a));
+        assertEquals(3, total(b));
+
+        thrown = assertThrows(ResponseStatusException.class, () -> barangService.adjustJumlah(id, -3));
+        assertEquals(HttpStatus.CONFLICT, thrown.getStatusCode());
+        thrown = assertThrows(ResponseStatusException.class,
+                () -> barangService.update(id, new Barang(id, "Barang Gudang Kurang", 2, "GUD002")));
+        assertEquals(HttpStatus.CONFLICT, thrown.getStatusCode());
+        assertEquals(5, barangService.findOne(id).orElseThrow().getJumlah());
+
+        // barang dihapus -> stoknya keluar dari total gudang
+        barangService.removeOne(id);
+        assertEquals(0, total(b));
+    }
+
+    // TC03 - transfer berlawanan arah secara bersamaan tidak deadlock dan total tetap sama
+    @Test
+    void testConcurrentOppositeTransfers() throws Exception {
+        long a = gudang("GDA3").getId();
+        long b = gudang("GDB3").getId();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            long id = barangService.save(new Barang(0L, "Barang Gudang Ramai " + (char) ('A' + i), 1,
+                    "GUD00" + (3 + i))).getId();
+            gudangService.adjust(id, a, 50);
+            gudangService.adjust(id, b, 50);
+            ids.add(id);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            long id = ids.get(i % 2);
+            StockTransfer transfer = i % 4 < 2 ? new StockTransfer(a, b, 1) : new StockTransfer(b, a, 1);
+            futures.add(executor.submit(() -> gudangService.transfer(id, transfer)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(100, total(a));
+        assertEquals(100, total(b));
+        for (long id : ids) {
+            StockLocations stock = gudangService.findStock(id);
+            assertEquals(101, stock.getJumlah());
+            assertEquals(100, jumlahPerGudang(stock).stream().mapToInt(Integer::intValue).sum());
+        }
+    }
+
+    // TC04 - baris batch yang ditolak database (stok di gudang) hanya menggagalkan baris itu sendiri
+    @Test
+    void testBatchRowRejectedByDatabase() throws Exception {
+        long a = gudang("GDA4").getId();
+        long id = barangService.save(new Barang(0L, "Barang Gudang Batch", 5, "GUD005")).getId();
+        gudangService.transfer(id, new StockTransfer(null, a, 4));
+
+        BatchResponse response = barangService.saveBatch(List.of(
+                new Barang(0L, "Barang Gudang Batch Baru", 3, "GUD006"),
+                new Barang(id, "Barang Gudang Batch", 2, "GUD005")));
+        assertEquals(1, response.getCreated());
+        assertEquals(0, response.getUpdated());
+        assertEquals(1, response.getFailed());
+        assertEquals(HttpStatus.CREATED.value(), response.getResults().get(0).getStatus());
+        assertEquals(HttpStatus.CONFLICT.value(), response.getResults().get(1).getStatus());
+        assertEquals(5, barangService.findOne(id).orElseThrow().getJumlah());
+        assertEquals(3, barangService.findByNomorSeri("GUD006").orElseThrow().getJumlah());
+    }
+}
@@ -0,0 +1,86 @@
+package com.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.domain.models.entity.Barang;
+import com.domain.models.repos.BarangRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// pengujian write-behind stok terhadap database H2 (flush dipanggil manual)
+@SpringBootTest(properties = {
+        "barang.stock.write-behind.enabled=true",
+        "barang.stock.write-behind.flush-interval=1h",
+        "barang.stock.write-behind.max-pending=1000000" })
+public class StockWriteBehindTest {
+
+    @Autowired
+    private StockWriteBehind stockWriteBehind;
+
+    @Autowired
+    private BarangRepo barangRepo;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // TC01 - delta untuk barang yang sama digabung lalu ditulis sekali
+    @Test
+    void testDeltasCoalescedAndFlushed() {
+        Barang barang = barangRepo.save(new Barang(0L, "Barang Write Behind", 10, "WB001"));
+
+        assertTrue(stockWriteBehind.add(barang.getId(), 5, 10));
+        assertTrue(stockWriteBehind.add(barang.getId(), -3, 10));
+        assertTrue(stockWriteBehind.add(barang.getId(), 1, 10));
+        assertEquals(3, stockWriteBehind.getBacklog());
+
+        stockWriteBehind.flush();
+
+        assertEquals(0, stockWriteBehind.getBacklog());
+        assertEquals(13, barangRepo.findById(barang.getId()).get().getJumlah());
+    }
+
+    // TC02 - stok keluar yang melebihi stok tersedia (termasuk stok keluar yang masih tertunda) tidak diterima
+    @Test
+    void testNegativeStockRejected() {
+        Barang barang = barangRepo.save(new Barang(0L, "Barang Stok Kurang", 2, "WB002"));
+
+        assertFalse(stockWriteBehind.add(barang.getId(), -5, 2));
+        assertTrue(stockWriteBehind.add(barang.getId(), -2, 2));
+        assertFalse(stockWriteBehind.add(barang.getId(), -1, 2));
+        assertEquals(1, stockWriteBehind.getBacklog());
+        stockWriteBehind.flush();
+
+        assertEquals(0, barangRepo.findById(barang.getId()).get().getJumlah());
+    }
+
+    // TC03 - stok berubah setelah delta diterima: stok masuk tetap ditulis, stok keluar dicoba satu per satu
+    // dan hanya yang tidak bisa diterapkan yang ditolak
+    @Test
+    void testRejectedDeltaDoesNotDropOthers() {
+        Barang barang = barangRepo.save(new Barang(0L, "Barang Stok Berubah", 10, "WB003"));
+        double rejectedBefore = meterRegistry.counter("barang.stock.write_behind.rejected").count();
+
+        assertTrue(stockWriteBehind.add(barang.getId(), -6, 10));
+        assertTrue(stockWriteBehind.add(barang.getId(), -4, 10));
+        assertTrue(stockWriteBehind.add(barang.getId(), 5, 10));
+        // stok dikurangi di luar write-behind sebelum flush
+        jdbcTemplate.update("update tbl_barang set jumlah = jumlah - 7 where id = ?", barang.getId());
+
+        stockWriteBehind.flush();
+
+        // 3 + 5 - 6 = 2, delta -4 ditolak
+        assertEquals(2, barangRepo.findById(barang.getId()).get().getJumlah());
+        assertEquals(1, meterRegistry.counter("barang.stock.write_behind.rejected").count() - rejectedBefore);
+        assertEquals(0, stockWriteBehind.getBacklog());
+    }
+}
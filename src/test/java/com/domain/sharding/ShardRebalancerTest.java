@@ -0,0 +1,90 @@
+package com.domain.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.domain.models.entity.Barang;
+import com.domain.models.repos.ShardedBarangRepo;
+
+// rebalance dari 2 shard ke 3 shard dengan database H2 terpisah
+public class ShardRebalancerTest {
+
+    private static DataSource shard(String name) {
+        return new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    // TC01 - setelah shard ketiga ditambah, setiap baris berada di shard pemiliknya dan tidak ada yang hilang
+    @Test
+    void testRebalanceAfterAddingShard() {
+        List<DataSource> dataSources = List.of(shard("rebalance0"), shard("rebalance1"), shard("rebalance2"));
+        SnowflakeIdGenerator ids = new SnowflakeIdGenerator(1);
+
+        ShardedBarangRepo duaShard = new ShardedBarangRepo(dataSources.subList(0, 2), new ShardRouter(2, 64), ids);
+        duaShard.createSchema();
+        for (int i = 0; i < 300; i++) {
+            duaShard.insert(new Barang(0L, "Barang Rebalance " + i, 1, "REB" + i));
+        }
+
+        ShardRouter tigaShard = new ShardRouter(3, 64);
+        ShardedBarangRepo repo = new ShardedBarangRepo(dataSources, tigaShard, ids);
+        repo.createSchema();
+        ShardRebalancer rebalancer = new ShardRebalancer(repo.getShards(), tigaShard, 50);
+
+        long moved = rebalancer.rebalance();
+
+        List<JdbcTemplate> shards = repo.getShards();
+        List<Barang> semua = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            for (Barang barang : shards.get(i).query("select * from tbl_barang", ShardedBarangRepo.ROW_MAPPER)) {
+                assertEquals(i, tigaShard.shardFor(barang.getNomorSeri()));
+                semua.add(barang);
+            }
+        }
+        assertEquals(300, semua.size());
+        assertEquals(shards.get(2).queryForObject("select count(*) from tbl_barang", Long.class), moved);
+
+        // rebalance kedua tidak memindahkan apa pun
+        assertEquals(0, rebalancer.rebalance());
+    }
+
+    // TC02 - baris yang bentrok dengan baris lain di shard tujuan (id berbeda) tetap di shard asal
+    @Test
+    void testConflictingRowStaysInSource() {
+        List<DataSource> dataSources = List.of(shard("konflik0"), shard("konflik1"));
+        SnowflakeIdGenerator ids = new SnowflakeIdGenerator(2);
+        ShardRouter router = new ShardRouter(2, 64);
+        ShardedBarangRepo repo = new ShardedBarangRepo(dataSources, router, ids);
+        repo.createSchema();
+        List<JdbcTemplate> shards = repo.getShards();
+
+        // dua baris yang seharusnya di shard 1 tertinggal di shard 0; salah satunya bentrok nama di shard 1
+        List<String> nomorSeri = new ArrayList<>();
+        for (int i = 0; nomorSeri.size() < 3; i++) {
+            if (router.shardFor("KONFLIK" + i) == 1) {
+                nomorSeri.add("KONFLIK" + i);
+            }
+        }
+        for (int i = 0; i < 2; i++) {
+            shards.get(0).update(ShardedBarangRepo.INSERT_SQL, ids.nextId(), "Barang Konflik " + (char) ('A' + i),
+                    1, nomorSeri.get(i), 0, null);
+        }
+        repo.insert(new Barang(0L, "Barang Konflik A", 1, nomorSeri.get(2)));
+
+        ShardRebalancer rebalancer = new ShardRebalancer(shards, router, 50);
+        assertEquals(1, rebalancer.rebalance());
+
+        assertEquals(List.of(nomorSeri.get(0)), shards.get(0).queryForList(
+                "select nomor_seri from tbl_barang", String.class));
+        assertEquals(1, shards.get(1).queryForObject("select count(*) from tbl_barang where nomor_seri = ?",
+                Long.class, nomorSeri.get(1)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.domain.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class ShardRouterTest {
+
+    private static List<String> nomorSeri(int count) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            keys.add("SN" + i);
+        }
+        return keys;
+    }
+
+    // TC01 - pembagian rata (masing-masing shard mendapat 25% +- 5%)
+    @Test
+    void testDistribution() {
+        ShardRouter router = new ShardRouter(4, 128);
+        for (int count : router.distribution(nomorSeri(20000))) {
+            assertTrue(count > 4000 && count < 6000, "jumlah per shard: " + count);
+        }
+    }
+
+    // TC02 - menambah shard hanya memindahkan sebagian kecil kunci, dan semuanya ke shard baru
+    @Test
+    void testAddingShardMovesOnlyToNewShard() {
+        ShardRouter lama = new ShardRouter(4, 128);
+        ShardRouter baru = new ShardRouter(5, 128);
+
+        int moved = 0;
+        for (String key : nomorSeri(20000)) {
+            if (lama.shardFor(key) != baru.shardFor(key)) {
+                moved++;
+                assertEquals(4, baru.shardFor(key));
+            }
+        }
+        assertTrue(moved > 2000 && moved < 6000, "kunci yang pindah: " + moved);
+    }
+
+    // TC03 - id Snowflake unik dan naik, termasuk saat sequence per milidetik habis
+    @Test
+    void testSnowflakeIdsUniqueAndIncreasing() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        Set<Long> ids = new HashSet<>();
+        long previous = 0;
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            assertEquals(7, (id >> 12) & SnowflakeIdGenerator.MAX_NODE_ID);
+            ids.add(id);
+            previous = id;
+        }
+        assertEquals(100_000, ids.size());
+    }
+}
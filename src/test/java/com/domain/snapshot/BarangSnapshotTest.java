@@ -0,0 +1,112 @@
+package com.domain.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.domain.events.BarangChangedEvent;
+import com.domain.models.entity.Barang;
+import com.domain.models.repos.BarangRepo;
+import com.domain.services.BarangService;
+
+// snapshot diperbarui dari perubahan BarangService dan dipakai oleh findOne/findByNomorSeri
+@SpringBootTest(properties = {
+        "barang.snapshot.enabled=true",
+        "barang.snapshot.path=target/test-snapshot/barang.snapshot",
+        "barang.snapshot.initial-size=64KB",
+        "barang.snapshot.resync-interval=0s" })
+public class BarangSnapshotTest {
+
+    @Autowired
+    private BarangSnapshot barangSnapshot;
+
+    @Autowired
+    private BarangService barangService;
+
+    @SpyBean
+    private BarangRepo barangRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // TC01 - create/adjust/update/delete tercermin di snapshot
+    @Test
+    void testSnapshotFollowsWrites() throws Exception {
+        barangSnapshot.syncNow();
+        assertTrue(barangSnapshot.isReady());
+
+        Barang barang = barangService.save(new Barang(0L, "Barang Snapshot", 10, "SNAP001"));
+        assertEquals("SNAP001", barangSnapshot.findById(barang.getId()).get().getNomorSeri());
+
+        barangService.adjustJumlah(barang.getId(), 5);
+        Barang adjusted = barangSnapshot.findByNomorSeri("SNAP001").get();
+        assertEquals(15, adjusted.getJumlah());
+        assertEquals(1, adjusted.getVersi());
+
+        barangService.update(barang.getId(), new Barang(0L, "Barang Snapshot", 7, "SNAP002"));
+        assertTrue(barangSnapshot.findByNomorSeri("SNAP001").isEmpty());
+        assertEquals(7, barangService.findByNomorSeri("SNAP002").get().getJumlah());
+
+        barangService.removeOne(barang.getId());
+        assertTrue(barangSnapshot.findById(barang.getId()).isEmpty());
+    }
+
+    // TC02 - event yang tiba terlambat tidak menimpa isi snapshot; ADJUSTED yang melompati versi mengeluarkan baris
+    @Test
+    void testOutOfOrderEvents() throws Exception {
+        barangSnapshot.syncNow();
+        Barang barang = barangService.save(new Barang(0L, "Barang Snapshot Urutan", 10, "SNAP003"));
+        barangService.adjustJumlah(barang.getId(), 5);
+
+        Barang stale = new Barang(barang.getId(), "Barang Snapshot Urutan", 10, "SNAP003");
+        stale.setVersi(0);
+        barangSnapshot.onBarangChanged(BarangChangedEvent.updated(stale));
+        barangSnapshot.onBarangChanged(BarangChangedEvent.adjusted(barang.getId(), 12, 2, 1));
+        Barang current = barangSnapshot.findById(barang.getId()).get();
+        assertEquals(15, current.getJumlah());
+        assertEquals(1, current.getVersi());
+
+        barangSnapshot.onBarangChanged(BarangChangedEvent.adjusted(barang.getId(), 20, 5, 3));
+        assertTrue(barangSnapshot.findById(barang.getId()).isEmpty());
+        barangSnapshot.onBarangChanged(BarangChangedEvent.updated(current));
+        assertTrue(barangSnapshot.findById(barang.getId()).isEmpty());
+    }
+
+    // TC03 - sinkronisasi yang gagal tidak meninggalkan mode sinkron: perubahan sesudahnya tetap diambil
+    // oleh sinkronisasi berikutnya
+    @Test
+    void testFailedSyncResets() throws Exception {
+        doThrow(new DataAccessResourceFailureException("Database mati")).when(barangRepo).streamAll();
+        assertThrows(DataAccessResourceFailureException.class, () -> barangSnapshot.syncNow());
+        reset(barangRepo);
+
+        Barang barang = barangService.save(new Barang(0L, "Barang Snapshot Gagal", 10, "SNAP004"));
+        jdbcTemplate.update("update tbl_barang set jumlah = 99, versi = versi + 1 where id = ?", barang.getId());
+        barangSnapshot.syncNow();
+        assertEquals(99, barangSnapshot.findById(barang.getId()).get().getJumlah());
+    }
+
+    // TC04 - perubahan dan penghapusan dari instance lain (langsung di database, tanpa event) diambil resync
+    @Test
+    void testResyncPicksUpOtherInstances() throws Exception {
+        barangSnapshot.syncNow();
+        Barang barang = barangService.save(new Barang(0L, "Barang Snapshot Lain", 10, "SNAP005"));
+        Barang dihapus = barangService.save(new Barang(0L, "Barang Snapshot Hapus", 10, "SNAP006"));
+        jdbcTemplate.update("update tbl_barang set jumlah = 42, versi = versi + 1, updated_at = current_timestamp "
+                + "where id = ?", barang.getId());
+        jdbcTemplate.update("delete from tbl_barang where id = ?", dihapus.getId());
+
+        barangSnapshot.resync();
+        assertEquals(42, barangSnapshot.findById(barang.getId()).get().getJumlah());
+        assertTrue(barangSnapshot.findById(dihapus.getId()).isEmpty());
+    }
+}
@@ -0,0 +1,107 @@
+package com.domain.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.domain.models.entity.Barang;
+
+public class SnapshotStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static Barang barang(long id, String nama, int jumlah, String nomorSeri, long versi) {
+        Barang barang = new Barang(id, nama, jumlah, nomorSeri);
+        barang.setVersi(versi);
+        return barang;
+    }
+
+    // TC01 - put, update (nomor seri berubah), remove, lalu file dibuka ulang dengan isi yang sama
+    @Test
+    void testPutUpdateRemoveAndReopen() throws Exception {
+        Path path = dir.resolve("barang.snapshot");
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123456000);
+        try (SnapshotStore store = SnapshotStore.open(path, 4096)) {
+            Barang kabel = barang(1, "Kabel", 10, "KBL001", 0);
+            kabel.setUpdatedAt(updatedAt);
+            store.put(kabel);
+            store.put(barang(2, "Lampu", 5, "LMP001", 0));
+            store.put(barang(1, "Kabel Panjang", 12, "KBL002", 1));
+            store.put(barang(3, "Saklar", 1, "SKL001", 0));
+            store.remove(3);
+
+            assertNull(store.findByNomorSeri("KBL001"));
+            assertEquals("Kabel Panjang", store.findByNomorSeri("KBL002").getNama());
+            assertNull(store.findById(3));
+        }
+
+        try (SnapshotStore store = SnapshotStore.open(path, 4096)) {
+            assertEquals(2, store.size());
+            Barang kabel = store.findById(1);
+            assertEquals("Kabel Panjang", kabel.getNama());
+            assertEquals(12, kabel.getJumlah());
+            assertEquals(1, kabel.getVersi());
+            assertNull(kabel.getUpdatedAt());
+            assertEquals("LMP001", store.findById(2).getNomorSeri());
+            assertNull(store.findById(3));
+            assertArrayEquals(new long[] { 1, 2 }, store.ids());
+        }
+    }
+
+    // TC02 - file penuh -> compaction dan file membesar, index tetap benar (termasuk setelah resize)
+    @Test
+    void testCompactionAndGrowth() throws Exception {
+        Path path = dir.resolve("kecil.snapshot");
+        try (SnapshotStore store = SnapshotStore.open(path, 1024)) {
+            for (int round = 0; round < 5; round++) {
+                for (long id = 1; id <= 3000; id++) {
+                    store.put(barang(id, "Barang " + id, round, "SN" + id, round));
+                }
+            }
+            for (long id = 1; id <= 3000; id += 2) {
+                store.remove(id);
+            }
+
+            assertEquals(1500, store.size());
+            assertTrue(store.fileSize() > 1024);
+            for (long id = 2; id <= 3000; id += 2) {
+                assertEquals(4, store.findById(id).getJumlah());
+                assertEquals(id, store.findByNomorSeri("SN" + id).getId());
+                assertNull(store.findById(id - 1));
+            }
+        }
+        try (SnapshotStore store = SnapshotStore.open(path, 1024)) {
+            assertEquals(1500, store.size());
+            assertEquals(4, store.versiOf(3000));
+            assertEquals(-1, store.versiOf(2999));
+        }
+    }
+
+    // TC03 - compaction dijalankan lebih awal (file terisi > 3/4), setelahnya file paling banyak setengah terisi
+    @Test
+    void testCompactIfNeeded() throws Exception {
+        try (SnapshotStore store = SnapshotStore.open(dir.resolve("awal.snapshot"), 64 * 1024)) {
+            long id = 0;
+            while (!store.needsCompaction()) {
+                id++;
+                store.put(barang(id, "Barang " + id, 1, "SN" + id, 0));
+            }
+            int fileSize = store.fileSize();
+
+            store.compactIfNeeded();
+            assertFalse(store.needsCompaction());
+            assertTrue(store.fileSize() > fileSize);
+            assertEquals(id, store.size());
+            assertEquals(id, store.findByNomorSeri("SN" + id).getId());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.domain.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.domain.models.entity.Barang;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+public class BarangValidatorTest {
+
+    // TC01 - hasil sama dengan regex lama ^[a-zA-Z ]+$ dan ^[a-zA-Z0-9]+$
+    @Test
+    void testSameAsRegex() {
+        String[] samples = { "Barang A", "Barang A1", "", " ", "abcXYZ", "123ABC", "@123", "Barang_A", "é" };
+        for (String sample : samples) {
+            assertEquals(sample.matches("^[a-zA-Z ]+$"), BarangValidator.isHurufSpasi(sample), sample);
+            assertEquals(sample.matches("^[a-zA-Z0-9]+$"), BarangValidator.isAlfanumerik(sample), sample);
+        }
+    }
+
+    // TC02 - pesan kesalahan sesuai urutan pengecekan
+    @Test
+    void testValidateMessages() {
+        assertNull(BarangValidator.validate(new Barang(1L, "Barang A", 10, "123ABC")));
+        assertEquals(BarangValidator.NAMA_KOSONG, BarangValidator.validate(new Barang(1L, null, 10, "123ABC")));
+        assertEquals(BarangValidator.JUMLAH_TIDAK_VALID,
+                BarangValidator.validate(new Barang(1L, "Barang A", 0, "123ABC")));
+        assertEquals(BarangValidator.NOMOR_SERI_TIDAK_VALID,
+                BarangValidator.validate(new Barang(1L, "Barang A", 1, "12-3")));
+
+        Barang batasNegatif = new Barang(1L, "Barang A", 1, "123ABC");
+        batasNegatif.setBatasStok(-1);
+        assertEquals(BarangValidator.BATAS_STOK_TIDAK_VALID, BarangValidator.validate(batasNegatif));
+    }
+
+    // TC03 - @ValidBarang dijalankan oleh Bean Validation
+    @Test
+    void testBeanValidation() {
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+
+            assertTrue(validator.validate(new Barang(1L, "Barang A", 10, "123ABC")).isEmpty());
+            assertFalse(validator.validate(new Barang(1L, "Barang 1", 10, "123ABC")).isEmpty());
+            assertEquals(BarangValidator.NAMA_TIDAK_VALID, validator.validate(new Barang(1L, "Barang 1", 10, "123ABC"))
+                    .iterator().next().getMessage());
+        }
+    }
+}